@@ -0,0 +1,25 @@
+// Verify that each module has its own Connectors Directory
+File firstDirectory = new File(basedir, "first/target/site")
+File secondDirectory = new File(basedir, "second/target/site")
+assert new File(firstDirectory, "connectors/mib2.html").isFile() : "The connectors of the first module must be rendered"
+assert new File(secondDirectory, "connectors/mysql.html").isFile() : "The connectors of the second module must be rendered"
+
+// The aggregate Connectors Directory of the parent project lists the connectors of both modules
+File aggregateDirectory = new File(basedir, "target/site")
+File aggregatePage = new File(aggregateDirectory, "metricshub-connectors-directory.html")
+assert aggregatePage.isFile() : "The aggregate Connectors Directory must be created"
+String aggregateContent = aggregatePage.text
+assert aggregateContent.contains("MIB-2 Standard SNMP Agent") : "The aggregate report must list the connectors of the first module"
+assert aggregateContent.contains("MySQL") : "The aggregate report must list the connectors of the second module"
+assert new File(aggregateDirectory, "connectors/mib2.html").isFile() : "The aggregate report must render the connector pages"
+assert new File(aggregateDirectory, "connectors/mysql.html").isFile() : "The aggregate report must render the connector pages"
+
+// The aggregate report of the parent parses the libraries of the modules, the report of each module reuses its own
+List<String> libraryLines = new File(basedir, "build.log").readLines().findAll { it.contains("Connector libraries shared by the build:") }
+assert libraryLines.size() == 3 : "The aggregate report and both module reports must load their libraries: $libraryLines"
+List<Integer> reused = libraryLines.collect { line ->
+	def matcher = line =~ /(\d+) reused/
+	assert matcher.find() : "Unexpected summary: $line"
+	matcher.group(1).toInteger()
+}
+assert reused == [0, 1, 1] : "Each module report must reuse the library of its module parsed by the aggregate report: $libraryLines"
@@ -0,0 +1,20 @@
+// Verify that the site has been created, with its page manifest
+File siteDirectory = new File(basedir, "target/site")
+assert new File(siteDirectory, "metricshub-connectors-full-listing.html").isFile() : "The full listing must be created"
+assert new File(siteDirectory, "connectors/mib2.html").isFile() : "The connector pages must be created"
+assert new File(basedir, "target/metricshub-connectors-directory-manifest.json").isFile() : "The page manifest must be saved"
+
+// One summary line per build, the first build renders everything, the second one nothing
+List<String> summaries = new File(basedir, "build.log").readLines().findAll { it.contains("Incremental build:") }
+assert summaries.size() == 2 : "Both builds must be incremental: $summaries"
+
+def firstBuild = summaries[0] =~ /(\d+) pages rendered, (\d+) pages up-to-date, (\d+) pages deleted/
+assert firstBuild.find() : "Unexpected summary: ${summaries[0]}"
+assert firstBuild.group(1).toInteger() > 0 : "The first build must render the pages: ${summaries[0]}"
+assert firstBuild.group(2) == "0" : "The first build must not find up-to-date pages: ${summaries[0]}"
+
+def secondBuild = summaries[1] =~ /(\d+) pages rendered, (\d+) pages up-to-date, (\d+) pages deleted/
+assert secondBuild.find() : "Unexpected summary: ${summaries[1]}"
+assert secondBuild.group(1) == "0" : "The second build must not render any page: ${summaries[1]}"
+assert secondBuild.group(2) == firstBuild.group(1) : "Every page must be up-to-date: ${summaries[1]}"
+assert secondBuild.group(3) == "0" : "The second build must not delete any page: ${summaries[1]}"
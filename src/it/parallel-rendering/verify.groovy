@@ -0,0 +1,26 @@
+// Verify that both sites have been created
+File sequentialDirectory = new File(basedir, "target/site-sequential")
+File parallelDirectory = new File(basedir, "target/site-parallel")
+assert new File(sequentialDirectory, "metricshub-connectors-full-listing.html").isFile() : "The sequential site must be created"
+assert new File(parallelDirectory, "metricshub-connectors-full-listing.html").isFile() : "The parallel site must be created"
+
+// List the files of a site, relative to its directory
+def listFiles = { File directory ->
+    List<String> files = []
+    directory.eachFileRecurse(groovy.io.FileType.FILES) { file ->
+        files << directory.toPath().relativize(file.toPath()).toString().replace('\\', '/')
+    }
+    return files.sort()
+}
+
+List<String> sequentialFiles = listFiles(sequentialDirectory)
+List<String> parallelFiles = listFiles(parallelDirectory)
+assert sequentialFiles.contains("connectors/mib2.html") : "The connector pages must be rendered"
+assert sequentialFiles == parallelFiles : "Both renderings must produce the same files"
+
+// The pages rendered concurrently must be byte-identical to the pages rendered sequentially
+sequentialFiles.each { fileName ->
+    byte[] sequentialBytes = new File(sequentialDirectory, fileName).bytes
+    byte[] parallelBytes = new File(parallelDirectory, fileName).bytes
+    assert Arrays.equals(sequentialBytes, parallelBytes) : "$fileName differs between the sequential and the parallel renderings"
+}
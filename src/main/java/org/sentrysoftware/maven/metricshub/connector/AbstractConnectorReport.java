@@ -23,35 +23,107 @@ package org.sentrysoftware.maven.metricshub.connector;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
-import lombok.Getter;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.model.ReportPlugin;
+import org.apache.maven.model.ReportSet;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.reporting.AbstractMavenReport;
 import org.apache.maven.reporting.MavenReportException;
+import org.sentrysoftware.maven.metricshub.connector.parser.ConnectorArtifactLibrary;
+import org.sentrysoftware.maven.metricshub.connector.parser.ConnectorArtifactLibrary.ArtifactSource;
+import org.sentrysoftware.maven.metricshub.connector.parser.ConnectorArtifactLibrary.LibraryLoader;
 import org.sentrysoftware.maven.metricshub.connector.parser.ConnectorLibraryParser;
+import org.sentrysoftware.maven.metricshub.connector.parser.ConnectorLibraryParser.ConnectorConsumer;
+import org.sentrysoftware.maven.metricshub.connector.parser.HeaderCache;
+import org.sentrysoftware.maven.metricshub.connector.parser.LibraryInventory;
+import org.sentrysoftware.maven.metricshub.connector.parser.PlaceholderIndex;
+import org.sentrysoftware.maven.metricshub.connector.parser.ResolvedConnectorCache;
+import org.sentrysoftware.maven.metricshub.connector.parser.SubtreePool;
+import org.sentrysoftware.maven.metricshub.connector.parser.SymbolTable;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorCatalog;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorSummary;
 
 /**
  * An abstract base class for Maven reports related to connectors.
+ * <p>
+ * The report runs as a pipeline. The connectors are parsed by a pool of {@link #parsingThreads} threads and handed
+ * over, in a deterministic order, to the report thread, which summarizes each connector and passes it to
+ * {@link #connectorResolved(ConnectorSummary, JsonNode, PlaceholderIndex)}. The pages scheduled there are rendered
+ * by the {@link #pageRenderer} while the next connectors are still being parsed. Once the whole library has been
+ * parsed, the summaries are aggregated into the {@link #connectorCatalog} and {@link #doReport()} produces the
+ * library-wide pages. The queues between the stages are bounded, so that a slow stage holds back the stages feeding
+ * it instead of accumulating their output.
+ * </p>
  */
 public abstract class AbstractConnectorReport extends AbstractMavenReport {
 
 	/**
-	 * Where all the .yaml files are located. Only the .yaml files will actually be parsed.
+	 * The subdirectory of the {@link #connectorCacheDirectory} storing the libraries of the connector artifacts
+	 */
+	private static final String ARTIFACT_CACHE_SUBDIRECTORY = "artifacts";
+
+	/**
+	 * Where all the .yaml files are located. Only the .yaml files will actually be parsed. This can also be a
+	 * connectors JAR or ZIP archive, whose entries are read in place without being extracted.
 	 */
 	@Parameter(defaultValue = "${project.basedir}/src/main/connector", property = "sourceDirectory", required = true)
 	protected File sourceDirectory;
 
+	/**
+	 * The directory of the connector library within the archive, when the {@link #sourceDirectory} is a JAR or ZIP
+	 * archive.
+	 */
+	@Parameter(defaultValue = "/", property = "sourceArchiveDirectory", required = false)
+	protected String sourceArchiveDirectory;
+
+	/**
+	 * The glob patterns of the files of the {@link #sourceDirectory} to read, relative to this directory, e.g.
+	 * <code>**&#47;*.yaml</code>. As with the Maven patterns, a leading <code>**&#47;</code> also matches the files at
+	 * the root of the directory. All the files are read by default.
+	 */
+	@Parameter(property = "includes", required = false)
+	protected List<String> includes;
+
+	/**
+	 * The glob patterns of the directories and files of the {@link #sourceDirectory} to ignore, relative to this
+	 * directory, e.g. <code>**&#47;test</code>, which also matches a <code>test</code> directory at the root of the
+	 * directory. An excluded directory is skipped with its whole subtree.
+	 */
+	@Parameter(property = "excludes", required = false)
+	protected List<String> excludes;
+
+	/**
+	 * The connector libraries published as dependencies of the project, as <code>groupId:artifactId</code> or
+	 * <code>groupId:artifactId:classifier</code>. The artifacts are loaded concurrently and their connectors are
+	 * added to the connectors of the {@link #sourceDirectory}. When several libraries define the same connector, the
+	 * connector of the {@link #sourceDirectory} is kept, then the connector of the first artifact of this list.
+	 */
+	@Parameter(property = "connectorArtifacts", required = false)
+	protected List<String> connectorArtifacts;
+
+	/**
+	 * The directory of the connector library within each of the {@link #connectorArtifacts}.
+	 */
+	@Parameter(defaultValue = "/", property = "connectorArtifactDirectory", required = false)
+	protected String connectorArtifactDirectory;
+
 	/**
 	 * The directory where the icons will be copied to in the generated site.
 	 */
@@ -74,26 +146,147 @@ public abstract class AbstractConnectorReport extends AbstractMavenReport {
 	@Parameter(property = "defaultPlatformIconFilename", required = false)
 	protected String defaultPlatformIconFilename;
 
+	/**
+	 * The number of threads used to parse the connector library. The default value (1) parses the connectors
+	 * sequentially, 0 or a negative value uses one thread per available processor.
+	 */
+	@Parameter(defaultValue = "1", property = "parsingThreads", required = false)
+	protected int parsingThreads;
+
+	/**
+	 * Whether only the summaries of the connectors are kept in memory. Each connector tree is dropped once its page
+	 * is rendered, and the connectors whose page needs the whole library are resolved again from the connector
+	 * cache, or from their files, when their page is rendered. This mode bounds the heap of very large libraries.
+	 */
+	@Parameter(defaultValue = "false", property = "lowMemory", required = false)
+	protected boolean lowMemory;
+
+	/**
+	 * Whether each connector is reduced to the sections read by the report pages as soon as it is resolved. The
+	 * compute chains, scripts and translation tables of the monitors are then never retained. The pages are
+	 * identical, the connector cache still stores the whole connectors.
+	 */
+	@Parameter(defaultValue = "false", property = "connectorProjection", required = false)
+	protected boolean connectorProjection;
+
+	/**
+	 * Whether the identical subtrees of the connectors, such as the sections merged from the same extended
+	 * connectors, are shared by a single instance once the connectors are resolved. Ignored in {@link #lowMemory}
+	 * mode, where the connectors are not retained.
+	 */
+	@Parameter(defaultValue = "false", property = "shareSubtrees", required = false)
+	protected boolean shareSubtrees;
+
+	/**
+	 * Whether each connector is overlaid on the read-only trees of its extended connectors instead of being merged
+	 * into copies of them. The connectors then share the sections they do not override with their extended
+	 * connectors. The pages are identical.
+	 */
+	@Parameter(defaultValue = "false", property = "overlayMerge", required = false)
+	protected boolean overlayMerge;
+
+	/**
+	 * The number of threads used to render the pages. The default value (1) renders the pages sequentially, 0 or a
+	 * negative value uses one thread per available processor. The pages and the log output are identical whatever
+	 * the number of threads.
+	 */
+	@Parameter(defaultValue = "1", property = "renderingThreads", required = false)
+	protected int renderingThreads;
+
+	/**
+	 * Whether the resolved connectors are kept on disk between builds, so that the unchanged connectors
+	 * are not parsed again. Disabled by default: the cache is only invalidated by the content of the connector
+	 * files and by the version of the plugin, enable it once these are the only inputs of the build.
+	 */
+	@Parameter(defaultValue = "false", property = "useConnectorCache", required = false)
+	protected boolean useConnectorCache;
+
+	/**
+	 * The directory where the resolved connectors are kept between builds.
+	 */
+	@Parameter(
+		defaultValue = "${project.build.directory}/metricshub-connector-cache",
+		property = "connectorCacheDirectory",
+		required = false
+	)
+	protected File connectorCacheDirectory;
+
+	/**
+	 * The version of this plugin, part of the key of the cached connectors with the digest of the plugin JAR file.
+	 */
+	@Parameter(defaultValue = "${plugin.version}", readonly = true)
+	protected String pluginVersion;
+
+	/**
+	 * The group identifier of this plugin, to find its reports in the reporting section of the projects.
+	 */
+	@Parameter(defaultValue = "${plugin.groupId}", readonly = true)
+	protected String pluginGroupId;
+
+	/**
+	 * The artifact identifier of this plugin, to find its reports in the reporting section of the projects.
+	 */
+	@Parameter(defaultValue = "${plugin.artifactId}", readonly = true)
+	protected String pluginArtifactId;
+
 	protected Log logger;
 
+	/**
+	 * The parsed connectors by connector ID, empty in {@link #lowMemory} mode: use {@link #loadConnector}
+	 */
 	protected Map<String, JsonNode> connectors;
 
+	protected Map<String, PlaceholderIndex> placeholderIndexes = new HashMap<>();
+
 	protected List<String> enterpriseConnectorIds = new ArrayList<>();
 
+	protected ConnectorCatalog connectorCatalog;
+
+	/**
+	 * Renders the pages scheduled by the report, available from {@link #startReport()} to the end of
+	 * {@link #doReport()}
+	 */
+	protected PageRenderer pageRenderer;
+
+	/**
+	 * The files of the connector library, recorded by a single walk of the {@link #sourceDirectory}
+	 */
+	private LibraryInventory libraryInventory;
+
+	/**
+	 * The file system of the connectors archive, open while the report is produced, <code>null</code> if the
+	 * {@link #sourceDirectory} is a directory
+	 */
+	private FileSystem archiveFileSystem;
+
+	/**
+	 * The number of libraries served by the {@link ReactorCache} to this report instead of being loaded again
+	 */
+	private final LongAdder reusedLibraries = new LongAdder();
+
+	/**
+	 * The parser of the connector library, used to tell early whether a connector may be superseded
+	 */
+	private ConnectorLibraryParser connectorLibraryParser;
+
 	@Override
 	protected void executeReport(Locale locale) throws MavenReportException {
 		// Get and set the logger
 		logger = getLog();
 
 		// Is this an existing directory?
-		if (!sourceDirectory.exists()) {
+		final boolean hasSourceDirectory = sourceDirectory.exists();
+		if (!hasSourceDirectory && requiresSourceDirectory()) {
 			final String message = String.format("sourceDirectory '%s' does not exist", sourceDirectory);
 			logger.error(message);
 			throw new MavenReportException(message);
 		}
 
-		if (!sourceDirectory.isDirectory()) {
-			final String message = String.format("sourceDirectory '%s' is not a directory", sourceDirectory);
+		if (hasSourceDirectory && !sourceDirectory.isDirectory() && !isArchive(sourceDirectory)) {
+			final String message = String.format(
+				"sourceDirectory '%s' is neither a directory nor a JAR or ZIP archive",
+				sourceDirectory
+			);
 			logger.error(message);
 			throw new MavenReportException(message);
 		}
@@ -105,62 +298,169 @@ public abstract class AbstractConnectorReport extends AbstractMavenReport {
 			throw new MavenReportException(message);
 		}
 
-		// Parse the connector library
-		connectors = parseConnectors();
-
-		// Retrieve the enterprise connector identifiers from the manifest file.
 		try {
-			enterpriseConnectorIds = detectEnterpriseConnectors();
-		} catch (IOException e) {
-			final String message = "Could not read the eneterprise connectors manifest: enterprise-connectors-manifest.txt";
-			logger.error(message);
-			throw new MavenReportException(message);
+			// Walk the source directory once, for the manifest and for the connectors
+			try {
+				libraryInventory =
+					hasSourceDirectory
+						? LibraryInventory.scan(openConnectorLibrary(), includes, excludes)
+						: LibraryInventory.empty(sourceDirectory.toPath());
+			} catch (IOException | IllegalArgumentException e) {
+				final String message = String.format(
+					"Could not scan the connector library at %s. Details: %s",
+					sourceDirectory.getAbsolutePath(),
+					e.getMessage()
+				);
+				logger.error(message);
+				throw new MavenReportException(message, e);
+			}
+			logger.info(
+				String.format(
+					"Connector library: %d YAML files, %d embedded files (%d directories and %d files excluded).",
+					libraryInventory.getYamlFiles().size(),
+					libraryInventory.getEmbeddedFiles().size(),
+					libraryInventory.getExcludedDirectories(),
+					libraryInventory.getExcludedFiles()
+				)
+			);
+
+			// Retrieve the enterprise connector identifiers from the manifest file.
+			try {
+				enterpriseConnectorIds = detectEnterpriseConnectors();
+			} catch (IOException e) {
+				final String message = "Could not read the eneterprise connectors manifest: enterprise-connectors-manifest.txt";
+				logger.error(message);
+				throw new MavenReportException(message);
+			}
+
+			try (PageRenderer renderer = new PageRenderer(logger, getRenderingParallelism())) {
+				pageRenderer = renderer;
+
+				// Prepare the report before the first connector is handed over
+				startReport();
+
+				// Parse the connector library, the connectors are complete and read-only afterward
+				final List<ConnectorSummary> summaries = new ArrayList<>();
+				connectors = parseConnectors(summaries);
+
+				// Aggregate the summaries once the whole library has been parsed
+				connectorCatalog = ConnectorCatalog.of(summaries);
+
+				// Produce the report
+				doReport();
+			} finally {
+				pageRenderer = null;
+			}
+		} finally {
+			closeConnectorLibrary();
 		}
+	}
 
-		// Produce the report
-		doReport();
+	/**
+	 * Whether the {@link #sourceDirectory} must exist. When it does not have to, a missing source directory is read as
+	 * an empty library.
+	 *
+	 * @return <code>true</code> by default.
+	 */
+	protected boolean requiresSourceDirectory() {
+		return true;
 	}
 
 	/**
-	 * Detect the enterprise connector identifiers.
+	 * Whether the given source is a connectors archive, read through a zip file system.
 	 *
-	 * @return List of string values containing the connector identifiers.
-	 * @throws IOException If any I/O error occurs.
+	 * @param source The source of the connector library.
+	 * @return <code>true</code> if the source is a JAR or ZIP file.
 	 */
-	private List<String> detectEnterpriseConnectors() throws IOException {
-		final EnterpriseManifestVisitor fileVisitor = new EnterpriseManifestVisitor();
+	private static boolean isArchive(final File source) {
+		final String name = source.getName().toLowerCase();
+		return source.isFile() && (name.endsWith(".jar") || name.endsWith(".zip"));
+	}
 
-		Files.walkFileTree(sourceDirectory.toPath(), fileVisitor);
+	/**
+	 * Open the connector library: the {@link #sourceDirectory} itself, or the {@link #sourceArchiveDirectory} of
+	 * the connectors archive, whose file system remains open until the report is produced.
+	 *
+	 * @return The directory of the connector library.
+	 * @throws IOException If the archive cannot be opened.
+	 */
+	private Path openConnectorLibrary() throws IOException {
+		if (!isArchive(sourceDirectory)) {
+			return sourceDirectory.toPath();
+		}
 
-		return fileVisitor.getConnectorEnterpriseList();
+		archiveFileSystem = FileSystems.newFileSystem(sourceDirectory.toPath());
+		final Path libraryDirectory = archiveFileSystem.getPath(sourceArchiveDirectory);
+		if (!Files.isDirectory(libraryDirectory)) {
+			throw new IOException(
+				String.format("'%s' is not a directory of the archive %s", sourceArchiveDirectory, sourceDirectory)
+			);
+		}
+
+		logger.info(String.format("Reading the connector library in place from %s.", sourceDirectory));
+		return libraryDirectory;
 	}
 
 	/**
-	 * This inner class allows to visit the files in order to extract the enterprise manifest file content
+	 * Close the file system of the connectors archive, if any.
 	 */
-	private static class EnterpriseManifestVisitor extends SimpleFileVisitor<Path> {
+	private void closeConnectorLibrary() {
+		if (archiveFileSystem == null) {
+			return;
+		}
 
-		@Getter
-		private List<String> connectorEnterpriseList = new ArrayList<>();
+		try {
+			archiveFileSystem.close();
+		} catch (IOException e) {
+			logger.warn(String.format("Could not close the connectors archive %s: %s", sourceDirectory, e.getMessage()));
+		} finally {
+			archiveFileSystem = null;
+		}
+	}
 
-		@Override
-		public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-			// Skip this path if it is a directory or not a YAML file
-			if (!Files.isDirectory(file) && "enterprise-connectors-manifest.txt".equals(file.toFile().getName())) {
-				connectorEnterpriseList =
-					Files
-						.readAllLines(file)
-						.stream()
-						.map(String::trim)
-						.filter(line -> !line.isEmpty())
-						.map(filename -> filename.substring(0, filename.lastIndexOf('.')))
-						.collect(Collectors.toCollection(ArrayList::new));
+	/**
+	 * Gets the number of threads rendering the pages.
+	 *
+	 * @return The number of rendering threads, at least 1.
+	 */
+	protected int getRenderingParallelism() {
+		return renderingThreads > 0 ? renderingThreads : Runtime.getRuntime().availableProcessors();
+	}
 
-				return FileVisitResult.TERMINATE;
-			}
+	/**
+	 * Detect the enterprise connector identifiers from the first manifest of the library inventory.
+	 *
+	 * @return List of string values containing the connector identifiers.
+	 * @throws IOException If any I/O error occurs.
+	 */
+	private List<String> detectEnterpriseConnectors() throws IOException {
+		return libraryInventory.readEnterpriseConnectorIds();
+	}
 
-			return FileVisitResult.CONTINUE;
-		}
+	/**
+	 * Prepares the report, before the connector library is parsed. Does nothing by default.
+	 *
+	 * @throws MavenReportException If the report cannot be prepared.
+	 */
+	protected void startReport() throws MavenReportException {
+		// Nothing to prepare by default
+	}
+
+	/**
+	 * Processes a connector as soon as it is resolved, in the report thread. The connectors are handed over in the
+	 * order their files are visited, and {@link #connectorCatalog} is not available yet. Does nothing by default.
+	 *
+	 * @param connectorSummary The summary of the connector.
+	 * @param connector        The resolved connector, which must not be modified.
+	 * @param placeholderIndex The index of the placeholders of the connector.
+	 * @throws MavenReportException If the connector cannot be processed.
+	 */
+	protected void connectorResolved(
+		final ConnectorSummary connectorSummary,
+		final JsonNode connector,
+		final PlaceholderIndex placeholderIndex
+	) throws MavenReportException {
+		// Nothing to do by default
 	}
 
 	/**
@@ -169,18 +469,160 @@ public abstract class AbstractConnectorReport extends AbstractMavenReport {
 	 */
 	protected abstract void doReport() throws MavenReportException;
 
+	/**
+	 * Whether the given connector may be superseded by another connector of the library. This is known as soon as
+	 * the library has been scanned, so a connector that is not possibly superseded can be rendered before the
+	 * {@link #connectorCatalog} is built.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @return <code>false</code> if no connector of the library supersedes the given connector.
+	 */
+	protected boolean isPossiblySuperseded(final String connectorId) {
+		return connectorLibraryParser == null || connectorLibraryParser.isPossiblySuperseded(connectorId);
+	}
+
+	/**
+	 * Hands the given connector over to the consumer. In {@link #lowMemory} mode, the connector is resolved again
+	 * and can be garbage collected once the consumer no longer uses it.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @param consumer    The consumer of the connector.
+	 * @throws MavenReportException If the connector cannot be resolved again or if the consumer fails.
+	 */
+	protected void loadConnector(
+		final String connectorId,
+		final ConnectorConsumer<MavenReportException> consumer
+	) throws MavenReportException {
+		if (!lowMemory) {
+			consumer.accept(connectorId, connectors.get(connectorId), placeholderIndexes.get(connectorId));
+			return;
+		}
+
+		try {
+			connectorLibraryParser.reload(connectorId, consumer);
+		} catch (IOException e) {
+			final String message = String.format("Could not load the connector %s. Details: %s", connectorId, e.getMessage());
+			logger.error(message);
+			throw new MavenReportException(message, e);
+		}
+	}
+
 	/**
 	 * Parses the connector library located at the specified source directory and
 	 * returns a mapping of connector identifiers to their corresponding JsonNodes.
+	 * Each connector is summarized and passed to
+	 * {@link #connectorResolved(ConnectorSummary, JsonNode, PlaceholderIndex)} as soon as it is resolved.
 	 *
+	 * @param summaries The list receiving the summary of each connector.
 	 * @return A {@code Map} containing connector names as keys and their associated
 	 *         {@link JsonNode} objects as values.
 	 * @throws MavenReportException If an error occurs during the parsing process,
 	 *                              including IO errors or parsing failures.
 	 */
-	protected Map<String, JsonNode> parseConnectors() throws MavenReportException {
+	protected Map<String, JsonNode> parseConnectors(final List<ConnectorSummary> summaries)
+		throws MavenReportException {
 		try {
-			return new ConnectorLibraryParser().parse(sourceDirectory.toPath());
+			final ResolvedConnectorCache resolvedConnectorCache = useConnectorCache
+				? new ResolvedConnectorCache(connectorCacheDirectory.toPath(), pluginVersion)
+				: null;
+
+			// The connectors are only retained, and their symbols worth sharing, outside of the low memory mode
+			final SubtreePool subtreePool = shareSubtrees && !lowMemory ? new SubtreePool() : null;
+			final SymbolTable symbolTable;
+			final HeaderCache headerCache;
+			if (subtreePool != null || archiveFileSystem != null) {
+				// The pooled subtrees and the archive entries belong to this report only
+				symbolTable = lowMemory ? null : new SymbolTable();
+				headerCache = new HeaderCache(symbolTable);
+			} else {
+				// The headers are resolved once for all the modules of the build
+				final ReactorCache reactorCache = ReactorCache.getInstance();
+				symbolTable = lowMemory ? null : reactorCache.getSymbolTable();
+				headerCache = reactorCache.getHeaderCache();
+			}
+
+			// When the aggregate report is part of the build, the library of the module is parsed once for both reports
+			final boolean reactorLibrary = isReactorLibrary();
+
+			// The artifacts are parsed with their own manifest, or read back from the cache when unchanged
+			final List<ConnectorArtifactLibrary> artifactLibraries = loadConnectorArtifacts(resolvedConnectorCache);
+
+			final Set<String> enterpriseConnectorIdSet = new HashSet<>(enterpriseConnectorIds);
+			connectorLibraryParser =
+				ConnectorLibraryParser
+					.builder()
+					.withParallelism(getParallelism())
+					.withHeaderCache(headerCache)
+					.withResolvedConnectorCache(reactorLibrary ? null : resolvedConnectorCache)
+					.withEnterpriseConnectorIds(enterpriseConnectorIdSet)
+					.withProjection(connectorProjection)
+					.withOverlayMerge(overlayMerge)
+					.withSymbolTable(symbolTable)
+					.withSubtreePool(subtreePool)
+					.build();
+
+			final Map<String, JsonNode> parsedConnectors = new TreeMap<>();
+			placeholderIndexes = new TreeMap<>();
+			connectorLibraryParser.parse(
+				reactorLibrary ? LibraryInventory.empty(libraryInventory.getSourceDirectory()) : libraryInventory,
+				artifactLibraries,
+				(connectorId, connector, placeholderIndex) -> {
+					final ConnectorSummary connectorSummary = ConnectorCatalog.summarize(
+						connectorId,
+						connector,
+						connectorLibraryParser.isEnterpriseConnector(connectorId)
+					);
+					if (!lowMemory) {
+						parsedConnectors.put(connectorId, connector);
+						placeholderIndexes.put(connectorId, placeholderIndex);
+					}
+					summaries.add(connectorSummary);
+					connectorResolved(connectorSummary, connector, placeholderIndex);
+				}
+			);
+
+			if (resolvedConnectorCache != null) {
+				logger.info(
+					String.format(
+						"Resolved connectors cache: %d hits, %d misses, %d files digested (%s).",
+						resolvedConnectorCache.getHits(),
+						resolvedConnectorCache.getMisses(),
+						resolvedConnectorCache.getDigestedFiles(),
+						connectorCacheDirectory
+					)
+				);
+			}
+
+			logger.info(
+				String.format(
+					"Extended connectors cache: %d hits, %d misses (%d headers cached%s).",
+					headerCache.getHits(),
+					headerCache.getMisses(),
+					headerCache.size(),
+					subtreePool != null || archiveFileSystem != null ? "" : ", shared by the build"
+				)
+			);
+
+			if (symbolTable != null) {
+				logger.info(
+					String.format("Symbol table: %d field names and values shared by the connectors.", symbolTable.size())
+				);
+			}
+
+			if (subtreePool != null) {
+				logger.info(
+					String.format(
+						"Subtree pool: %d nodes deduplicated, about %d KB saved (%d distinct subtrees pooled).",
+						subtreePool.getSharedNodes(),
+						subtreePool.getSavedBytes() / 1024,
+						subtreePool.size()
+					)
+				);
+			}
+
+			logOverriddenConnectors(artifactLibraries);
+
+			return parsedConnectors;
 		} catch (IOException e) {
 			final String message = String.format(
 				"An error occurred during the parsing of the connector library at %s. Details: %s",
@@ -192,6 +634,261 @@ public abstract class AbstractConnectorReport extends AbstractMavenReport {
 		}
 	}
 
+	/**
+	 * Whether the connector library of the {@link #sourceDirectory} is read through the {@link ReactorCache}, so that
+	 * it is parsed once for the report of the module and for the aggregate report. This is the case of a directory
+	 * read as a whole, in a multi-module build whose reporting runs the aggregate report, outside of the
+	 * {@link #lowMemory} mode where the library is not retained.
+	 *
+	 * @return <code>true</code> if the library of the module is shared by the build.
+	 */
+	protected boolean isReactorLibrary() {
+		return (
+			!lowMemory &&
+			reactorProjects != null &&
+			reactorProjects.size() > 1 &&
+			archiveFileSystem == null &&
+			sourceDirectory.isDirectory() &&
+			(includes == null || includes.isEmpty()) &&
+			(excludes == null || excludes.isEmpty()) &&
+			isAggregateReportInBuild()
+		);
+	}
+
+	/**
+	 * Whether a project of the build runs the {@link ConnectorsDirectoryAggregateReport aggregate report} of this
+	 * plugin as part of its reporting: a report plugin without report sets runs all the reports of the plugin.
+	 *
+	 * @return <code>true</code> if the reporting of a project of the build includes the aggregate report.
+	 */
+	private boolean isAggregateReportInBuild() {
+		for (MavenProject reactorProject : reactorProjects) {
+			// The report plugins are a raw list in the project model this plugin is compiled against
+			for (Object candidate : reactorProject.getReportPlugins()) {
+				if (
+					candidate instanceof ReportPlugin reportPlugin &&
+					reportPlugin.getGroupId().equals(pluginGroupId) &&
+					reportPlugin.getArtifactId().equals(pluginArtifactId) &&
+					runsAggregateReport(reportPlugin)
+				) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Whether the given report plugin runs the aggregate report.
+	 *
+	 * @param reportPlugin The declaration of this plugin in the reporting section of a project.
+	 * @return <code>true</code> if the plugin has no report sets, or if a report set lists the aggregate report.
+	 */
+	private static boolean runsAggregateReport(final ReportPlugin reportPlugin) {
+		if (reportPlugin.getReportSets().isEmpty()) {
+			return true;
+		}
+		for (ReportSet reportSet : reportPlugin.getReportSets()) {
+			if (reportSet.getReports().contains(ConnectorsDirectoryAggregateReport.GOAL)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the number of threads parsing the connectors, from the {@link #parsingThreads}.
+	 *
+	 * @return The number of parsing threads.
+	 */
+	protected int getParallelism() {
+		return parsingThreads > 0 ? parsingThreads : Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Load the connector library of a module of the build with the parser options of this report. Outside of the
+	 * {@link #lowMemory} mode, the library is parsed once for each version of its files through the
+	 * {@link ReactorCache}.
+	 *
+	 * @param coordinates The coordinates of the module.
+	 * @param inventory   The inventory of the connector directory of the module.
+	 * @param cache       The persistent cache of the resolved connectors, <code>null</code> if disabled.
+	 * @return The library of the module.
+	 * @throws IOException If a connector cannot be parsed.
+	 */
+	protected ConnectorArtifactLibrary loadModuleLibrary(
+		final String coordinates,
+		final LibraryInventory inventory,
+		final ResolvedConnectorCache cache
+	) throws IOException {
+		if (lowMemory) {
+			// The library is dropped with this report
+			return ConnectorArtifactLibrary.parse(
+				coordinates,
+				inventory,
+				new HeaderCache(),
+				cache,
+				getParallelism(),
+				overlayMerge
+			);
+		}
+		return ReactorCache
+			.getInstance()
+			.getModuleLibrary(coordinates, inventory, cache, getParallelism(), overlayMerge, reusedLibraries);
+	}
+
+	/**
+	 * Load the libraries added to the connectors of the {@link #sourceDirectory}, from the connector cache when the
+	 * artifacts are unchanged. When the library of the {@link #sourceDirectory} is
+	 * {@link #isReactorLibrary() shared by the build}, it comes first.
+	 *
+	 * @param resolvedConnectorCache The persistent cache of the resolved connectors, used to parse the library of the
+	 *                               {@link #sourceDirectory} when it is shared by the build, <code>null</code> if
+	 *                               disabled.
+	 * @return The libraries, in the order of the {@link #getLibraryLoaders loaders}.
+	 * @throws MavenReportException If an artifact is not a dependency of the project or a library cannot be loaded.
+	 */
+	private List<ConnectorArtifactLibrary> loadConnectorArtifacts(final ResolvedConnectorCache resolvedConnectorCache)
+		throws MavenReportException {
+		final ResolvedConnectorCache artifactCache = useConnectorCache
+			? new ResolvedConnectorCache(connectorCacheDirectory.toPath().resolve(ARTIFACT_CACHE_SUBDIRECTORY), pluginVersion)
+			: null;
+		final List<LibraryLoader> libraryLoaders = new ArrayList<>();
+		if (isReactorLibrary()) {
+			final String coordinates = project.getId();
+			libraryLoaders.add(() -> loadModuleLibrary(coordinates, libraryInventory, resolvedConnectorCache));
+		}
+		libraryLoaders.addAll(getLibraryLoaders(artifactCache));
+		if (libraryLoaders.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		try {
+			final List<ConnectorArtifactLibrary> artifactLibraries = ConnectorArtifactLibrary.loadAll(
+				libraryLoaders,
+				getParallelism()
+			);
+			if (artifactCache != null) {
+				artifactCache.prune();
+			}
+
+			for (ConnectorArtifactLibrary artifactLibrary : artifactLibraries) {
+				logger.info(
+					String.format(
+						"Connector library %s: %d connectors (%s).",
+						artifactLibrary.getCoordinates(),
+						artifactLibrary.getConnectorIds().size(),
+						artifactLibrary.isCached() ? "cached" : "parsed"
+					)
+				);
+			}
+			if (!lowMemory) {
+				logger.info(String.format("Connector libraries shared by the build: %d reused.", reusedLibraries.sum()));
+			}
+			return artifactLibraries;
+		} catch (IOException e) {
+			final String message = String.format("Could not load the connector artifacts. Details: %s", e.getMessage());
+			logger.error(message);
+			throw new MavenReportException(message, e);
+		}
+	}
+
+	/**
+	 * Get the loaders of the libraries added to the connectors of the {@link #sourceDirectory}, by decreasing
+	 * precedence: by default, the libraries of the {@link #connectorArtifacts}, loaded once for the whole build outside
+	 * of the {@link #lowMemory} mode.
+	 *
+	 * @param artifactCache The persistent cache of the artifact libraries, <code>null</code> if disabled.
+	 * @return The list of {@link LibraryLoader}, empty if there is no library to add.
+	 * @throws MavenReportException If an artifact is not a dependency of the project.
+	 */
+	protected List<LibraryLoader> getLibraryLoaders(final ResolvedConnectorCache artifactCache)
+		throws MavenReportException {
+		if (connectorArtifacts == null || connectorArtifacts.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		final List<LibraryLoader> libraryLoaders = new ArrayList<>();
+		for (String connectorArtifact : connectorArtifacts) {
+			final Artifact artifact = findArtifact(connectorArtifact);
+			if (artifact == null || artifact.getFile() == null) {
+				final String message = String.format(
+					"The connector artifact %s is not a resolved dependency of the project",
+					connectorArtifact
+				);
+				logger.error(message);
+				throw new MavenReportException(message);
+			}
+			final ArtifactSource artifactSource = new ArtifactSource(
+				artifact.getId(),
+				artifact.getFile().toPath(),
+				connectorArtifactDirectory
+			);
+			libraryLoaders.add(() ->
+				lowMemory
+					? ConnectorArtifactLibrary.load(artifactSource, artifactCache)
+					: ReactorCache.getInstance().getArtifactLibrary(artifactSource, artifactCache, reusedLibraries)
+			);
+		}
+		return libraryLoaders;
+	}
+
+	/**
+	 * Find the dependency of the project designated by the given <code>groupId:artifactId[:classifier]</code>.
+	 *
+	 * @param connectorArtifact The designation of a connector artifact.
+	 * @return The resolved artifact, or <code>null</code> if the project has no such dependency.
+	 */
+	private Artifact findArtifact(final String connectorArtifact) {
+		// The artifacts are a raw set in the project model this plugin is compiled against
+		for (Object candidate : project.getArtifacts()) {
+			if (candidate instanceof Artifact artifact && matchesArtifact(connectorArtifact, artifact)) {
+				return artifact;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Whether the given artifact is designated by the given <code>groupId:artifactId[:classifier]</code>.
+	 *
+	 * @param connectorArtifact The designation of a connector artifact.
+	 * @param artifact          A dependency of the project.
+	 * @return <code>true</code> if the group, the artifact and the classifier, if specified, match.
+	 */
+	private static boolean matchesArtifact(final String connectorArtifact, final Artifact artifact) {
+		final String[] coordinates = connectorArtifact.trim().split(":");
+		return (
+			coordinates.length >= 2 &&
+			coordinates[0].equals(artifact.getGroupId()) &&
+			coordinates[1].equals(artifact.getArtifactId()) &&
+			(coordinates.length < 3 || coordinates[2].equals(artifact.getClassifier()))
+		);
+	}
+
+	/**
+	 * Log the connectors of the given artifact libraries that are overridden by a library of higher precedence.
+	 *
+	 * @param artifactLibraries The artifact libraries, by decreasing precedence.
+	 */
+	private void logOverriddenConnectors(final List<ConnectorArtifactLibrary> artifactLibraries) {
+		for (ConnectorArtifactLibrary artifactLibrary : artifactLibraries) {
+			for (String connectorId : artifactLibrary.getConnectorIds()) {
+				final ConnectorArtifactLibrary origin = connectorLibraryParser.getArtifactLibrary(connectorId);
+				if (origin != artifactLibrary) {
+					logger.info(
+						String.format(
+							"Connector %s of %s is overridden by the connector of %s.",
+							connectorId,
+							artifactLibrary.getCoordinates(),
+							origin != null ? origin.getCoordinates() : sourceDirectory
+						)
+					);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Retrieves the main Doxia sink.
 	 *
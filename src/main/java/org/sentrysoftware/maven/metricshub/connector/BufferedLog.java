@@ -0,0 +1,181 @@
+package org.sentrysoftware.maven.metricshub.connector;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * A {@link Log} that keeps the messages of a task in memory until they are written to the Maven log, so that the
+ * tasks running concurrently still produce their messages in a deterministic order.
+ * <p>
+ * The levels are enabled as in the target log. A buffer is written by a single thread.
+ * </p>
+ */
+public class BufferedLog implements Log {
+
+	/**
+	 * The level of a buffered message.
+	 */
+	private enum Level {
+		DEBUG,
+		INFO,
+		WARN,
+		ERROR
+	}
+
+	/**
+	 * A buffered message.
+	 *
+	 * @param level   The level of the message.
+	 * @param content The message content, may be <code>null</code>.
+	 * @param error   The error attached to the message, may be <code>null</code>.
+	 */
+	private record Entry(Level level, CharSequence content, Throwable error) {}
+
+	private final Log target;
+
+	private final List<Entry> entries = new ArrayList<>();
+
+	/**
+	 * Constructs an empty buffer.
+	 *
+	 * @param target The log the messages are eventually written to.
+	 */
+	public BufferedLog(final Log target) {
+		this.target = target;
+	}
+
+	/**
+	 * Write the buffered messages to the target log, in the order they have been logged, then clear the buffer.
+	 */
+	public void flush() {
+		for (Entry entry : entries) {
+			switch (entry.level()) {
+				case DEBUG -> target.debug(entry.content(), entry.error());
+				case INFO -> target.info(entry.content(), entry.error());
+				case WARN -> target.warn(entry.content(), entry.error());
+				default -> target.error(entry.content(), entry.error());
+			}
+		}
+		entries.clear();
+	}
+
+	/**
+	 * Buffer the given message.
+	 *
+	 * @param level   The level of the message.
+	 * @param content The message content.
+	 * @param error   The error attached to the message.
+	 */
+	private void add(final Level level, final CharSequence content, final Throwable error) {
+		entries.add(new Entry(level, content, error));
+	}
+
+	@Override
+	public boolean isDebugEnabled() {
+		return target.isDebugEnabled();
+	}
+
+	@Override
+	public void debug(final CharSequence content) {
+		debug(content, null);
+	}
+
+	@Override
+	public void debug(final CharSequence content, final Throwable error) {
+		if (isDebugEnabled()) {
+			add(Level.DEBUG, content, error);
+		}
+	}
+
+	@Override
+	public void debug(final Throwable error) {
+		debug(null, error);
+	}
+
+	@Override
+	public boolean isInfoEnabled() {
+		return target.isInfoEnabled();
+	}
+
+	@Override
+	public void info(final CharSequence content) {
+		info(content, null);
+	}
+
+	@Override
+	public void info(final CharSequence content, final Throwable error) {
+		if (isInfoEnabled()) {
+			add(Level.INFO, content, error);
+		}
+	}
+
+	@Override
+	public void info(final Throwable error) {
+		info(null, error);
+	}
+
+	@Override
+	public boolean isWarnEnabled() {
+		return target.isWarnEnabled();
+	}
+
+	@Override
+	public void warn(final CharSequence content) {
+		warn(content, null);
+	}
+
+	@Override
+	public void warn(final CharSequence content, final Throwable error) {
+		if (isWarnEnabled()) {
+			add(Level.WARN, content, error);
+		}
+	}
+
+	@Override
+	public void warn(final Throwable error) {
+		warn(null, error);
+	}
+
+	@Override
+	public boolean isErrorEnabled() {
+		return target.isErrorEnabled();
+	}
+
+	@Override
+	public void error(final CharSequence content) {
+		error(content, null);
+	}
+
+	@Override
+	public void error(final CharSequence content, final Throwable error) {
+		if (isErrorEnabled()) {
+			add(Level.ERROR, content, error);
+		}
+	}
+
+	@Override
+	public void error(final Throwable error) {
+		error(null, error);
+	}
+}
@@ -0,0 +1,113 @@
+package org.sentrysoftware.maven.metricshub.connector;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.reporting.MavenReportException;
+import org.sentrysoftware.maven.metricshub.connector.parser.ConnectorArtifactLibrary.LibraryLoader;
+import org.sentrysoftware.maven.metricshub.connector.parser.LibraryInventory;
+import org.sentrysoftware.maven.metricshub.connector.parser.ResolvedConnectorCache;
+
+/**
+ * This Maven report goal builds a single Connectors Directory for all the modules of a multi-module build.
+ * <p>
+ * The goal runs once, on the aggregator project, and reads the connector libraries of the modules of the reactor,
+ * in the reactor order, after the library of the aggregator project itself (optional) and before the
+ * <em>connectorArtifacts</em>. When several libraries define the same connector, the first one is kept.
+ * </p>
+ * <p>
+ * The libraries of the modules and the extended connectors are parsed through the {@link ReactorCache} shared by
+ * the build, as by the <em>connectors-directory</em> goal of the modules when this goal is listed in the reporting
+ * of the build, so a library or a header already read by the goal of a module is not parsed again, even when the
+ * modules are built in parallel. The library of a module whose goal restricts its files with <em>includes</em> or
+ * <em>excludes</em> patterns is read as a whole here. In <em>lowMemory</em> mode, the libraries are parsed by this
+ * goal and not retained.
+ * </p>
+ */
+@Mojo(
+	name = ConnectorsDirectoryAggregateReport.GOAL,
+	aggregator = true,
+	inheritByDefault = false,
+	defaultPhase = LifecyclePhase.SITE,
+	requiresDependencyResolution = ResolutionScope.RUNTIME,
+	requiresOnline = false,
+	requiresProject = true,
+	threadSafe = true
+)
+public class ConnectorsDirectoryAggregateReport extends ConnectorsDirectoryReport {
+
+	/**
+	 * The name of this goal, as listed in the report sets of the projects
+	 */
+	static final String GOAL = "connectors-directory-aggregate";
+
+	/**
+	 * The connector directory of each module, relative to the base directory of the module. The modules without
+	 * such a directory are ignored.
+	 */
+	@Parameter(defaultValue = "src/main/connector", property = "moduleConnectorDirectory", required = true)
+	private String moduleConnectorDirectory;
+
+	@Override
+	protected boolean requiresSourceDirectory() {
+		// The aggregator project does not need a connector library of its own
+		return false;
+	}
+
+	@Override
+	protected List<LibraryLoader> getLibraryLoaders(final ResolvedConnectorCache artifactCache)
+		throws MavenReportException {
+		final List<LibraryLoader> libraryLoaders = new ArrayList<>();
+		if (reactorProjects != null) {
+			for (MavenProject module : reactorProjects) {
+				final File moduleDirectory = new File(module.getBasedir(), moduleConnectorDirectory);
+				if (module == project || !moduleDirectory.isDirectory()) {
+					continue;
+				}
+
+				final String coordinates = module.getId();
+				libraryLoaders.add(() -> loadModuleLibrary(coordinates, LibraryInventory.scan(moduleDirectory.toPath()), null));
+			}
+		}
+
+		// The connector artifacts come after the modules of the build
+		libraryLoaders.addAll(super.getLibraryLoaders(artifactCache));
+		return libraryLoaders;
+	}
+
+	@Override
+	public String getDescription(final Locale locale) {
+		return "Detailed description of all discovered monitors and reported metrics in each Connector of the modules of ${project.name} ${project.version}";
+	}
+
+	@Override
+	public String getName(final Locale locale) {
+		return "Connectors Directory (Aggregate)";
+	}
+}
@@ -23,8 +23,8 @@ package org.sentrysoftware.maven.metricshub.connector;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.io.File;
 import java.io.IOException;
-import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -32,20 +32,23 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.reporting.MavenReportException;
-import org.sentrysoftware.maven.metricshub.connector.producer.ConnectorJsonNodeReader;
+import org.sentrysoftware.maven.metricshub.connector.parser.PlaceholderIndex;
 import org.sentrysoftware.maven.metricshub.connector.producer.ConnectorPageProducer;
+import org.sentrysoftware.maven.metricshub.connector.producer.ConnectorTableRowCache;
 import org.sentrysoftware.maven.metricshub.connector.producer.FullListingPageProducer;
 import org.sentrysoftware.maven.metricshub.connector.producer.PlatformsPageProducer;
 import org.sentrysoftware.maven.metricshub.connector.producer.SinkHelper;
 import org.sentrysoftware.maven.metricshub.connector.producer.SpecificPlatformPageProducer;
 import org.sentrysoftware.maven.metricshub.connector.producer.TagPageProducer;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorSummary;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.common.TechnologyType;
 import org.sentrysoftware.maven.metricshub.connector.producer.model.platform.Platform;
 
 /**
@@ -88,22 +91,112 @@ public class ConnectorsDirectoryReport extends AbstractConnectorReport {
 	 */
 	private static final String CHILD_PATH_FORMAT = "%s/%s";
 
+	/**
+	 * Whether only the pages whose inputs changed since the previous build are rendered. The pages are compared
+	 * with the fingerprints recorded in {@link #incrementalManifest}, the site decoration (skin, menus) is not part
+	 * of the fingerprints: run a full build when the site descriptor changes.
+	 */
+	@Parameter(defaultValue = "false", property = "incremental", required = false)
+	private boolean incremental;
+
+	/**
+	 * The file recording the fingerprints of the pages produced by the previous incremental build.
+	 */
+	@Parameter(
+		defaultValue = "${project.build.directory}/metricshub-connectors-directory-manifest.json",
+		property = "incrementalManifest",
+		required = false
+	)
+	private File incrementalManifest;
+
+	/**
+	 * The pages produced by the previous build, <code>null</code> when all the pages are rendered
+	 */
+	private PageManifest pageManifest;
+
+	/**
+	 * The fingerprint of each connector, used to compute the fingerprints of the connector pages in incremental mode
+	 */
+	private Map<String, String> connectorFingerprints;
+
+	/**
+	 * The rows of the connectors tables, shared by the full listing, tag and platform pages
+	 */
+	private ConnectorTableRowCache rowCache;
+
+	/**
+	 * Subdirectory where we're going to store the pages for each connector
+	 */
+	private File connectorSubdirectory;
+
+	/**
+	 * The connectors whose page waits for the superseded relationships of the whole library, in the order they
+	 * have been resolved
+	 */
+	private List<String> deferredConnectorIds;
+
 	@Override
-	protected void doReport() throws MavenReportException {
-		// Subdirectory where we're going to store the pages for each connector.
-		final File connectorSubdirectory = new File(outputDirectory, Constants.CONNECTOR_SUBDIRECTORY_NAME);
+	protected void startReport() throws MavenReportException {
+		connectorSubdirectory = new File(outputDirectory, Constants.CONNECTOR_SUBDIRECTORY_NAME);
 		if (!connectorSubdirectory.exists() && !connectorSubdirectory.mkdirs()) {
 			final String message = "Could not create connectors subdirectory: " + connectorSubdirectory.getAbsolutePath();
 			logger.error(message);
 			throw new MavenReportException(message);
 		}
 
-		// Retrieve tags
-		final Map<String, Map<String, JsonNode>> tags = determineTags();
+		// Load the pages recorded by the previous build, the connectors are fingerprinted as they are resolved
+		if (incremental) {
+			pageManifest = PageManifest.load(incrementalManifest.toPath(), outputDirectory);
+			connectorFingerprints = new HashMap<>();
+		}
+
+		rowCache = new ConnectorTableRowCache(Constants.CONNECTOR_SUBDIRECTORY_NAME);
+		deferredConnectorIds = new ArrayList<>();
+	}
+
+	@Override
+	protected void connectorResolved(
+		final ConnectorSummary connectorSummary,
+		final JsonNode connector,
+		final PlaceholderIndex placeholderIndex
+	) throws MavenReportException {
+		final String connectorId = connectorSummary.getConnectorId();
+
+		// The connectors have been completed with their tags when the library was parsed
+		if (connectorFingerprints != null) {
+			connectorFingerprints.put(
+				connectorId,
+				PageManifest.fingerprint().add(connector).add(connectorSummary.isEnterprise()).build()
+			);
+		}
 
+		// The page of a connector superseded by another one lists the superseding connectors, known at the end
+		if (isPossiblySuperseded(connectorId)) {
+			deferredConnectorIds.add(connectorId);
+		} else {
+			produceConnectorPage(connectorSummary, connector, placeholderIndex, List.of());
+		}
+	}
+
+	@Override
+	protected void doReport() throws MavenReportException {
 		// Name of the connector subdirectory
 		final String connectorDirectoryName = connectorSubdirectory.getName();
 
+		// Connector pages waiting for the superseded relationships
+		for (String connectorId : deferredConnectorIds) {
+			loadConnector(
+				connectorId,
+				(id, connector, placeholderIndex) ->
+					produceConnectorPage(
+						connectorCatalog.getSummary(id),
+						connector,
+						placeholderIndex,
+						connectorCatalog.getSupersedingConnectorIds(id)
+					)
+			);
+		}
+
 		final List<Platform> platforms = determinePlatforms();
 
 		// Platforms page
@@ -125,10 +218,7 @@ public class ConnectorsDirectoryReport extends AbstractConnectorReport {
 		produceSpecifcPlatformPages(platformSubdirectory, platforms);
 
 		// Full listing page
-		produceFullListingPage(tags.keySet());
-
-		// Connector pages
-		produceConnectorPages(connectorSubdirectory, buildSupersededMap());
+		produceFullListingPage();
 
 		// Subdirectory within connector subdirectory where we store the pages for each tag.
 		final File tagSubdirectory = new File(
@@ -142,96 +232,203 @@ public class ConnectorsDirectoryReport extends AbstractConnectorReport {
 		}
 
 		// Tag pages
-		produceTagPages(tagSubdirectory, tags);
+		produceTagPages(tagSubdirectory, connectorCatalog.getTags());
+
+		// Wait for the scheduled pages
+		final int renderedPages = pageRenderer.finish();
+		logger.debug(String.format("Rendered %d pages with %d threads.", renderedPages, getRenderingParallelism()));
+
+		if (pageManifest != null) {
+			savePageManifest();
+		}
 	}
 
 	/**
-	 * Builds a map representing the superseded relationships between connectors.
+	 * Creates a new page fingerprint, starting with the plugin version.
 	 *
-	 * @return A map where each key is a connector ID that is superseded by one or more connectors,
-	 *         and the associated value is a list of connectors that supersede it.
+	 * @param pageType The type of page, e.g. connector, tag, platform.
+	 * @return A new {@link PageManifest.Fingerprint}.
 	 */
-	private Map<String, List<String>> buildSupersededMap() {
-		final Map<String, List<String>> supersededMap = new HashMap<>();
-
-		connectors.forEach((connectorId, connector) ->
-			new ConnectorJsonNodeReader(connector)
-				.getSupersedes()
-				.forEach(supersededConnectorId ->
-					supersededMap.computeIfAbsent(supersededConnectorId, k -> new ArrayList<>()).add(connectorId)
-				)
-		);
+	private PageManifest.Fingerprint pageFingerprint(final String pageType) {
+		return PageManifest.fingerprint().add(pluginVersion).add(pageType);
+	}
 
-		return supersededMap;
+	/**
+	 * Adds the rows of the given connectors to the fingerprint, sorted by connector ID. A listing page only shows
+	 * the rows of its connectors, so a change to a connector that leaves its row unchanged does not render the
+	 * listing pages again.
+	 *
+	 * @param fingerprint The page fingerprint.
+	 * @param connectors  The summaries of the connectors listed by the page.
+	 * @return The given fingerprint.
+	 */
+	private PageManifest.Fingerprint addConnectors(
+		final PageManifest.Fingerprint fingerprint,
+		final Collection<ConnectorSummary> connectors
+	) {
+		connectors
+			.stream()
+			.sorted(Comparator.comparing(ConnectorSummary::getConnectorId))
+			.map(rowCache::get)
+			.forEach(row ->
+				fingerprint
+					.add(row.getConnectorId())
+					.add(row.getPagePath())
+					.add(row.getDisplayName())
+					.add(row.getPlatforms())
+					.add(row.getOperatingSystems())
+					.add(row.getTechnologies())
+					.add(row.getEnterpriseMark())
+			);
+		return fingerprint;
 	}
 
 	/**
-	 * Produces individual connector pages for the Maven report
+	 * Whether the given page must be rendered. In incremental mode, the page fingerprint is recorded and compared
+	 * with the fingerprint recorded by the previous build.
 	 *
-	 * @param connectorSubdirectory The subdirectory where individual connector pages are located.
-	 * @param supersededMap         A map representing the superseded relationships among connectors.
-	 * @throws MavenReportException If an error occurs while producing the connector pages.
+	 * @param directory   The directory of the page.
+	 * @param fileName    The file name of the page.
+	 * @param fingerprint Supplies the fingerprint of the page inputs, only called in incremental mode.
+	 * @return <code>true</code> if the page must be rendered, otherwise <code>false</code>.
 	 */
-	private void produceConnectorPages(final File connectorSubdirectory, final Map<String, List<String>> supersededMap)
-		throws MavenReportException {
-		for (Entry<String, JsonNode> connectorEntry : connectors.entrySet()) {
-			final String connectorId = connectorEntry.getKey();
-			// Create a new sink!
-			final Sink sink;
-			try {
-				sink = getSinkFactory().createSink(connectorSubdirectory, SinkHelper.buildPageFilename(connectorId));
-			} catch (IOException e) {
-				final String message = String.format(SINK_CREATION_ERROR_FORMAT, connectorId, connectorSubdirectory);
-				logger.error(message, e);
-				throw new MavenReportException(message, e);
-			}
+	private boolean needsRendering(final File directory, final String fileName, final Supplier<String> fingerprint) {
+		return pageManifest == null || pageManifest.needsRendering(new File(directory, fileName), fingerprint.get());
+	}
 
+	/**
+	 * Deletes the pages that are not produced anymore and saves the page manifest for the next build.
+	 *
+	 * @throws MavenReportException If the pages cannot be deleted or the manifest cannot be written.
+	 */
+	private void savePageManifest() throws MavenReportException {
+		try {
+			final int deletedPages = pageManifest.save();
+			logger.info(
+				String.format(
+					"Incremental build: %d pages rendered, %d pages up-to-date, %d pages deleted.",
+					pageManifest.getRenderedPages(),
+					pageManifest.getSkippedPages(),
+					deletedPages
+				)
+			);
+		} catch (IOException e) {
+			final String message = "Could not save the page manifest: " + incrementalManifest.getAbsolutePath();
+			logger.error(message, e);
+			throw new MavenReportException(message, e);
+		}
+	}
+
+	/**
+	 * Produces the page of the given connector for the Maven report
+	 *
+	 * @param connectorSummary        The summary of the connector.
+	 * @param connector               The resolved connector.
+	 * @param placeholderIndex        The index of the placeholders of the connector.
+	 * @param supersedingConnectorIds The identifiers of the connectors superseding this connector.
+	 * @throws MavenReportException If an error occurs while producing the connector page.
+	 */
+	private void produceConnectorPage(
+		final ConnectorSummary connectorSummary,
+		final JsonNode connector,
+		final PlaceholderIndex placeholderIndex,
+		final List<String> supersedingConnectorIds
+	) throws MavenReportException {
+		final String connectorId = connectorSummary.getConnectorId();
+		final String pageFilename = SinkHelper.buildPageFilename(connectorId);
+		if (
+			!needsRendering(
+				connectorSubdirectory,
+				pageFilename,
+				() ->
+					pageFingerprint(Constants.CONNECTOR_SUBDIRECTORY_NAME)
+						.add(connectorId)
+						.add(connectorFingerprints.get(connectorId))
+						.add(supersedingConnectorIds.isEmpty() ? null : supersedingConnectorIds)
+						.build()
+			)
+		) {
+			return;
+		}
+
+		// Create a new sink!
+		final Sink sink;
+		try {
+			sink = getSinkFactory().createSink(connectorSubdirectory, pageFilename);
+		} catch (IOException e) {
+			final String message = String.format(SINK_CREATION_ERROR_FORMAT, connectorId, connectorSubdirectory);
+			logger.error(message, e);
+			throw new MavenReportException(message, e);
+		}
+
+		pageRenderer.schedule(pageLogger ->
 			ConnectorPageProducer
 				.builder()
 				.withConnectorId(connectorId)
-				.withConnector(connectorEntry.getValue())
-				.withLogger(logger)
+				.withConnector(connector)
+				.withPlaceholderIndex(placeholderIndex)
+				.withLogger(pageLogger)
 				.build()
-				.produce(sink, supersededMap, enterpriseConnectorIds);
-		}
+				.produce(sink, connectorSummary, supersedingConnectorIds)
+		);
 	}
 
 	/**
 	 * Generates individual tag pages for the Maven report.
 	 *
 	 * @param tagSubdirectory The subdirectory where the individual tag pages will be created.
-	 * @param tags            A map with tags as keys and corresponding connector maps as values.
+	 * @param tags            A map with tags as keys and the summaries of the tagged connectors as values.
 	 * @throws MavenReportException If an error occurs during the creation of tag pages.
 	 */
-	private void produceTagPages(final File tagSubdirectory, final Map<String, Map<String, JsonNode>> tags)
+	private void produceTagPages(final File tagSubdirectory, final Map<String, List<ConnectorSummary>> tags)
 		throws MavenReportException {
-		for (Entry<String, Map<String, JsonNode>> tagEntry : tags.entrySet()) {
+		for (Entry<String, List<ConnectorSummary>> tagEntry : tags.entrySet()) {
 			final String tag = tagEntry.getKey();
-			final Map<String, JsonNode> connectors = tagEntry.getValue();
+			final List<ConnectorSummary> connectors = tagEntry.getValue();
+			final String pageFilename = SinkHelper.buildPageFilename(tag.toLowerCase().replace(' ', '-'));
+			if (
+				!needsRendering(
+					tagSubdirectory,
+					pageFilename,
+					() -> addConnectors(pageFingerprint(Constants.TAG_SUBDIRECTORY_NAME).add(tag), connectors).build()
+				)
+			) {
+				continue;
+			}
 
 			// Create a new sink!
 			final Sink sink;
 			try {
-				sink =
-					getSinkFactory()
-						.createSink(tagSubdirectory, SinkHelper.buildPageFilename(tag.toLowerCase().replace(' ', '-')));
+				sink = getSinkFactory().createSink(tagSubdirectory, pageFilename);
 			} catch (IOException e) {
 				final String message = String.format(SINK_CREATION_ERROR_FORMAT, tag, tagSubdirectory);
 				logger.error(message, e);
 				throw new MavenReportException(message, e);
 			}
 
-			new TagPageProducer(logger, tag)
-				.produce(sink, connectors, Constants.CONNECTOR_SUBDIRECTORY_NAME, enterpriseConnectorIds);
+			pageRenderer.schedule(pageLogger -> new TagPageProducer(pageLogger, tag).produce(sink, connectors, rowCache));
 		}
 	}
 
 	/**
-	 * Produces the full listing page for the Maven report. This page lists all the connectors.
-	 *
-	 * @param tags The set of tags to be listed in the full listing page.
+	 * Produces the full listing page for the Maven report. This page lists all the connectors and their tags.
 	 */
-	private void produceFullListingPage(final Set<String> tags) throws MavenReportException {
+	private void produceFullListingPage() throws MavenReportException {
+		if (
+			!needsRendering(
+				outputDirectory,
+				Constants.CONNECTORS_FULL_LISTING_FILE_NAME,
+				() ->
+					addConnectors(
+						pageFingerprint(Constants.CONNECTORS_FULL_LISTING_FILE_NAME).add(connectorCatalog.getTags().keySet()),
+						connectorCatalog.getSummaries().values()
+					)
+						.build()
+			)
+		) {
+			return;
+		}
+
 		// Create a new sink!
 		final Sink sink;
 		try {
@@ -246,8 +443,10 @@ public class ConnectorsDirectoryReport extends AbstractConnectorReport {
 			throw new MavenReportException(message, e);
 		}
 
-		new FullListingPageProducer(logger, Constants.CONNECTOR_SUBDIRECTORY_NAME, Constants.TAG_SUBDIRECTORY_NAME)
-			.produce(sink, connectors, enterpriseConnectorIds, tags);
+		pageRenderer.schedule(pageLogger ->
+			new FullListingPageProducer(pageLogger, Constants.CONNECTOR_SUBDIRECTORY_NAME, Constants.TAG_SUBDIRECTORY_NAME)
+				.produce(sink, connectorCatalog, rowCache)
+		);
 	}
 
 	@Override
@@ -265,36 +464,6 @@ public class ConnectorsDirectoryReport extends AbstractConnectorReport {
 		return Constants.CONNECTORS_DIRECTORY_OUTPUT_NAME;
 	}
 
-	/**
-	 * Constructs a map where each key is a tag name and its corresponding value is another map.
-	 * The inner map contains connector IDs as keys and their associated JsonNode objects as values.
-	 * <p>
-	 * This method flattens the tags from the connectors map to make it easier to generate tag pages.
-	 * </p>
-	 *
-	 * @return a map where keys are tag names and values are maps of connector IDs to JsonNode objects.
-	 */
-	private Map<String, Map<String, JsonNode>> determineTags() {
-		return connectors
-			.entrySet()
-			.stream()
-			.flatMap(connectorEntry -> {
-				final JsonNode connector = connectorEntry.getValue();
-				final ConnectorJsonNodeReader reader = new ConnectorJsonNodeReader(connector);
-				return reader
-					.getAndCompleteTags(enterpriseConnectorIds.contains(connectorEntry.getKey()))
-					.stream()
-					.filter(tag -> !tag.isBlank())
-					.map(tag -> new AbstractMap.SimpleEntry<>(tag, connectorEntry));
-			})
-			.collect(
-				Collectors.groupingBy(
-					Map.Entry::getKey,
-					Collectors.mapping(Map.Entry::getValue, Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
-				)
-			);
-	}
-
 	/**
 	 * Constructs a map where each key is the kebab case representation of a platform name
 	 * and its corresponding value is the {@link Platform} object.<br>
@@ -308,25 +477,31 @@ public class ConnectorsDirectoryReport extends AbstractConnectorReport {
 		final Optional<String> maybeDefaultIconOutputPath = retrieveDefaultPlatformIconOutputPath();
 
 		final Map<String, Platform> platforms = new HashMap<>();
-		for (Map.Entry<String, JsonNode> connectorEntry : connectors.entrySet()) {
-			final JsonNode connector = connectorEntry.getValue();
-			final ConnectorJsonNodeReader reader = new ConnectorJsonNodeReader(connector);
-			for (String platformName : reader.getPlatforms()) {
-				// Generate the platform ID
-				final String platformId = kebabCase(platformName);
-
-				// Merge or create
-				final Platform platform = platforms.computeIfAbsent(
-					platformId,
-					id ->
-						new Platform(id, platformName, retrievePlatformIconOutputPath(platformName, id, maybeDefaultIconOutputPath))
-				);
+		final Map<String, Platform> platformsByName = new HashMap<>();
+		for (String platformName : connectorCatalog.getPlatforms().keySet()) {
+			// Generate the platform ID
+			final String platformId = kebabCase(platformName);
+
+			// Merge or create
+			final Platform platform = platforms.computeIfAbsent(
+				platformId,
+				id ->
+					new Platform(id, platformName, retrievePlatformIconOutputPath(platformName, id, maybeDefaultIconOutputPath))
+			);
+			platformsByName.put(platformName, platform);
+		}
+
+		// Walk the connectors in display order, so that each platform lists its connectors sorted, even when it
+		// merges several platform names
+		for (ConnectorSummary connector : connectorCatalog.getSummariesInDisplayOrder()) {
+			for (String platformName : connector.getPlatforms()) {
+				final Platform platform = platformsByName.get(platformName);
 
 				// Add the connector
-				platform.addConnector(connectorEntry.getKey(), connector);
+				platform.addConnector(connector);
 
 				// Add the platform technology types
-				platform.addTechnologies(reader.getTechnologies());
+				platform.addTechnologies(connector.getTechnologies());
 			}
 		}
 
@@ -405,18 +580,39 @@ public class ConnectorsDirectoryReport extends AbstractConnectorReport {
 	private void produceSpecifcPlatformPages(final File platformSubdirectory, final List<Platform> platforms)
 		throws MavenReportException {
 		for (Platform platform : platforms) {
+			final String pageFilename = SinkHelper.buildPageFilename(platform.getId());
+			if (
+				!needsRendering(
+					platformSubdirectory,
+					pageFilename,
+					() ->
+						addConnectors(
+							pageFingerprint(Constants.PLATFORM_SUBDIRECTORY_NAME)
+								.add(platform.getId())
+								.add(platform.getDisplayName())
+								.add(platform.getIconPath())
+								.add(platform.getTechnologies().stream().map(TechnologyType::getDisplayName).toList()),
+							platform.getConnectors().values()
+						)
+							.build()
+				)
+			) {
+				continue;
+			}
+
 			// Create a new sink!
 			final Sink sink;
 			try {
-				sink = getSinkFactory().createSink(platformSubdirectory, SinkHelper.buildPageFilename(platform.getId()));
+				sink = getSinkFactory().createSink(platformSubdirectory, pageFilename);
 			} catch (IOException e) {
 				final String message = String.format(SINK_CREATION_ERROR_FORMAT, platform.getId(), platformSubdirectory);
 				logger.error(message, e);
 				throw new MavenReportException(message, e);
 			}
 
-			new SpecificPlatformPageProducer(logger)
-				.produce(sink, platform, Constants.CONNECTOR_SUBDIRECTORY_NAME, enterpriseConnectorIds);
+			pageRenderer.schedule(pageLogger ->
+				new SpecificPlatformPageProducer(pageLogger).produce(sink, platform, rowCache)
+			);
 		}
 	}
 
@@ -22,6 +22,7 @@ package org.sentrysoftware.maven.metricshub.connector;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -37,6 +38,11 @@ public class Constants {
 	 */
 	public static final ObjectMapper YAML_OBJECT_MAPPER = JsonMapper.builder(new YAMLFactory()).build();
 
+	/**
+	 * ObjectMapper provides functionality for reading and writing the resolved connectors cached on disk (Smile binary format)
+	 */
+	public static final ObjectMapper SMILE_OBJECT_MAPPER = SmileMapper.builder().build();
+
 	/**
 	 * Name of the subdirectory that will contain the pages for each connector
 	 */
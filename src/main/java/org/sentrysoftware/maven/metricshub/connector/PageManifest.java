@@ -0,0 +1,266 @@
+package org.sentrysoftware.maven.metricshub.connector;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import static org.sentrysoftware.maven.metricshub.connector.Constants.SMILE_OBJECT_MAPPER;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+
+/**
+ * Records the fingerprint of the inputs of each page produced by the connectors directory report, so that an
+ * incremental build only renders again the pages whose inputs changed since the previous build.
+ * <p>
+ * The fingerprint of a page covers everything the page producer reads: the resolved connector (i.e. the connector
+ * file and its extended connectors), its enterprise flag and its superseding connectors for a connector page; the
+ * table rows of the listed connectors and the tags or the platform for a listing page. A page is up-to-date when its fingerprint is unchanged and its file still exists in the output directory. The
+ * pages recorded by the previous build but not produced anymore are deleted.
+ * </p>
+ */
+public class PageManifest {
+
+	private static final ObjectMapper JSON_OBJECT_MAPPER = JsonMapper
+		.builder()
+		.enable(SerializationFeature.INDENT_OUTPUT)
+		.build();
+
+	private static final String OUTPUT_DIRECTORY_KEY = "outputDirectory";
+
+	private static final String PAGES_KEY = "pages";
+
+	private final Path manifestFile;
+
+	private final File outputDirectory;
+
+	private final Map<String, String> previousPages;
+
+	private final Map<String, String> currentPages = new TreeMap<>();
+
+	@Getter
+	private int renderedPages;
+
+	@Getter
+	private int skippedPages;
+
+	/**
+	 * Constructs a manifest for the given output directory.
+	 *
+	 * @param manifestFile    The file storing the fingerprints between builds.
+	 * @param outputDirectory The directory where the report pages are written.
+	 * @param previousPages   The page fingerprints recorded by the previous build.
+	 */
+	private PageManifest(final Path manifestFile, final File outputDirectory, final Map<String, String> previousPages) {
+		this.manifestFile = manifestFile;
+		this.outputDirectory = outputDirectory;
+		this.previousPages = previousPages;
+	}
+
+	/**
+	 * Load the manifest recorded by the previous build. An unreadable manifest, or a manifest recorded for another
+	 * output directory, is ignored and all the pages are rendered.
+	 *
+	 * @param manifestFile    The file storing the fingerprints between builds.
+	 * @param outputDirectory The directory where the report pages are written.
+	 * @return A new {@link PageManifest}.
+	 */
+	public static PageManifest load(final Path manifestFile, final File outputDirectory) {
+		Map<String, String> previousPages = Map.of();
+		if (Files.isRegularFile(manifestFile)) {
+			try {
+				final Map<String, Object> manifest = JSON_OBJECT_MAPPER.readValue(
+					manifestFile.toFile(),
+					new TypeReference<Map<String, Object>>() {}
+				);
+				if (outputDirectory.getAbsolutePath().equals(manifest.get(OUTPUT_DIRECTORY_KEY))) {
+					previousPages = JSON_OBJECT_MAPPER.convertValue(
+						manifest.get(PAGES_KEY),
+						new TypeReference<Map<String, String>>() {}
+					);
+				}
+			} catch (IOException | IllegalArgumentException e) {
+				// Render everything, the manifest is written again at the end of the build
+			}
+		}
+		return new PageManifest(manifestFile, outputDirectory, previousPages != null ? previousPages : Map.of());
+	}
+
+	/**
+	 * Record the fingerprint of the given page and tell whether the page must be rendered.
+	 *
+	 * @param page        The page file, located under the output directory.
+	 * @param fingerprint The fingerprint of the page inputs.
+	 * @return <code>true</code> if the page must be rendered, <code>false</code> if the existing page is up-to-date.
+	 */
+	public boolean needsRendering(final File page, final String fingerprint) {
+		final String pageKey = getPageKey(page);
+		currentPages.put(pageKey, fingerprint);
+
+		if (fingerprint.equals(previousPages.get(pageKey)) && page.isFile()) {
+			skippedPages++;
+			return false;
+		}
+
+		renderedPages++;
+		return true;
+	}
+
+	/**
+	 * Delete the pages produced by the previous build that have not been recorded by this build, then write the
+	 * manifest for the next build.
+	 *
+	 * @return The number of deleted pages.
+	 * @throws IOException If a page cannot be deleted or if the manifest cannot be written.
+	 */
+	public int save() throws IOException {
+		int deletedPages = 0;
+		for (String pageKey : previousPages.keySet()) {
+			if (!currentPages.containsKey(pageKey) && Files.deleteIfExists(outputDirectory.toPath().resolve(pageKey))) {
+				deletedPages++;
+			}
+		}
+
+		final Map<String, Object> manifest = new TreeMap<>();
+		manifest.put(OUTPUT_DIRECTORY_KEY, outputDirectory.getAbsolutePath());
+		manifest.put(PAGES_KEY, currentPages);
+
+		Files.createDirectories(manifestFile.toAbsolutePath().getParent());
+		JSON_OBJECT_MAPPER.writeValue(manifestFile.toFile(), manifest);
+
+		return deletedPages;
+	}
+
+	/**
+	 * Get the key of the given page in the manifest, i.e. its path relative to the output directory.
+	 *
+	 * @param page The page file.
+	 * @return The relative path of the page, with forward slashes.
+	 */
+	private String getPageKey(final File page) {
+		return outputDirectory.toPath().relativize(page.toPath()).toString().replace('\\', '/');
+	}
+
+	/**
+	 * Creates a new fingerprint builder.
+	 *
+	 * @return A new {@link Fingerprint}.
+	 */
+	public static Fingerprint fingerprint() {
+		return new Fingerprint();
+	}
+
+	/**
+	 * Computes the SHA-256 fingerprint of the inputs of a page.
+	 */
+	public static class Fingerprint {
+
+		private final MessageDigest digest;
+
+		/**
+		 * Constructs an empty fingerprint.
+		 */
+		private Fingerprint() {
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				// Every Java platform is required to support SHA-256
+				throw new IllegalStateException(e);
+			}
+		}
+
+		/**
+		 * Add the given value to the fingerprint.
+		 *
+		 * @param value A string value, <code>null</code> is allowed.
+		 * @return This fingerprint.
+		 */
+		public Fingerprint add(final String value) {
+			digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			return this;
+		}
+
+		/**
+		 * Add the given values to the fingerprint, in their iteration order.
+		 *
+		 * @param values String values, <code>null</code> is allowed.
+		 * @return This fingerprint.
+		 */
+		public Fingerprint add(final Collection<String> values) {
+			if (values == null) {
+				return add((String) null);
+			}
+			add(String.valueOf(values.size()));
+			values.forEach(this::add);
+			return this;
+		}
+
+		/**
+		 * Add the given boolean value to the fingerprint.
+		 *
+		 * @param value A boolean value.
+		 * @return This fingerprint.
+		 */
+		public Fingerprint add(final boolean value) {
+			return add(String.valueOf(value));
+		}
+
+		/**
+		 * Add the given tree to the fingerprint.
+		 *
+		 * @param node The {@link JsonNode} to add, serialized in the Smile binary format.
+		 * @return This fingerprint.
+		 */
+		public Fingerprint add(final JsonNode node) {
+			try {
+				digest.update(SMILE_OBJECT_MAPPER.writeValueAsBytes(node));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			digest.update((byte) 0);
+			return this;
+		}
+
+		/**
+		 * Get the fingerprint value. This fingerprint must not be used anymore afterward.
+		 *
+		 * @return The hexadecimal SHA-256 digest of all the added values.
+		 */
+		public String build() {
+			return HexFormat.of().formatHex(digest.digest());
+		}
+	}
+}
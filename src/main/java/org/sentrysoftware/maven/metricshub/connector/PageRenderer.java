@@ -0,0 +1,194 @@
+package org.sentrysoftware.maven.metricshub.connector;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.reporting.MavenReportException;
+
+/**
+ * Renders the pages of a report, sequentially or concurrently, as soon as they are scheduled.
+ * <p>
+ * Each page is scheduled with its own sink, created beforehand by the caller (the sink factory of the site plugin
+ * is not thread-safe). In concurrent mode, at most {@link #QUEUE_FACTOR} pages per thread are waiting or being
+ * rendered, and scheduling a page blocks until a slot is released, so the caller cannot get too far ahead of the
+ * rendering threads. The messages logged while rendering a page are buffered and written to the Maven log by
+ * {@link #finish()}, in the scheduling order, so the log output does not depend on the number of threads. Since
+ * each page writes to its own sink, the produced pages are identical in both modes.
+ * </p>
+ */
+public class PageRenderer implements AutoCloseable {
+
+	/**
+	 * Number of pages per thread that may be waiting or being rendered.
+	 */
+	public static final int QUEUE_FACTOR = 2;
+
+	/**
+	 * Renders a page into its sink.
+	 */
+	@FunctionalInterface
+	public interface Page {
+		/**
+		 * Render the page.
+		 *
+		 * @param pageLogger The logger to use while rendering the page.
+		 */
+		void render(Log pageLogger);
+	}
+
+	private final Log logger;
+
+	/**
+	 * The rendering threads, <code>null</code> when the pages are rendered by the calling thread
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * The slots of the pages waiting or being rendered by the {@link #executor}
+	 */
+	private final Semaphore queueSlots;
+
+	/**
+	 * The scheduled pages, in the scheduling order
+	 */
+	private final List<Future<BufferedLog>> scheduledPages = new ArrayList<>();
+
+	/**
+	 * Constructs a renderer.
+	 *
+	 * @param logger      The Maven log.
+	 * @param parallelism The number of rendering threads, 1 renders the pages sequentially in the calling thread.
+	 */
+	public PageRenderer(final Log logger, final int parallelism) {
+		this.logger = logger;
+		if (parallelism > 1) {
+			executor = new ForkJoinPool(parallelism);
+			queueSlots = new Semaphore(parallelism * QUEUE_FACTOR);
+		} else {
+			executor = null;
+			queueSlots = null;
+		}
+	}
+
+	/**
+	 * Schedule the rendering of a page. In sequential mode, the page is rendered right away, and an error raised by
+	 * the page is rethrown as is, after the messages of the pages scheduled before it, so the build fails before the
+	 * next pages are produced.
+	 *
+	 * @param page The page renderer.
+	 * @throws MavenReportException If the scheduling is interrupted while waiting for a free slot.
+	 */
+	public void schedule(final Page page) throws MavenReportException {
+		if (executor == null) {
+			final BufferedLog pageLogger;
+			try {
+				pageLogger = render(page);
+			} catch (RuntimeException | Error e) {
+				finish();
+				throw e;
+			}
+			scheduledPages.add(CompletableFuture.completedFuture(pageLogger));
+			return;
+		}
+
+		// A FutureTask drops the page once it is rendered, only the buffered messages are kept until finish()
+		final FutureTask<BufferedLog> task = new FutureTask<>(() -> render(page));
+
+		try {
+			queueSlots.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MavenReportException("Interrupted while scheduling the pages");
+		}
+
+		scheduledPages.add(task);
+		executor.execute(() -> {
+			try {
+				task.run();
+			} finally {
+				queueSlots.release();
+			}
+		});
+	}
+
+	/**
+	 * Render the given page with a buffered logger.
+	 *
+	 * @param page The page renderer.
+	 * @return The messages logged while rendering the page.
+	 */
+	private BufferedLog render(final Page page) {
+		final BufferedLog pageLogger = new BufferedLog(logger);
+		page.render(pageLogger);
+		return pageLogger;
+	}
+
+	/**
+	 * Wait until all the scheduled pages are rendered, write their buffered messages in the scheduling order, then
+	 * clear the schedule. An error raised by a page is rethrown as is, after the messages of the pages scheduled
+	 * before it.
+	 *
+	 * @return The number of rendered pages.
+	 * @throws MavenReportException If the rendering is interrupted.
+	 */
+	public int finish() throws MavenReportException {
+		final int renderedPages = scheduledPages.size();
+		try {
+			for (Future<BufferedLog> scheduledPage : scheduledPages) {
+				scheduledPage.get().flush();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MavenReportException("Interrupted while rendering the pages");
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new MavenReportException(cause.getMessage(), (Exception) cause);
+		} finally {
+			scheduledPages.clear();
+		}
+		return renderedPages;
+	}
+
+	/**
+	 * Stop the rendering threads. The pages that are not rendered yet are abandoned.
+	 */
+	@Override
+	public void close() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+}
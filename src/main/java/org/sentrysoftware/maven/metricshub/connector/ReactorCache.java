@@ -0,0 +1,306 @@
+package org.sentrysoftware.maven.metricshub.connector;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import org.sentrysoftware.maven.metricshub.connector.parser.ConnectorArtifactLibrary;
+import org.sentrysoftware.maven.metricshub.connector.parser.ConnectorArtifactLibrary.ArtifactSource;
+import org.sentrysoftware.maven.metricshub.connector.parser.ConnectorArtifactLibrary.LibraryLoader;
+import org.sentrysoftware.maven.metricshub.connector.parser.ExtendsGraph;
+import org.sentrysoftware.maven.metricshub.connector.parser.HeaderCache;
+import org.sentrysoftware.maven.metricshub.connector.parser.LibraryInventory;
+import org.sentrysoftware.maven.metricshub.connector.parser.ResolvedConnectorCache;
+import org.sentrysoftware.maven.metricshub.connector.parser.SymbolTable;
+
+/**
+ * The caches shared by the connector reports of all the modules of a build running in the same JVM.
+ * <p>
+ * The modules of a multi-module build often extend the same headers, and the aggregate report reads the libraries
+ * of all the modules again. The reports of the modules therefore resolve the extended connectors through the header
+ * cache of this class, keyed by the normalized path and the attributes of the header files, and the libraries of
+ * the modules and of the connector artifacts are parsed once per version: a module library is identified by the
+ * fingerprint of its files and by the attributes of the files it extends outside of its directory, an artifact by
+ * the key of its entry in the connector cache. Only the last version of each library is retained.
+ * </p>
+ * <p>
+ * The modules may be built concurrently (<code>mvn -T</code>): the caches are thread-safe, and a library requested
+ * by several modules at the same time is parsed by the first one while the others wait for it. The instance is held
+ * by a soft reference, so that a long-lived JVM can reclaim it under memory pressure.
+ * </p>
+ */
+public class ReactorCache {
+
+	private static SoftReference<ReactorCache> instance = new SoftReference<>(null);
+
+	/**
+	 * A loaded library, with the attributes of the files it extends outside of its directory when it was loaded.
+	 *
+	 * @param library              The library.
+	 * @param externalFileVersions The versions of the {@link ConnectorArtifactLibrary#getExternalFiles() external
+	 *                             files} of the library.
+	 */
+	private record LoadedLibrary(ConnectorArtifactLibrary library, List<String> externalFileVersions) {}
+
+	/**
+	 * A version of a library, loaded or being loaded.
+	 *
+	 * @param version The version of the library files.
+	 * @param future  The loading of the library.
+	 */
+	private record LibraryEntry(String version, Future<LoadedLibrary> future) {}
+
+	/**
+	 * The table interning the connectors of the modules
+	 */
+	private final SymbolTable symbolTable = new SymbolTable();
+
+	/**
+	 * The extended connectors, interned with the {@link #symbolTable}
+	 */
+	private final HeaderCache headerCache = new HeaderCache(symbolTable);
+
+	/**
+	 * The last version of each library, by library identifier
+	 */
+	private final Map<String, LibraryEntry> libraries = new ConcurrentHashMap<>();
+
+	/**
+	 * Gets the cache shared by the reports of this JVM, created on the first call or after it has been reclaimed.
+	 *
+	 * @return The shared {@link ReactorCache}.
+	 */
+	public static synchronized ReactorCache getInstance() {
+		ReactorCache reactorCache = instance.get();
+		if (reactorCache == null) {
+			reactorCache = new ReactorCache();
+			instance = new SoftReference<>(reactorCache);
+		}
+		return reactorCache;
+	}
+
+	/**
+	 * Gets the symbol table shared by the modules.
+	 *
+	 * @return The shared {@link SymbolTable}.
+	 */
+	public SymbolTable getSymbolTable() {
+		return symbolTable;
+	}
+
+	/**
+	 * Gets the header cache shared by the modules and by the libraries parsed by this cache, interned with the
+	 * shared {@link #getSymbolTable() symbol table}.
+	 *
+	 * @return The shared {@link HeaderCache}.
+	 */
+	public HeaderCache getHeaderCache() {
+		return headerCache;
+	}
+
+	/**
+	 * Get the library of the given module, parsed once for each version of its files.
+	 *
+	 * @param coordinates  The coordinates of the module.
+	 * @param inventory    The inventory of the connector directory of the module.
+	 * @param cache        The persistent cache of the resolved connectors used to parse the library,
+	 *                     <code>null</code> if disabled.
+	 * @param parallelism  The number of threads parsing the library.
+	 * @param overlayMerge Whether the extended connectors are merged as overlays of the shared headers.
+	 * @param reuses       The counter incremented when the library is served by this cache.
+	 * @return The library of the module.
+	 * @throws IOException If a connector cannot be parsed.
+	 */
+	public ConnectorArtifactLibrary getModuleLibrary(
+		final String coordinates,
+		final LibraryInventory inventory,
+		final ResolvedConnectorCache cache,
+		final int parallelism,
+		final boolean overlayMerge,
+		final LongAdder reuses
+	) throws IOException {
+		return getLibrary(
+			String.join("\0", coordinates, ExtendsGraph.normalize(inventory.getSourceDirectory()).toString()),
+			inventory.fingerprint(),
+			() -> ConnectorArtifactLibrary.parse(coordinates, inventory, headerCache, cache, parallelism, overlayMerge),
+			reuses
+		);
+	}
+
+	/**
+	 * Get the library of the given connector artifact, loaded once for each version of the artifact file.
+	 *
+	 * @param artifact The connector artifact.
+	 * @param cache    The persistent cache of the artifact libraries, <code>null</code> if disabled.
+	 * @param reuses   The counter incremented when the library is served by this cache.
+	 * @return The library of the artifact.
+	 * @throws IOException If the artifact cannot be read or parsed.
+	 */
+	public ConnectorArtifactLibrary getArtifactLibrary(
+		final ArtifactSource artifact,
+		final ResolvedConnectorCache cache,
+		final LongAdder reuses
+	) throws IOException {
+		if (Files.isDirectory(artifact.file())) {
+			// An artifact of the build that is not packaged yet, e.g. target/classes
+			final LibraryInventory inventory = LibraryInventory.scan(artifact.file().resolve(artifact.libraryDirectory()));
+			return getModuleLibrary(artifact.coordinates(), inventory, null, 1, false, reuses);
+		}
+
+		final String version;
+		if (cache != null) {
+			// The entry of the persistent cache is kept, even when the library is served from memory
+			version = cache.computeArtifactKey(artifact.coordinates(), artifact.libraryDirectory(), artifact.file());
+			cache.retain(version);
+		} else {
+			final BasicFileAttributes attributes = Files.readAttributes(artifact.file(), BasicFileAttributes.class);
+			version =
+				String.join(
+					"\0",
+					ExtendsGraph.normalize(artifact.file()).toString(),
+					String.valueOf(attributes.size()),
+					attributes.lastModifiedTime().toString()
+				);
+		}
+		return getLibrary(
+			String.join("\0", artifact.coordinates(), artifact.libraryDirectory()),
+			version,
+			() -> ConnectorArtifactLibrary.load(artifact, cache),
+			reuses
+		);
+	}
+
+	/**
+	 * Get the given version of the library identified by the given identifier, loading it with the given loader
+	 * unless it is already loaded or being loaded by another thread. A library whose external files have changed
+	 * since it was loaded is loaded again. A new version replaces the previous version of the library, and a failed
+	 * loading is not cached.
+	 *
+	 * @param libraryId The identifier of the library, independent of its version.
+	 * @param version   The version of the library files.
+	 * @param loader    The loader of the library.
+	 * @param reuses    The counter incremented when the library is served by this cache.
+	 * @return The library.
+	 * @throws IOException If the library cannot be loaded.
+	 */
+	private ConnectorArtifactLibrary getLibrary(
+		final String libraryId,
+		final String version,
+		final LibraryLoader loader,
+		final LongAdder reuses
+	) throws IOException {
+		while (true) {
+			final LibraryEntry entry = libraries.get(libraryId);
+			if (entry != null && entry.version().equals(version)) {
+				final LoadedLibrary loadedLibrary = await(libraryId, entry);
+				if (loadedLibrary.externalFileVersions().equals(getVersions(loadedLibrary.library().getExternalFiles()))) {
+					reuses.increment();
+					return loadedLibrary.library();
+				}
+
+				// An extended file located outside of the library has changed
+				libraries.remove(libraryId, entry);
+				continue;
+			}
+
+			final FutureTask<LoadedLibrary> task = new FutureTask<>(() -> {
+				final ConnectorArtifactLibrary library = loader.load();
+				return new LoadedLibrary(library, getVersions(library.getExternalFiles()));
+			});
+			final LibraryEntry newEntry = new LibraryEntry(version, task);
+			final boolean added = entry == null
+				? libraries.putIfAbsent(libraryId, newEntry) == null
+				: libraries.replace(libraryId, entry, newEntry);
+			if (added) {
+				task.run();
+				return await(libraryId, newEntry).library();
+			}
+			// Another thread has updated the library in the meantime
+		}
+	}
+
+	/**
+	 * Wait for the loading of the given library entry. A failed entry is removed.
+	 *
+	 * @param libraryId The identifier of the library.
+	 * @param entry     The entry of the library.
+	 * @return The loaded library.
+	 * @throws IOException If the library cannot be loaded.
+	 */
+	private LoadedLibrary await(final String libraryId, final LibraryEntry entry) throws IOException {
+		try {
+			return entry.future().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a connector library");
+		} catch (ExecutionException e) {
+			libraries.remove(libraryId, entry);
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException) {
+				throw ioException;
+			}
+			throw new IOException(cause.getMessage(), cause);
+		}
+	}
+
+	/**
+	 * Get the version of each given file: its size and its last modification time.
+	 *
+	 * @param files The files.
+	 * @return The versions of the files, in the same order. A missing file has an empty version.
+	 * @throws IOException If the attributes of a file cannot be read.
+	 */
+	private static List<String> getVersions(final Collection<Path> files) throws IOException {
+		final List<String> versions = new ArrayList<>(files.size());
+		for (Path file : files) {
+			try {
+				final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+				versions.add(attributes.size() + ":" + attributes.lastModifiedTime());
+			} catch (NoSuchFileException e) {
+				versions.add("");
+			}
+		}
+		return versions;
+	}
+
+	/**
+	 * Gets the number of libraries retained by this cache, one version per library.
+	 *
+	 * @return The number of libraries.
+	 */
+	public int size() {
+		return libraries.size();
+	}
+}
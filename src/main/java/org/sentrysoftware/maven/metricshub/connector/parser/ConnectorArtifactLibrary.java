@@ -0,0 +1,455 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import static org.sentrysoftware.maven.metricshub.connector.Constants.SMILE_OBJECT_MAPPER;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import lombok.Getter;
+
+/**
+ * The connector library of a Maven artifact, a JAR or ZIP archive read in place, or the connector directory of a
+ * module of the build.
+ * <p>
+ * The library is parsed with its own enterprise connectors manifest, so each connector is complete: its detection
+ * tags include <em>enterprise</em> or <em>community</em> as defined by the artifact. The resolved connectors are kept
+ * in the Smile binary format and decoded each time they are read, so the caller receives a tree it can project and
+ * share, and the library only retains a fraction of the memory of the trees.
+ * </p>
+ * <p>
+ * When a {@link ResolvedConnectorCache} is given, the library is stored as a single entry whose key is computed from
+ * the coordinates and the content of the artifact file. An unchanged artifact is read back from this entry without
+ * opening the archive.
+ * </p>
+ * Once loaded, a library is read-only and can be read concurrently.
+ */
+public class ConnectorArtifactLibrary {
+
+	/**
+	 * A connector artifact to load.
+	 *
+	 * @param coordinates      The coordinates of the artifact, e.g. <code>groupId:artifactId:jar:version</code>.
+	 * @param file             The artifact file, a JAR or ZIP archive, or the directory of the connector library.
+	 * @param libraryDirectory The directory of the connector library within the archive, or relative to the
+	 *                         directory.
+	 */
+	public record ArtifactSource(String coordinates, Path file, String libraryDirectory) {}
+
+	/**
+	 * Loads a library.
+	 */
+	@FunctionalInterface
+	public interface LibraryLoader {
+		/**
+		 * Load the library.
+		 *
+		 * @return The loaded library.
+		 * @throws IOException If the library cannot be read or parsed.
+		 */
+		ConnectorArtifactLibrary load() throws IOException;
+	}
+
+	/**
+	 * The coordinates of the artifact
+	 */
+	@Getter
+	private final String coordinates;
+
+	/**
+	 * The enterprise connectors listed by the manifest of the artifact
+	 */
+	@Getter
+	private final Set<String> enterpriseConnectorIds;
+
+	/**
+	 * The connectors listed in the <em>supersedes</em> sections of the connectors of the artifact
+	 */
+	@Getter
+	private final Set<String> supersededConnectorIds;
+
+	/**
+	 * Whether the library has been read from the cache instead of being parsed
+	 */
+	@Getter
+	private final boolean cached;
+
+	/**
+	 * The files located outside of the library directory and extended by its connectors, empty for an archive or
+	 * a library read from the cache
+	 */
+	@Getter
+	private final Set<Path> externalFiles;
+
+	/**
+	 * The resolved connectors with the pointers of their placeholders, in the Smile binary format, in the order they
+	 * have been handed over by the parser
+	 */
+	private final Map<String, byte[]> connectors;
+
+	/**
+	 * Constructs a loaded library.
+	 *
+	 * @param coordinates            The coordinates of the artifact.
+	 * @param enterpriseConnectorIds The enterprise connectors of the artifact.
+	 * @param supersededConnectorIds The connectors superseded by the connectors of the artifact.
+	 * @param externalFiles          The files extended by the connectors outside of the library directory.
+	 * @param connectors             The encoded connectors, in the hand-over order.
+	 * @param cached                 Whether the library has been read from the cache.
+	 */
+	private ConnectorArtifactLibrary(
+		final String coordinates,
+		final Set<String> enterpriseConnectorIds,
+		final Set<String> supersededConnectorIds,
+		final Set<Path> externalFiles,
+		final Map<String, byte[]> connectors,
+		final boolean cached
+	) {
+		this.coordinates = coordinates;
+		this.enterpriseConnectorIds = Collections.unmodifiableSet(enterpriseConnectorIds);
+		this.supersededConnectorIds = Collections.unmodifiableSet(supersededConnectorIds);
+		this.externalFiles = Collections.unmodifiableSet(externalFiles);
+		this.connectors = Collections.unmodifiableMap(connectors);
+		this.cached = cached;
+	}
+
+	/**
+	 * Run the given loaders using a {@link ForkJoinPool} of the given number of threads.
+	 *
+	 * @param loaders     The loaders of the libraries.
+	 * @param parallelism The number of threads running the loaders.
+	 * @return The libraries, in the order of the given loaders.
+	 * @throws IOException If a library cannot be read or parsed.
+	 */
+	public static List<ConnectorArtifactLibrary> loadAll(final List<LibraryLoader> loaders, final int parallelism)
+		throws IOException {
+		final List<ConnectorArtifactLibrary> libraries = new ArrayList<>(loaders.size());
+		if (parallelism <= 1 || loaders.size() <= 1) {
+			for (LibraryLoader loader : loaders) {
+				libraries.add(loader.load());
+			}
+			return libraries;
+		}
+
+		final ExecutorService executor = new ForkJoinPool(Math.min(parallelism, loaders.size()));
+		try {
+			final List<Future<ConnectorArtifactLibrary>> futures = new ArrayList<>(loaders.size());
+			for (LibraryLoader loader : loaders) {
+				futures.add(executor.submit(loader::load));
+			}
+			for (Future<ConnectorArtifactLibrary> future : futures) {
+				libraries.add(future.get());
+			}
+			return libraries;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while loading the connector libraries");
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException) {
+				throw ioException;
+			}
+			throw new IOException(cause.getMessage(), cause);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Load the given artifact from the cache, or parse it and store it in the cache.
+	 *
+	 * @param artifact The artifact to load.
+	 * @param cache    The cache of the artifact libraries, <code>null</code> to always parse the artifact. A
+	 *                 directory is always parsed.
+	 * @return The library of the artifact.
+	 * @throws IOException If the artifact cannot be read or parsed, or if it cannot be cached.
+	 */
+	public static ConnectorArtifactLibrary load(final ArtifactSource artifact, final ResolvedConnectorCache cache)
+		throws IOException {
+		if (Files.isDirectory(artifact.file())) {
+			final Path libraryDirectory = artifact.file().resolve(artifact.libraryDirectory());
+			return parse(artifact.coordinates(), LibraryInventory.scan(libraryDirectory), new HeaderCache());
+		}
+
+		final String key = cache != null
+			? cache.computeArtifactKey(artifact.coordinates(), artifact.libraryDirectory(), artifact.file())
+			: null;
+		if (key != null) {
+			final JsonNode entry = cache.get(key);
+			if (entry != null) {
+				return fromEntry(artifact.coordinates(), entry);
+			}
+		}
+
+		final ConnectorArtifactLibrary library = parse(artifact);
+		if (key != null) {
+			cache.put(key, library.toEntry());
+		}
+		return library;
+	}
+
+	/**
+	 * Parse the connector library of the given artifact archive.
+	 *
+	 * @param artifact The artifact to parse.
+	 * @return The library of the artifact.
+	 * @throws IOException If the artifact cannot be opened or a connector cannot be parsed.
+	 */
+	private static ConnectorArtifactLibrary parse(final ArtifactSource artifact) throws IOException {
+		try (FileSystem archiveFileSystem = FileSystems.newFileSystem(artifact.file())) {
+			final Path libraryDirectory = archiveFileSystem.getPath(artifact.libraryDirectory());
+			if (!Files.isDirectory(libraryDirectory)) {
+				throw new IOException(
+					String.format(
+						"'%s' is not a directory of the artifact %s",
+						artifact.libraryDirectory(),
+						artifact.coordinates()
+					)
+				);
+			}
+
+			return parse(artifact.coordinates(), LibraryInventory.scan(libraryDirectory), new HeaderCache());
+		}
+	}
+
+	/**
+	 * Parse the connector library recorded in the given inventory, with its own enterprise connectors manifest.
+	 *
+	 * @param coordinates The coordinates of the artifact defining the library.
+	 * @param inventory   The inventory of the library.
+	 * @param headerCache The cache of the extended connectors, possibly shared with other libraries.
+	 * @return The parsed library.
+	 * @throws IOException If a connector cannot be parsed.
+	 */
+	public static ConnectorArtifactLibrary parse(
+		final String coordinates,
+		final LibraryInventory inventory,
+		final HeaderCache headerCache
+	) throws IOException {
+		return parse(coordinates, inventory, headerCache, null);
+	}
+
+	/**
+	 * Parse the connector library recorded in the given inventory, with its own enterprise connectors manifest,
+	 * reading the unchanged connectors from the given persistent cache.
+	 *
+	 * @param coordinates            The coordinates of the artifact defining the library.
+	 * @param inventory              The inventory of the library.
+	 * @param headerCache            The cache of the extended connectors, possibly shared with other libraries.
+	 * @param resolvedConnectorCache The persistent cache of the resolved connectors, <code>null</code> if disabled.
+	 * @return The parsed library.
+	 * @throws IOException If a connector cannot be parsed.
+	 */
+	public static ConnectorArtifactLibrary parse(
+		final String coordinates,
+		final LibraryInventory inventory,
+		final HeaderCache headerCache,
+		final ResolvedConnectorCache resolvedConnectorCache
+	) throws IOException {
+		return parse(coordinates, inventory, headerCache, resolvedConnectorCache, 1, false);
+	}
+
+	/**
+	 * Parse the connector library recorded in the given inventory, with its own enterprise connectors manifest and
+	 * the given parser options, reading the unchanged connectors from the given persistent cache.
+	 *
+	 * @param coordinates            The coordinates of the artifact defining the library.
+	 * @param inventory              The inventory of the library.
+	 * @param headerCache            The cache of the extended connectors, possibly shared with other libraries.
+	 * @param resolvedConnectorCache The persistent cache of the resolved connectors, <code>null</code> if disabled.
+	 * @param parallelism            The number of threads parsing the connectors.
+	 * @param overlayMerge           Whether the extended connectors are merged as overlays of the shared headers.
+	 * @return The parsed library.
+	 * @throws IOException If a connector cannot be parsed.
+	 */
+	public static ConnectorArtifactLibrary parse(
+		final String coordinates,
+		final LibraryInventory inventory,
+		final HeaderCache headerCache,
+		final ResolvedConnectorCache resolvedConnectorCache,
+		final int parallelism,
+		final boolean overlayMerge
+	) throws IOException {
+		final Set<String> enterpriseConnectorIds = new HashSet<>(inventory.readEnterpriseConnectorIds());
+		final Set<String> supersededConnectorIds = new HashSet<>();
+		final Map<String, byte[]> connectors = new LinkedHashMap<>();
+		final ConnectorLibraryParser connectorLibraryParser = ConnectorLibraryParser
+			.builder()
+			.withEnterpriseConnectorIds(enterpriseConnectorIds)
+			.withHeaderCache(headerCache)
+			.withResolvedConnectorCache(resolvedConnectorCache)
+			.withParallelism(parallelism)
+			.withOverlayMerge(overlayMerge)
+			.build();
+		connectorLibraryParser.parse(
+			inventory,
+			(connectorId, connector, placeholderIndex) -> {
+				connectors.put(
+					connectorId,
+					SMILE_OBJECT_MAPPER.writeValueAsBytes(ConnectorLibraryParser.toEntry(connector, placeholderIndex))
+				);
+				addSupersededConnectorIds(connector, supersededConnectorIds);
+			}
+		);
+
+		// The files of an archive are versioned with the archive itself
+		final Set<Path> externalFiles = inventory.getSourceDirectory().getFileSystem() == FileSystems.getDefault()
+			? connectorLibraryParser.getExternalExtendedFiles()
+			: Collections.emptySet();
+
+		return new ConnectorArtifactLibrary(
+			coordinates,
+			enterpriseConnectorIds,
+			supersededConnectorIds,
+			externalFiles,
+			connectors,
+			false
+		);
+	}
+
+	/**
+	 * Add the entries of the <em>supersedes</em> section of the given resolved connector to the given set.
+	 *
+	 * @param connector              The resolved connector.
+	 * @param supersededConnectorIds The set receiving the superseded connector identifiers.
+	 */
+	private static void addSupersededConnectorIds(final JsonNode connector, final Set<String> supersededConnectorIds) {
+		final JsonNode supersedes = connector.path("connector").path("detection").path("supersedes");
+		if (supersedes.isArray()) {
+			supersedes.forEach(entry -> supersededConnectorIds.add(entry.asText().trim()));
+		} else if (supersedes.isValueNode()) {
+			// A single value lists the superseded connectors separated by commas
+			for (String entry : supersedes.asText().split(",")) {
+				supersededConnectorIds.add(entry.trim());
+			}
+		}
+	}
+
+	/**
+	 * Read a library stored in the cache.
+	 *
+	 * @param coordinates The coordinates of the artifact.
+	 * @param entry       The cache entry, as written by {@link #toEntry()}.
+	 * @return The library of the artifact.
+	 * @throws IOException If the entry is not a valid library.
+	 */
+	private static ConnectorArtifactLibrary fromEntry(final String coordinates, final JsonNode entry) throws IOException {
+		final Map<String, byte[]> connectors = new LinkedHashMap<>();
+		final Iterator<Entry<String, JsonNode>> connectorEntries = entry.path("connectors").fields();
+		while (connectorEntries.hasNext()) {
+			final Entry<String, JsonNode> connectorEntry = connectorEntries.next();
+			connectors.put(connectorEntry.getKey(), connectorEntry.getValue().binaryValue());
+		}
+
+		return new ConnectorArtifactLibrary(
+			coordinates,
+			toSet(entry.path("enterpriseConnectorIds")),
+			toSet(entry.path("supersededConnectorIds")),
+			Collections.emptySet(),
+			connectors,
+			true
+		);
+	}
+
+	/**
+	 * Build the cache entry of this library.
+	 *
+	 * @return A new {@link ObjectNode}, holding the encoded connectors as binary values.
+	 */
+	private JsonNode toEntry() {
+		final ObjectNode entry = JsonNodeFactory.instance.objectNode();
+		entry.put("coordinates", coordinates);
+		final ArrayNode enterpriseConnectorIdArray = entry.putArray("enterpriseConnectorIds");
+		enterpriseConnectorIds.forEach(enterpriseConnectorIdArray::add);
+		final ArrayNode supersededConnectorIdArray = entry.putArray("supersededConnectorIds");
+		supersededConnectorIds.forEach(supersededConnectorIdArray::add);
+		final ObjectNode connectorObject = entry.putObject("connectors");
+		connectors.forEach(connectorObject::put);
+		return entry;
+	}
+
+	/**
+	 * Convert the given array of strings to a set.
+	 *
+	 * @param array The array node.
+	 * @return A new mutable set.
+	 */
+	private static Set<String> toSet(final JsonNode array) {
+		final Set<String> values = new HashSet<>();
+		array.forEach(value -> values.add(value.asText()));
+		return values;
+	}
+
+	/**
+	 * Gets the identifiers of the connectors of the library, in the order they have been handed over by the parser.
+	 *
+	 * @return An unmodifiable set of connector identifiers.
+	 */
+	public Set<String> getConnectorIds() {
+		return connectors.keySet();
+	}
+
+	/**
+	 * Decode the given connector. Each call returns a new tree.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @return The resolved connector, complete, or <code>null</code> if the library does not define this connector.
+	 * @throws IOException If the connector cannot be decoded.
+	 */
+	public JsonNode getConnector(final String connectorId) throws IOException {
+		final JsonNode connectorEntry = getConnectorEntry(connectorId);
+		return connectorEntry != null ? connectorEntry.get(ConnectorLibraryParser.ENTRY_CONNECTOR) : null;
+	}
+
+	/**
+	 * Decode the given connector with the pointers of its placeholders, as encoded by the
+	 * {@link ConnectorLibraryParser}. Each call returns a new tree.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @return The encoded connector, or <code>null</code> if the library does not define this connector.
+	 * @throws IOException If the connector cannot be decoded.
+	 */
+	JsonNode getConnectorEntry(final String connectorId) throws IOException {
+		final byte[] connectorEntry = connectors.get(connectorId);
+		return connectorEntry != null ? SMILE_OBJECT_MAPPER.readTree(connectorEntry) : null;
+	}
+}
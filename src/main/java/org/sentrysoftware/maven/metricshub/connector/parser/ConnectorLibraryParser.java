@@ -22,89 +22,478 @@ package org.sentrysoftware.maven.metricshub.connector.parser;
 
 import static org.sentrysoftware.maven.metricshub.connector.Constants.YAML_OBJECT_MAPPER;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.NonNull;
 
 /**
  * This class parses the connectors that are located under the source directory then produces
  * a map of {@link JsonNode} instances that need to be used by the underlying page producers.
+ * <p>
+ * The connectors can be parsed sequentially or by a pool of threads (see {@link #parallelism}).
+ * Both modes produce the same map, sorted by connector identifier.
+ * </p>
+ * <p>
+ * The connectors can also be streamed to a {@link ConnectorConsumer} with {@link #parse(Path, ConnectorConsumer)}:
+ * each connector is handed over as soon as it is resolved, in the order the files have been visited, and the pool
+ * resolves at most {@link #PARSE_AHEAD_FACTOR} connectors per thread ahead of the consumer.
+ * </p>
+ * <p>
+ * The YAML files are listed by a {@link LibraryInventory}, built by the parser or handed over by the caller so that
+ * the source directory is walked once. The <em>extends</em> sections of all the YAML files are collected during the
+ * scan of the library into an {@link ExtendsGraph}. The extended connectors are then resolved once, in topological order, before
+ * the connectors are parsed, and a cycle between extended connectors is reported with its path.
+ * </p>
+ * <p>
+ * When a {@link ResolvedConnectorCache} is set, the connectors whose files and extended files are unchanged
+ * since the previous build are read from this cache instead of being parsed and resolved again.
+ * </p>
+ * <p>
+ * When the {@link #projection} is enabled, each resolved connector is reduced to the subtrees read by the page
+ * producers before it is handed over, see {@link ConnectorProjection}.
+ * </p>
+ * <p>
+ * With the {@link #overlayMerge} option, each connector is overlaid on the read-only extended connectors of the
+ * {@link HeaderCache} instead of being merged into a copy of them, see {@link OverlayTree}. The resolved connectors
+ * then share the sections they do not override with their extended connectors.
+ * </p>
+ * <p>
+ * When a {@link SymbolTable} is set, the field names and short values of each connector are replaced with the
+ * instances shared by the whole library before the connector is handed over.
+ * </p>
+ * <p>
+ * When a {@link SubtreePool} is set, the subtrees of each completed connector that are identical to subtrees of the
+ * previous connectors (typically the sections merged from the same headers) are replaced with the shared instances.
+ * </p>
+ * <p>
+ * The connectors of {@link ConnectorArtifactLibrary connector artifacts} can be handed over after the connectors of
+ * the source library with {@link #parse(LibraryInventory, List, ConnectorConsumer)}. A connector identifier defined
+ * by several libraries is handed over from the first library defining it: the source library, then the artifact
+ * libraries in the given order.
+ * </p>
+ * <p>
+ * The connectors are complete when they are returned: each connector holds its <code>relativePath</code> and its
+ * detection tags include <em>enterprise</em> or <em>community</em>. The returned trees must not be modified
+ * afterward, so that they can be read concurrently by the page producers.
+ * </p>
  */
+@Builder(setterPrefix = "with")
+@NoArgsConstructor
+@AllArgsConstructor
 public class ConnectorLibraryParser {
 
 	/**
-	 * This inner class allows to visit the files contained within the connectors directory
+	 * Number of connectors each thread of the pool may resolve ahead of the consumer.
 	 */
-	private static class ConnectorFileVisitor extends SimpleFileVisitor<Path> {
+	public static final int PARSE_AHEAD_FACTOR = 2;
 
+	/**
+	 * Receives the connectors as they are resolved.
+	 *
+	 * @param <E> The type of exception thrown by the consumer.
+	 */
+	@FunctionalInterface
+	public interface ConnectorConsumer<E extends Exception> {
+		/**
+		 * Accept a resolved connector. The connector is complete and must not be modified.
+		 *
+		 * @param connectorId      The connector identifier.
+		 * @param connector        The resolved connector.
+		 * @param placeholderIndex The index of the placeholders of the connector.
+		 * @throws E If the connector cannot be processed, the parsing stops.
+		 */
+		void accept(String connectorId, JsonNode connector, PlaceholderIndex placeholderIndex) throws E;
+	}
+
+	/**
+	 * A resolved connector with the index of its placeholders.
+	 *
+	 * @param connector        The resolved connector.
+	 * @param placeholderIndex The index of the placeholders of the connector.
+	 * @param overlayTree      The containers owned by the connector, which may be overlaid on the read-only extended
+	 *                         connectors.
+	 */
+	private record ResolvedConnector(JsonNode connector, PlaceholderIndex placeholderIndex, OverlayTree overlayTree) {}
+
+	/**
+	 * Consumer of the resolved connectors, before they are completed and handed over.
+	 *
+	 * @param <E> The type of exception thrown by the consumer.
+	 */
+	@FunctionalInterface
+	private interface ResolvedConnectorConsumer<E extends Exception> {
+		/**
+		 * Accept a resolved connector, before it is completed.
+		 *
+		 * @param connectorId The connector identifier.
+		 * @param resolved    The resolved connector.
+		 * @throws E If the connector cannot be processed, the parsing stops.
+		 */
+		void accept(String connectorId, ResolvedConnector resolved) throws E;
+	}
+
+	/**
+	 * Where a connector of the library is resolved from.
+	 *
+	 * @param connectorFile   The connector file, <code>null</code> for a connector of an artifact library.
+	 * @param cacheKey        The key of the connector in the persistent cache, <code>null</code> if not cached.
+	 * @param artifactLibrary The artifact library defining the connector, <code>null</code> for a connector file.
+	 */
+	private record ConnectorSource(Path connectorFile, String cacheKey, ConnectorArtifactLibrary artifactLibrary) {}
+
+	/**
+	 * The pointer of the detection tags completed by {@link #completeTags(String, ResolvedConnector)}.
+	 */
+	private static final JsonPointer TAGS_POINTER = JsonPointer.compile("/connector/detection/tags");
+
+	/**
+	 * The field of an encoded connector holding the resolved connector, see {@link #toEntry(JsonNode, PlaceholderIndex)}.
+	 */
+	static final String ENTRY_CONNECTOR = "connector";
+
+	/**
+	 * The field of an encoded connector holding the pointers of its placeholders, in document order.
+	 */
+	private static final String ENTRY_PLACEHOLDERS = "placeholders";
+
+	/**
+	 * Number of threads parsing the connectors. 1 means that the connectors are parsed sequentially
+	 * by the calling thread.
+	 */
+	@Builder.Default
+	private int parallelism = 1;
+
+	/**
+	 * The identifiers of the enterprise connectors, the other connectors are tagged as <em>community</em>.
+	 */
+	@Builder.Default
+	private Set<String> enterpriseConnectorIds = Collections.emptySet();
+
+	/**
+	 * Whether the connectors are projected onto the subtrees read by the page producers before they are handed
+	 * over (see {@link ConnectorProjection}). The persistent cache always stores the whole resolved connectors.
+	 */
+	@Builder.Default
+	private boolean projection = false;
+
+	/**
+	 * Whether the connectors are overlaid on the read-only extended connectors of the {@link #headerCache} instead of
+	 * being merged into copies of them. With a {@link #symbolTable}, the header cache must intern the extended
+	 * connectors with the same table, so that the shared trees are never modified by the interning.
+	 */
+	@Builder.Default
+	private boolean overlayMerge = false;
+
+	/**
+	 * The cache of resolved extended connectors, shared by all the connectors of the library.
+	 */
+	@Getter
+	@Builder.Default
+	private HeaderCache headerCache = new HeaderCache();
+
+	/**
+	 * The persistent cache of the resolved connectors, <code>null</code> to always resolve the connectors.
+	 */
+	@Getter
+	private ResolvedConnectorCache resolvedConnectorCache;
+
+	/**
+	 * The table sharing the field names and short values across the connectors of the library, <code>null</code>
+	 * to keep the symbols of each connector as parsed.
+	 */
+	@Getter
+	private SymbolTable symbolTable;
+
+	/**
+	 * The pool sharing the identical subtrees across the connectors of the library, <code>null</code> to keep the
+	 * subtrees of each connector.
+	 */
+	@Getter
+	private SubtreePool subtreePool;
+
+	/**
+	 * The library-wide graph of the <em>extends</em> sections, built by the last call to {@link #parse(Path)}.
+	 */
+	@Getter
+	private ExtendsGraph extendsGraph;
+
+	/**
+	 * The index of the placeholders of each connector, built by the last call to {@link #parse(Path)}.
+	 */
+	@Getter
+	private Map<String, PlaceholderIndex> placeholderIndexes;
+
+	/**
+	 * The files located outside of the library and extended by its files, directly or through other extended files,
+	 * collected by the scan of the last call to {@link #parse(Path, ConnectorConsumer)}.
+	 */
+	private Set<Path> externalExtendedFiles;
+
+	/**
+	 * The connector identifiers listed in the <em>supersedes</em> sections of the library files, collected by
+	 * the scan of the last call to {@link #parse(Path, ConnectorConsumer)}. <code>null</code> when an entry contains
+	 * a placeholder and the superseded connectors are only known once all the connectors are resolved.
+	 */
+	private Set<String> supersededConnectorIds;
+
+	/**
+	 * The source directory of the library parsed by the last call to {@link #parse(Path, ConnectorConsumer)}.
+	 */
+	private Path librarySourceDirectory;
+
+	/**
+	 * The source of each connector handed over by the last call to {@link #parse(Path, ConnectorConsumer)}, so that
+	 * the connectors can be resolved again with {@link #reload(String, ConnectorConsumer)}.
+	 */
+	private Map<String, ConnectorSource> connectorSources;
+
+	/**
+	 * The artifact libraries handed over after the source library by the last call to
+	 * {@link #parse(LibraryInventory, List, ConnectorConsumer)}.
+	 */
+	private List<ConnectorArtifactLibrary> artifactLibraries;
+
+	/**
+	 * This inner class scans the YAML files of the connectors directory
+	 */
+	private static class ConnectorFileScanner {
+
+		/**
+		 * The connector files, in the order they have been visited
+		 */
 		@Getter
-		private final Map<String, JsonNode> connectorsMap = new HashMap<>();
+		private final List<Path> connectorFiles = new ArrayList<>();
 
-		private final Path sourceDirectory;
+		/**
+		 * The <em>extends</em> sections of all the visited YAML files
+		 */
+		@Getter
+		private final ExtendsGraph extendsGraph;
+
+		/**
+		 * The entries of the <em>supersedes</em> sections of all the visited YAML files, as written
+		 */
+		@Getter
+		private final Set<String> supersedesEntries = new HashSet<>();
+
+		/**
+		 * Whether an entry of a <em>supersedes</em> section can only be known after the resolution of the connectors
+		 */
+		@Getter
+		private boolean supersedesUnresolved;
 
-		ConnectorFileVisitor(final Path sourceDirectory) {
-			this.sourceDirectory = sourceDirectory;
+		/**
+		 * Constructs a scanner recording the <em>extends</em> sections in a new graph.
+		 *
+		 * @param sourceDirectory Source directory of the connectors.
+		 */
+		ConnectorFileScanner(final Path sourceDirectory) {
+			extendsGraph = new ExtendsGraph(sourceDirectory);
 		}
 
-		@Override
-		public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-			// Skip this path if it is a directory or not a YAML file
-			if (Files.isDirectory(file) || !isYamlFile(file.toFile().getName())) {
-				return FileVisitResult.CONTINUE;
+		/**
+		 * Scan the given YAML file of the library.
+		 *
+		 * @param file The YAML file.
+		 * @throws IOException If the file cannot be read or is not a valid YAML document
+		 */
+		void scanFile(final Path file) throws IOException {
+			// Only stream the tokens, the full tree is built once by the ConnectorParser
+			final List<String> extendedFileNames = new ArrayList<>();
+			if (scan(file, extendedFileNames)) {
+				connectorFiles.add(file);
 			}
+			extendsGraph.addFile(file, extendedFileNames);
+		}
 
-			final JsonNode connectorNode = YAML_OBJECT_MAPPER.readTree(file.toFile());
-			if (!isConnector(connectorNode)) {
-				return FileVisitResult.CONTINUE;
+		/**
+		 * Scan the files located outside of the library and extended by the visited files, directly or through other
+		 * extended files, so that the graph covers every file involved in the resolution of the connectors. These
+		 * files are never taken as connectors.
+		 *
+		 * @return The normalized paths of the external extended files, in the order they have been found.
+		 * @throws IOException If an external file cannot be read or is not a valid YAML document
+		 */
+		Set<Path> scanExternalFiles() throws IOException {
+			final Deque<Path> pendingFiles = new ArrayDeque<>();
+			for (Path file : extendsGraph.getFiles()) {
+				pendingFiles.addAll(extendsGraph.getExtendedFiles(file));
 			}
 
-			final JsonNode connector = ConnectorParser.withNodeProcessor(file.getParent()).parse(file.toFile());
+			final Set<Path> externalFiles = new LinkedHashSet<>();
+			while (!pendingFiles.isEmpty()) {
+				final Path file = pendingFiles.remove();
+				if (!extendsGraph.contains(file) && externalFiles.add(file) && Files.isRegularFile(file)) {
+					final List<String> extendedFileNames = new ArrayList<>();
+					scan(file, extendedFileNames);
+					extendsGraph.addFile(file, extendedFileNames);
+					pendingFiles.addAll(extendsGraph.getExtendedFiles(file));
+				}
+			}
+			return externalFiles;
+		}
 
-			((ObjectNode) connector).put("relativePath", sourceDirectory.relativize(file).toString());
+		/**
+		 * Whether the YAML file is a final Connector. It means that this file defines the
+		 * <code>connector.displayName</code> section.<br>
+		 * The file is read with the YAML streaming parser, without building any {@link JsonNode}. The entries of the
+		 * <em>extends</em> section are collected on the way, and the parsing stops as soon as both the
+		 * <code>connector</code> and <code>extends</code> sections have been read.
+		 *
+		 * @param file              The YAML file to check
+		 * @param extendedFileNames The list receiving the entries of the <em>extends</em> section
+		 * @return <code>true</code> if the file is a final connector, otherwise false.
+		 * @throws IOException If the file cannot be read or is not a valid YAML document
+		 */
+		private boolean scan(final Path file, final List<String> extendedFileNames) throws IOException {
+			boolean isConnector = false;
+			boolean connectorRead = false;
+			boolean extendsRead = false;
 
-			final Path fileNamePath = file.getFileName();
+			try (
+				InputStream inputStream = Files.newInputStream(file);
+				JsonParser parser = YAML_OBJECT_MAPPER.getFactory().createParser(inputStream)
+			) {
+				if (parser.nextToken() != JsonToken.START_OBJECT) {
+					return false;
+				}
 
-			if (fileNamePath != null) {
-				final String filename = fileNamePath.toString();
-				connectorsMap.put(filename.substring(0, filename.lastIndexOf('.')), connector);
+				while (!(connectorRead && extendsRead) && parser.nextToken() == JsonToken.FIELD_NAME) {
+					final String fieldName = parser.currentName();
+					final JsonToken valueToken = parser.nextToken();
+					if ("connector".equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+						isConnector = hasDisplayName(parser);
+						connectorRead = true;
+					} else if ("extends".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+						readExtends(parser, extendedFileNames);
+						extendsRead = true;
+					} else {
+						parser.skipChildren();
+					}
+				}
 			}
 
-			return FileVisitResult.CONTINUE;
+			return isConnector;
 		}
 
 		/**
-		 * Whether the JsonNode is a final Connector. It means that this JsonNode defines the displayName section.
+		 * Whether the object the parser is currently positioned in defines a non-null <code>displayName</code>.
+		 * The entries of the <code>detection.supersedes</code> section are collected on the way.
+		 * The whole object is consumed.
 		 *
-		 * @param connector JsonNode that contains connector's data
-		 * @return <code>true</code> if the {@link JsonNode} is a final connector, otherwise false.
+		 * @param parser The streaming parser, positioned right after the <code>connector</code> start object token
+		 * @return <code>true</code> if the display name is defined, otherwise false.
+		 * @throws IOException If the next tokens cannot be read
 		 */
-		private boolean isConnector(final JsonNode connector) {
-			final JsonNode connectorNode = connector.get("connector");
-			if (connectorNode != null && !connectorNode.isNull()) {
-				final JsonNode displayName = connectorNode.get("displayName");
-				return displayName != null && !displayName.isNull();
+		private boolean hasDisplayName(final JsonParser parser) throws IOException {
+			boolean hasDisplayName = false;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				final String fieldName = parser.currentName();
+				final JsonToken valueToken = parser.nextToken();
+				if ("displayName".equals(fieldName)) {
+					hasDisplayName = valueToken != JsonToken.VALUE_NULL;
+				} else if ("detection".equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+					readDetection(parser);
+				}
+				parser.skipChildren();
 			}
 
-			return false;
+			return hasDisplayName;
 		}
 
 		/**
-		 * Whether the connector is a YAML file or not
+		 * Read the entries of the <em>supersedes</em> section of the <code>detection</code> object the parser is
+		 * currently positioned in. The whole object is consumed.
 		 *
-		 * @param fileName The name of the file
-		 * @return boolean value
+		 * @param parser The streaming parser, positioned right after the <code>detection</code> start object token
+		 * @throws IOException If the next tokens cannot be read
 		 */
-		private boolean isYamlFile(final String fileName) {
-			return fileName.toLowerCase().endsWith(".yaml");
+		private void readDetection(final JsonParser parser) throws IOException {
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				final String fieldName = parser.currentName();
+				final JsonToken valueToken = parser.nextToken();
+				if ("supersedes".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+					JsonToken token;
+					while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+						if (token.isScalarValue()) {
+							addSupersedesEntry(parser.getText());
+						} else {
+							supersedesUnresolved = true;
+							parser.skipChildren();
+						}
+					}
+				} else if ("supersedes".equals(fieldName) && valueToken.isScalarValue()) {
+					// A single value lists the superseded connectors separated by commas
+					for (String entry : parser.getText().split(",")) {
+						addSupersedesEntry(entry.trim());
+					}
+				} else {
+					parser.skipChildren();
+				}
+			}
+		}
+
+		/**
+		 * Record an entry of a <em>supersedes</em> section. An entry containing a placeholder is only known once the
+		 * connectors are resolved.
+		 *
+		 * @param entry The entry, as written in the YAML file
+		 */
+		private void addSupersedesEntry(final String entry) {
+			if (entry.contains("${")) {
+				supersedesUnresolved = true;
+			} else {
+				supersedesEntries.add(entry);
+			}
+		}
+
+		/**
+		 * Read the entries of the <em>extends</em> array the parser is currently positioned in.
+		 * The whole array is consumed.
+		 *
+		 * @param parser            The streaming parser, positioned right after the <code>extends</code> start array token
+		 * @param extendedFileNames The list receiving the textual entries of the array
+		 * @throws IOException If the next tokens cannot be read
+		 */
+		private void readExtends(final JsonParser parser, final List<String> extendedFileNames) throws IOException {
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+				if (token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+					extendedFileNames.add(parser.getValueAsString());
+				} else {
+					parser.skipChildren();
+				}
+			}
 		}
 	}
 
@@ -116,10 +505,558 @@ public class ConnectorLibraryParser {
 	 * @throws IOException if the file does not exist
 	 */
 	public Map<String, JsonNode> parse(@NonNull final Path sourceDirectory) throws IOException {
-		final ConnectorFileVisitor fileVisitor = new ConnectorFileVisitor(sourceDirectory);
+		final Map<String, JsonNode> connectorsMap = new TreeMap<>();
+		final Map<String, PlaceholderIndex> connectorPlaceholderIndexes = new TreeMap<>();
+		parse(
+			sourceDirectory,
+			(connectorId, connector, placeholderIndex) -> {
+				connectorsMap.put(connectorId, connector);
+				connectorPlaceholderIndexes.put(connectorId, placeholderIndex);
+			}
+		);
+
+		placeholderIndexes = Collections.unmodifiableMap(connectorPlaceholderIndexes);
+		return Collections.unmodifiableMap(connectorsMap);
+	}
+
+	/**
+	 * Parse connectors located under the source directory and hand each connector over to the given consumer as
+	 * soon as it is resolved. The consumer is called by the calling thread, in the order the connector files have
+	 * been visited. When several files define the same connector identifier, only the last visited one is handed
+	 * over.
+	 *
+	 * @param <E>             The type of exception thrown by the consumer.
+	 * @param sourceDirectory Source directory of the connectors.
+	 * @param consumer        The consumer of the resolved connectors.
+	 * @throws IOException if the file does not exist
+	 * @throws E           If the consumer fails.
+	 */
+	public <E extends Exception> void parse(
+		@NonNull final Path sourceDirectory,
+		@NonNull final ConnectorConsumer<E> consumer
+	) throws IOException, E {
+		parse(LibraryInventory.scan(sourceDirectory), consumer);
+	}
 
-		Files.walkFileTree(sourceDirectory, fileVisitor);
+	/**
+	 * Parse the connectors recorded in the given inventory, without walking the source directory again, and hand
+	 * each connector over to the given consumer as soon as it is resolved, as {@link #parse(Path, ConnectorConsumer)}.
+	 *
+	 * @param <E>       The type of exception thrown by the consumer.
+	 * @param inventory The inventory of the connector library.
+	 * @param consumer  The consumer of the resolved connectors.
+	 * @throws IOException if a file cannot be read
+	 * @throws E           If the consumer fails.
+	 */
+	public <E extends Exception> void parse(
+		@NonNull final LibraryInventory inventory,
+		@NonNull final ConnectorConsumer<E> consumer
+	) throws IOException, E {
+		parse(inventory, Collections.emptyList(), consumer);
+	}
+
+	/**
+	 * Parse the connectors recorded in the given inventory, then hand over the connectors of the given artifact
+	 * libraries, as {@link #parse(LibraryInventory, ConnectorConsumer)}. Each connector identifier is handed over
+	 * once: the connectors of the inventory take precedence over the artifact libraries, and each artifact library
+	 * over the libraries listed after it. The connectors of the artifact libraries are already complete, they are
+	 * only projected and shared with the options of this parser.
+	 *
+	 * @param <E>               The type of exception thrown by the consumer.
+	 * @param inventory         The inventory of the connector library.
+	 * @param artifactLibraries The loaded artifact libraries, by decreasing precedence.
+	 * @param consumer          The consumer of the resolved connectors.
+	 * @throws IOException if a file cannot be read or a connector of an artifact cannot be decoded
+	 * @throws E           If the consumer fails.
+	 */
+	public <E extends Exception> void parse(
+		@NonNull final LibraryInventory inventory,
+		@NonNull final List<ConnectorArtifactLibrary> artifactLibraries,
+		@NonNull final ConnectorConsumer<E> consumer
+	) throws IOException, E {
+		if (overlayMerge && symbolTable != null && headerCache != null && headerCache.getSymbolTable() != symbolTable) {
+			throw new IllegalStateException("The overlay merge requires a header cache interning with the symbol table.");
+		}
+
+		final Path sourceDirectory = inventory.getSourceDirectory();
+		final ConnectorFileScanner fileScanner = new ConnectorFileScanner(sourceDirectory);
+		for (Path yamlFile : inventory.getYamlFiles()) {
+			fileScanner.scanFile(yamlFile);
+		}
+		externalExtendedFiles = fileScanner.scanExternalFiles();
+
+		final List<Path> connectorFiles = fileScanner.getConnectorFiles();
+		extendsGraph = fileScanner.getExtendsGraph();
+		supersededConnectorIds = fileScanner.isSupersedesUnresolved() ? null : fileScanner.getSupersedesEntries();
+		this.artifactLibraries = artifactLibraries;
+
+		// Fails fast on cyclic extends
+		final List<Path> resolutionOrder = extendsGraph.topologicalOrder(connectorFiles);
+
+		// The unchanged connectors are served from the persistent cache
+		final List<String> cacheKeys = new ArrayList<>(Collections.nCopies(connectorFiles.size(), null));
+		final List<Path> unresolvedConnectorFiles = new ArrayList<>();
+		for (int i = 0; i < connectorFiles.size(); i++) {
+			final String cacheKey = resolvedConnectorCache != null
+				? computeCacheKey(sourceDirectory, connectorFiles.get(i))
+				: null;
+			cacheKeys.set(i, cacheKey);
+			if (cacheKey == null || !resolvedConnectorCache.contains(cacheKey)) {
+				unresolvedConnectorFiles.add(connectorFiles.get(i));
+			}
+		}
+
+		// Resolve each extended connector once, before the connectors extending it
+		if (headerCache != null) {
+			preloadHeaders(resolutionOrder, unresolvedConnectorFiles);
+		}
 
-		return fileVisitor.getConnectorsMap();
+		// Hand the connectors over in the visit order, whatever the order in which they have been parsed,
+		// so that duplicate identifiers are resolved the same way in both modes
+		final Map<String, Integer> lastIndexes = new HashMap<>();
+		librarySourceDirectory = sourceDirectory;
+		connectorSources = new HashMap<>();
+		for (int i = 0; i < connectorFiles.size(); i++) {
+			final String connectorId = getConnectorId(connectorFiles.get(i));
+			lastIndexes.put(connectorId, i);
+			connectorSources.put(connectorId, new ConnectorSource(connectorFiles.get(i), cacheKeys.get(i), null));
+		}
+		final ResolvedConnectorConsumer<E> lastConnectorConsumer = (connectorId, resolved) -> {
+			// The cached connectors do not depend on the enterprise manifest, they are completed here
+			complete(connectorId, resolved);
+			consumer.accept(connectorId, resolved.connector(), resolved.placeholderIndex());
+		};
+
+		if (parallelism > 1) {
+			parseInParallel(sourceDirectory, connectorFiles, cacheKeys, lastIndexes, lastConnectorConsumer);
+		} else {
+			for (int i = 0; i < connectorFiles.size(); i++) {
+				final Path connectorFile = connectorFiles.get(i);
+				final ResolvedConnector resolved = resolve(sourceDirectory, connectorFile, cacheKeys.get(i));
+				final String connectorId = getConnectorId(connectorFile);
+				if (lastIndexes.get(connectorId) == i) {
+					lastConnectorConsumer.accept(connectorId, resolved);
+				}
+			}
+		}
+
+		// The connectors of the artifact libraries whose identifier has not been handed over yet
+		for (ConnectorArtifactLibrary artifactLibrary : artifactLibraries) {
+			for (String connectorId : artifactLibrary.getConnectorIds()) {
+				if (connectorSources.putIfAbsent(connectorId, new ConnectorSource(null, null, artifactLibrary)) == null) {
+					final ResolvedConnector resolved = resolveArtifactConnector(connectorId, artifactLibrary);
+					consumer.accept(connectorId, resolved.connector(), resolved.placeholderIndex());
+				}
+			}
+		}
+
+		if (resolvedConnectorCache != null) {
+			resolvedConnectorCache.prune();
+		}
+	}
+
+	/**
+	 * Resolve again a connector of the library parsed by the last call to {@link #parse(Path, ConnectorConsumer)},
+	 * from the persistent cache when possible, and hand it over to the given consumer. The connector is complete,
+	 * as when it has been handed over by the parsing.
+	 *
+	 * @param <E>         The type of exception thrown by the consumer.
+	 * @param connectorId The connector identifier.
+	 * @param consumer    The consumer of the resolved connector.
+	 * @throws IOException If the connector is unknown or cannot be read or processed.
+	 * @throws E           If the consumer fails.
+	 */
+	public <E extends Exception> void reload(
+		@NonNull final String connectorId,
+		@NonNull final ConnectorConsumer<E> consumer
+	) throws IOException, E {
+		final ConnectorSource connectorSource = connectorSources != null ? connectorSources.get(connectorId) : null;
+		if (connectorSource == null) {
+			throw new IOException("Unknown connector: " + connectorId);
+		}
+
+		if (connectorSource.artifactLibrary() != null) {
+			final ResolvedConnector resolved = resolveArtifactConnector(connectorId, connectorSource.artifactLibrary());
+			consumer.accept(connectorId, resolved.connector(), resolved.placeholderIndex());
+			return;
+		}
+
+		final ResolvedConnector resolved = resolve(
+			librarySourceDirectory,
+			connectorSource.connectorFile(),
+			connectorSource.cacheKey()
+		);
+		complete(connectorId, resolved);
+		consumer.accept(connectorId, resolved.connector(), resolved.placeholderIndex());
+	}
+
+	/**
+	 * Whether the given connector may be superseded by another connector of the library parsed by the last call to
+	 * {@link #parse(Path, ConnectorConsumer)}. This is known as soon as the library has been scanned, before the
+	 * connectors are resolved.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @return <code>false</code> if no connector of the library supersedes the given connector.
+	 */
+	public boolean isPossiblySuperseded(final String connectorId) {
+		if (supersededConnectorIds == null || supersededConnectorIds.contains(connectorId)) {
+			return true;
+		}
+
+		if (artifactLibraries != null) {
+			for (ConnectorArtifactLibrary artifactLibrary : artifactLibraries) {
+				if (artifactLibrary.getSupersededConnectorIds().contains(connectorId)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the files located outside of the library parsed by the last call to {@link #parse(Path, ConnectorConsumer)}
+	 * and extended by its files, directly or through other extended files.
+	 *
+	 * @return The normalized paths of the external extended files, empty if the library is self-contained.
+	 */
+	public Set<Path> getExternalExtendedFiles() {
+		return externalExtendedFiles != null ? externalExtendedFiles : Collections.emptySet();
+	}
+
+	/**
+	 * Whether the given connector, handed over by the last call to {@link #parse(Path, ConnectorConsumer)}, is an
+	 * enterprise connector according to the manifest of the library defining it.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @return <code>true</code> if the connector is an enterprise connector.
+	 */
+	public boolean isEnterpriseConnector(final String connectorId) {
+		final ConnectorSource connectorSource = connectorSources != null ? connectorSources.get(connectorId) : null;
+		if (connectorSource != null && connectorSource.artifactLibrary() != null) {
+			return connectorSource.artifactLibrary().getEnterpriseConnectorIds().contains(connectorId);
+		}
+		return enterpriseConnectorIds.contains(connectorId);
+	}
+
+	/**
+	 * Gets the artifact library defining the given connector, handed over by the last call to
+	 * {@link #parse(Path, ConnectorConsumer)}.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @return The artifact library, or <code>null</code> if the connector is defined by a connector file.
+	 */
+	public ConnectorArtifactLibrary getArtifactLibrary(final String connectorId) {
+		final ConnectorSource connectorSource = connectorSources != null ? connectorSources.get(connectorId) : null;
+		return connectorSource != null ? connectorSource.artifactLibrary() : null;
+	}
+
+	/**
+	 * Load the extended connectors into the {@link #headerCache}, following the given topological order so that
+	 * each extended connector finds its own extended connectors already resolved in the cache.
+	 *
+	 * @param resolutionOrder The files of the library, each file coming after the files it extends.
+	 * @param connectorFiles  The connector files about to be parsed, only the files they extend are loaded.
+	 * @throws IOException If an extended connector cannot be read or processed.
+	 */
+	private void preloadHeaders(final List<Path> resolutionOrder, final List<Path> connectorFiles) throws IOException {
+		final Set<Path> requiredHeaders = new HashSet<>();
+		for (Path connectorFile : connectorFiles) {
+			requiredHeaders.addAll(extendsGraph.getTransitiveExtendedFiles(connectorFile));
+		}
+
+		for (Path file : resolutionOrder) {
+			if (requiredHeaders.contains(file)) {
+				final ExtendsProcessor extendsProcessor = new ExtendsProcessor(
+					file.getParent(),
+					headerCache,
+					newOverlayTree(),
+					null
+				);
+				headerCache.preload(file, extendsProcessor::loadHeader);
+			}
+		}
+	}
+
+	/**
+	 * Compute the key of the given connector in the {@link #resolvedConnectorCache}.
+	 *
+	 * @param sourceDirectory Source directory of the connectors.
+	 * @param connectorFile   The connector file.
+	 * @return The cache key, or <code>null</code> if the connector extends a missing file.
+	 * @throws IOException If one of the files cannot be read.
+	 */
+	private String computeCacheKey(final Path sourceDirectory, final Path connectorFile) throws IOException {
+		final Set<Path> extendedFiles = extendsGraph.getTransitiveExtendedFiles(connectorFile);
+		for (Path extendedFile : extendedFiles) {
+			if (!extendsGraph.contains(extendedFile)) {
+				return null;
+			}
+		}
+
+		return resolvedConnectorCache.computeKey(getRelativePath(sourceDirectory, connectorFile), connectorFile, extendedFiles);
+	}
+
+	/**
+	 * Resolve the given connector files using a {@link ForkJoinPool} of {@link #parallelism} threads, and hand the
+	 * connectors over to the consumer in the order of the files. At most {@link #PARSE_AHEAD_FACTOR} connectors per
+	 * thread are resolved ahead of the consumer.
+	 *
+	 * @param <E>             The type of exception thrown by the consumer.
+	 * @param sourceDirectory Source directory of the connectors.
+	 * @param connectorFiles  The connector files to parse.
+	 * @param cacheKeys       The key of each connector file in the persistent cache, <code>null</code> if not cached.
+	 * @param lastIndexes     The index of the last file defining each connector identifier.
+	 * @param consumer        The consumer of the resolved connectors.
+	 * @throws IOException If a connector cannot be read or processed.
+	 * @throws E           If the consumer fails.
+	 */
+	private <E extends Exception> void parseInParallel(
+		final Path sourceDirectory,
+		final List<Path> connectorFiles,
+		final List<String> cacheKeys,
+		final Map<String, Integer> lastIndexes,
+		final ResolvedConnectorConsumer<E> consumer
+	) throws IOException, E {
+		final int queueCapacity = parallelism * PARSE_AHEAD_FACTOR;
+		final ExecutorService executor = new ForkJoinPool(parallelism);
+		try {
+			final Deque<Future<ResolvedConnector>> queue = new ArrayDeque<>(queueCapacity);
+			int nextIndex = 0;
+			for (int i = 0; i < connectorFiles.size(); i++) {
+				while (nextIndex < connectorFiles.size() && queue.size() < queueCapacity) {
+					final Path connectorFile = connectorFiles.get(nextIndex);
+					final String cacheKey = cacheKeys.get(nextIndex);
+					queue.add(executor.submit(() -> resolve(sourceDirectory, connectorFile, cacheKey)));
+					nextIndex++;
+				}
+
+				final ResolvedConnector resolved = queue.remove().get();
+				final String connectorId = getConnectorId(connectorFiles.get(i));
+				if (lastIndexes.get(connectorId) == i) {
+					consumer.accept(connectorId, resolved);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while parsing the connectors located under " + sourceDirectory);
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException) {
+				throw ioException;
+			}
+			throw new IOException(cause.getMessage(), cause);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Resolve the given connector, then project it and intern its symbols when these options are enabled.
+	 *
+	 * @param sourceDirectory Source directory of the connectors.
+	 * @param connectorFile   The connector file to parse.
+	 * @param cacheKey        The key of the connector in the persistent cache, <code>null</code> if not cached.
+	 * @return The resolved connector.
+	 * @throws IOException If the connector cannot be read or processed, or if it cannot be cached.
+	 */
+	private ResolvedConnector resolve(final Path sourceDirectory, final Path connectorFile, final String cacheKey)
+		throws IOException {
+		final ResolvedConnector resolvedConnector = project(readOrParse(sourceDirectory, connectorFile, cacheKey));
+		if (symbolTable != null) {
+			symbolTable.intern(resolvedConnector.connector());
+		}
+		return resolvedConnector;
+	}
+
+	/**
+	 * Decode the given connector of an artifact library, then project it, intern its symbols and share its subtrees
+	 * when these options are enabled. The connector is already complete.
+	 *
+	 * @param connectorId     The connector identifier.
+	 * @param artifactLibrary The artifact library defining the connector.
+	 * @return The resolved connector.
+	 * @throws IOException If the connector cannot be decoded.
+	 */
+	private ResolvedConnector resolveArtifactConnector(
+		final String connectorId,
+		final ConnectorArtifactLibrary artifactLibrary
+	) throws IOException {
+		final ResolvedConnector resolvedConnector = project(fromEntry(artifactLibrary.getConnectorEntry(connectorId)));
+		if (symbolTable != null) {
+			symbolTable.intern(resolvedConnector.connector());
+		}
+		if (subtreePool != null) {
+			subtreePool.share(resolvedConnector.connector());
+		}
+		return resolvedConnector;
+	}
+
+	/**
+	 * Read the given connector from the persistent cache, or parse it and store it in the cache.
+	 *
+	 * @param sourceDirectory Source directory of the connectors.
+	 * @param connectorFile   The connector file to parse.
+	 * @param cacheKey        The key of the connector in the persistent cache, <code>null</code> if not cached.
+	 * @return The resolved connector.
+	 * @throws IOException If the connector cannot be read or processed, or if it cannot be cached.
+	 */
+	private ResolvedConnector readOrParse(final Path sourceDirectory, final Path connectorFile, final String cacheKey)
+		throws IOException {
+		if (cacheKey != null) {
+			final JsonNode cachedEntry = resolvedConnectorCache.get(cacheKey);
+			if (cachedEntry != null && cachedEntry.path(ENTRY_CONNECTOR).isObject()) {
+				// The connectors served by the persistent cache are stored with the index of their placeholders
+				return fromEntry(cachedEntry);
+			}
+		}
+
+		final ResolvedConnector resolvedConnector = parseConnector(sourceDirectory, connectorFile);
+		if (cacheKey != null) {
+			resolvedConnectorCache.put(
+				cacheKey,
+				toEntry(resolvedConnector.connector(), resolvedConnector.placeholderIndex())
+			);
+		}
+		return resolvedConnector;
+	}
+
+	/**
+	 * Encode the given resolved connector with the pointers of its placeholders, so that it can be decoded without
+	 * walking the connector tree again.
+	 *
+	 * @param connector        The resolved connector, held by the entry as is.
+	 * @param placeholderIndex The index of the placeholders of the connector.
+	 * @return A new {@link ObjectNode}.
+	 */
+	static ObjectNode toEntry(final JsonNode connector, final PlaceholderIndex placeholderIndex) {
+		final ObjectNode entry = JsonNodeFactory.instance.objectNode();
+		entry.set(ENTRY_CONNECTOR, connector);
+		final ArrayNode placeholders = entry.putArray(ENTRY_PLACEHOLDERS);
+		placeholderIndex.getPointers().forEach(pointer -> placeholders.add(pointer.toString()));
+		return entry;
+	}
+
+	/**
+	 * Decode the resolved connector held by the given entry, see {@link #toEntry(JsonNode, PlaceholderIndex)}.
+	 *
+	 * @param entry The encoded connector.
+	 * @return The resolved connector with the index of its placeholders.
+	 */
+	private static ResolvedConnector fromEntry(final JsonNode entry) {
+		final JsonNode connector = entry.get(ENTRY_CONNECTOR);
+		final List<JsonPointer> pointers = new ArrayList<>();
+		entry.path(ENTRY_PLACEHOLDERS).forEach(pointer -> pointers.add(JsonPointer.compile(pointer.textValue())));
+		return new ResolvedConnector(connector, PlaceholderIndex.of(connector, pointers), OverlayTree.ofOwnedTree());
+	}
+
+	/**
+	 * Project the given resolved connector onto the subtrees read by the page producers, when the
+	 * {@link #projection} is enabled. The projection keeps the pointers of the kept values, so the index of the
+	 * projected connector is derived from the index of the resolved connector.
+	 *
+	 * @param resolvedConnector The resolved connector, as stored in the persistent cache.
+	 * @return The projected connector, or the given connector if the projection is disabled.
+	 */
+	private ResolvedConnector project(final ResolvedConnector resolvedConnector) {
+		if (!projection) {
+			return resolvedConnector;
+		}
+
+		final JsonNode projectedConnector = ConnectorProjection.project(
+			resolvedConnector.connector(),
+			resolvedConnector.placeholderIndex(),
+			resolvedConnector.overlayTree()
+		);
+		return new ResolvedConnector(
+			projectedConnector,
+			PlaceholderIndex.of(projectedConnector, resolvedConnector.placeholderIndex().getPointers()),
+			resolvedConnector.overlayTree()
+		);
+	}
+
+	/**
+	 * Parse the given connector file through the extends and constants processors.
+	 *
+	 * @param sourceDirectory Source directory of the connectors.
+	 * @param connectorFile   The connector file to parse.
+	 * @return The parsed connector with the index of its placeholders.
+	 * @throws IOException If the connector cannot be read or processed.
+	 */
+	private ResolvedConnector parseConnector(final Path sourceDirectory, final Path connectorFile) throws IOException {
+		final PlaceholderIndex placeholderIndex = new PlaceholderIndex();
+		final OverlayTree overlayTree = newOverlayTree();
+		final JsonNode connector = ConnectorParser
+			.withOverlayNodeProcessor(connectorFile.getParent(), headerCache, placeholderIndex, overlayTree)
+			.parse(connectorFile);
+
+		((ObjectNode) connector).put("relativePath", getRelativePath(sourceDirectory, connectorFile));
+
+		return new ResolvedConnector(connector, placeholderIndex, overlayTree);
+	}
+
+	/**
+	 * Create the view resolving a connector: an overlay on the read-only extended connectors of the
+	 * {@link #headerCache} with the {@link #overlayMerge} option, otherwise a tree merged into copies of them.
+	 *
+	 * @return A new {@link OverlayTree}.
+	 */
+	private OverlayTree newOverlayTree() {
+		return overlayMerge && headerCache != null ? new OverlayTree() : OverlayTree.ofOwnedTree();
+	}
+
+	/**
+	 * Complete the tags of the given connector, then share its subtrees when the {@link #subtreePool} is set. The
+	 * containers of the read-only extended connectors, shared by the overlay merge, are left unchanged. The
+	 * connector must not be modified afterward.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @param resolved    The resolved connector.
+	 */
+	private void complete(final String connectorId, final ResolvedConnector resolved) {
+		completeTags(connectorId, resolved);
+		if (subtreePool != null) {
+			subtreePool.share(resolved.connector(), resolved.overlayTree()::isOwned);
+		}
+	}
+
+	/**
+	 * Add the <em>enterprise</em> or <em>community</em> tag to the detection tags of the given connector.
+	 * A connector without detection section is left unchanged.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @param resolved    The resolved connector.
+	 */
+	private void completeTags(final String connectorId, final ResolvedConnector resolved) {
+		final JsonNode connector = resolved.connector();
+		final JsonNode detection = connector.path("connector").path("detection");
+		if (!detection.isObject()) {
+			return;
+		}
+
+		// The detection section may be shared with the extended connectors, the overlay tree copies it if needed
+		final String tag = enterpriseConnectorIds.contains(connectorId) ? "enterprise" : "community";
+		resolved.overlayTree().append(connector, TAGS_POINTER, TextNode.valueOf(tag));
+	}
+
+	/**
+	 * Get the path of the connector file relative to the source directory.
+	 *
+	 * @param sourceDirectory Source directory of the connectors.
+	 * @param connectorFile   The connector file.
+	 * @return The relative path as a string.
+	 */
+	private static String getRelativePath(final Path sourceDirectory, final Path connectorFile) {
+		return sourceDirectory.relativize(connectorFile).toString();
+	}
+
+	/**
+	 * Get the connector identifier, i.e. the file name without its extension.
+	 *
+	 * @param connectorFile The connector file.
+	 * @return The connector identifier.
+	 */
+	private static String getConnectorId(final Path connectorFile) {
+		final String filename = connectorFile.getFileName().toString();
+		return filename.substring(0, filename.lastIndexOf('.'));
 	}
 }
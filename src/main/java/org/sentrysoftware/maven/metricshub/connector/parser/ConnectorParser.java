@@ -25,6 +25,8 @@ import static org.sentrysoftware.maven.metricshub.connector.Constants.YAML_OBJEC
 import com.fasterxml.jackson.databind.JsonNode;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import lombok.AllArgsConstructor;
 
@@ -45,7 +47,22 @@ public class ConnectorParser {
 	 * @throws IOException If an IO error occurs during deserialization or processing.
 	 */
 	public JsonNode parse(final File connectorFile) throws IOException {
-		final JsonNode node = YAML_OBJECT_MAPPER.readTree(connectorFile);
+		return parse(connectorFile.toPath());
+	}
+
+	/**
+	 * Parses the specified connector file, located on any file system, e.g. in a connectors JAR or ZIP archive.
+	 *
+	 * @param connectorFile The path of the file to be parsed.
+	 *
+	 * @return A new {@link JsonNode} object.
+	 * @throws IOException If an IO error occurs during deserialization or processing.
+	 */
+	public JsonNode parse(final Path connectorFile) throws IOException {
+		final JsonNode node;
+		try (InputStream inputStream = Files.newInputStream(connectorFile)) {
+			node = YAML_OBJECT_MAPPER.readTree(inputStream);
+		}
 
 		if (nodeProcessor != null) {
 			return nodeProcessor.process(node);
@@ -63,4 +80,60 @@ public class ConnectorParser {
 	public static ConnectorParser withNodeProcessor(final Path connectorDirectory) {
 		return new ConnectorParser(NodeProcessorHelper.withExtendsAndConstantsProcessor(connectorDirectory));
 	}
+
+	/**
+	 * Creates a new {@link ConnectorParser} with extends and constants, serving the extended connectors from the given cache.
+	 *
+	 * @param connectorDirectory The directory where all the connectors are located.
+	 * @param headerCache        The cache of resolved extended connectors.
+	 * @return new instance of {@link ConnectorParser}
+	 */
+	public static ConnectorParser withNodeProcessor(final Path connectorDirectory, final HeaderCache headerCache) {
+		return new ConnectorParser(NodeProcessorHelper.withExtendsAndConstantsProcessor(connectorDirectory, headerCache));
+	}
+
+	/**
+	 * Creates a new {@link ConnectorParser} with extends and constants, serving the extended connectors from the given cache
+	 * and recording the placeholders of the parsed connector in the given index.
+	 *
+	 * @param connectorDirectory The directory where all the connectors are located.
+	 * @param headerCache        The cache of resolved extended connectors.
+	 * @param placeholderIndex   The index filled with the placeholders of the parsed connector.
+	 * @return new instance of {@link ConnectorParser}
+	 */
+	public static ConnectorParser withNodeProcessor(
+		final Path connectorDirectory,
+		final HeaderCache headerCache,
+		final PlaceholderIndex placeholderIndex
+	) {
+		return new ConnectorParser(
+			NodeProcessorHelper.withExtendsAndConstantsProcessor(connectorDirectory, headerCache, placeholderIndex)
+		);
+	}
+
+	/**
+	 * Creates a new {@link ConnectorParser} with extends and constants, overlaying the connector on the read-only
+	 * extended connectors of the given cache and recording the placeholders of the parsed connector in the given index.
+	 *
+	 * @param connectorDirectory The directory where all the connectors are located.
+	 * @param headerCache        The cache of resolved extended connectors.
+	 * @param placeholderIndex   The index filled with the placeholders of the parsed connector.
+	 * @param overlayTree        The resolved view of the parsed connector, recording the nodes it owns.
+	 * @return new instance of {@link ConnectorParser}
+	 */
+	public static ConnectorParser withOverlayNodeProcessor(
+		final Path connectorDirectory,
+		final HeaderCache headerCache,
+		final PlaceholderIndex placeholderIndex,
+		final OverlayTree overlayTree
+	) {
+		return new ConnectorParser(
+			NodeProcessorHelper.withOverlayExtendsAndConstantsProcessor(
+				connectorDirectory,
+				headerCache,
+				placeholderIndex,
+				overlayTree
+			)
+		);
+	}
 }
@@ -0,0 +1,262 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Projects a resolved connector onto the subtrees read by the page producers, so that the large sections only used
+ * at runtime (compute chains, scripts, translation tables, etc.) are not retained in memory.
+ * <p>
+ * The projection keeps:
+ * <ul>
+ * <li>the <code>connector</code> section, the <code>relativePath</code> and the <code>sudoCommands</code>,</li>
+ * <li>the <code>type</code> of each metric definition,</li>
+ * <li>each monitor and its <code>discovery</code>, <code>collect</code> and <code>simple</code> jobs, with only the
+ * <code>type</code> of their sources and the <code>attributes</code> and <code>metrics</code> of their mapping,</li>
+ * <li>every textual value using a <code>${var::name}</code> placeholder, wherever it is located, so that the
+ * variables are listed with the same locations.</li>
+ * </ul>
+ * The kept subtrees are shared with the resolved connector, not copied, and the fields keep their document order.
+ * The other objects are rebuilt with maps sized for their remaining fields.
+ * The array elements that are dropped before a kept element are replaced by <code>null</code>, so that the kept
+ * elements keep their index.
+ * </p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ConnectorProjection {
+
+	private static final String[] MONITOR_JOBS = { "discovery", "collect", "simple" };
+
+	private static final String[] MAPPING_SECTIONS = { "attributes", "metrics" };
+
+	private static final float LOAD_FACTOR = 0.75f;
+
+	/**
+	 * Projects the given resolved connector.
+	 *
+	 * @param connector        The resolved connector, left unchanged.
+	 * @param placeholderIndex The index of the placeholders of the resolved connector.
+	 * @return A new tree holding the subtrees read by the page producers.
+	 */
+	public static JsonNode project(final JsonNode connector, final PlaceholderIndex placeholderIndex) {
+		return project(connector, placeholderIndex, null);
+	}
+
+	/**
+	 * Projects the given resolved connector, recording the containers rebuilt by the projection as owned by the
+	 * given overlay tree. The kept subtrees keep their status.
+	 *
+	 * @param connector        The resolved connector, left unchanged.
+	 * @param placeholderIndex The index of the placeholders of the resolved connector.
+	 * @param overlayTree      The resolved view of the connector, <code>null</code> if the owned nodes are not tracked.
+	 * @return A new tree holding the subtrees read by the page producers.
+	 */
+	public static JsonNode project(
+		final JsonNode connector,
+		final PlaceholderIndex placeholderIndex,
+		final OverlayTree overlayTree
+	) {
+		final Selection selection = new Selection(overlayTree);
+
+		selection.keep(JsonPointer.compile("/connector"));
+		selection.keep(JsonPointer.compile("/relativePath"));
+		selection.keep(JsonPointer.compile("/sudoCommands"));
+
+		final JsonPointer metricsPointer = JsonPointer.compile("/metrics");
+		final Iterator<String> metricNames = connector.path("metrics").fieldNames();
+		while (metricNames.hasNext()) {
+			final JsonPointer metricPointer = metricsPointer.appendProperty(metricNames.next());
+			selection.include(metricPointer);
+			selection.keep(metricPointer.appendProperty("type"));
+		}
+
+		final JsonPointer monitorsPointer = JsonPointer.compile("/monitors");
+		final Iterator<Entry<String, JsonNode>> monitors = connector.path("monitors").fields();
+		while (monitors.hasNext()) {
+			final Entry<String, JsonNode> monitor = monitors.next();
+			final JsonPointer monitorPointer = monitorsPointer.appendProperty(monitor.getKey());
+			selection.include(monitorPointer);
+			for (String jobName : MONITOR_JOBS) {
+				final JsonNode job = monitor.getValue().get(jobName);
+				if (job != null) {
+					selectJob(selection, job, monitorPointer.appendProperty(jobName));
+				}
+			}
+		}
+
+		// The variables are listed with their locations, wherever they are used
+		placeholderIndex.getPointers(PlaceholderIndex.VARIABLE).forEach(selection::keep);
+
+		return selection.project(connector, JsonPointer.empty());
+	}
+
+	/**
+	 * Selects the type of the sources and the attributes and metrics of the mapping of the given monitor job.
+	 *
+	 * @param selection  The selection of the projected connector.
+	 * @param job        The monitor job.
+	 * @param jobPointer The pointer of the monitor job.
+	 */
+	private static void selectJob(final Selection selection, final JsonNode job, final JsonPointer jobPointer) {
+		selection.include(jobPointer);
+
+		final JsonNode sources = job.get("sources");
+		if (sources != null) {
+			final JsonPointer sourcesPointer = jobPointer.appendProperty("sources");
+			selection.include(sourcesPointer);
+			final Iterator<String> sourceNames = sources.fieldNames();
+			while (sourceNames.hasNext()) {
+				final JsonPointer sourcePointer = sourcesPointer.appendProperty(sourceNames.next());
+				selection.include(sourcePointer);
+				selection.keep(sourcePointer.appendProperty("type"));
+			}
+		}
+
+		if (job.get("mapping") != null) {
+			final JsonPointer mappingPointer = jobPointer.appendProperty("mapping");
+			selection.include(mappingPointer);
+			for (String section : MAPPING_SECTIONS) {
+				selection.keep(mappingPointer.appendProperty(section));
+			}
+		}
+	}
+
+	/**
+	 * The nodes selected by the projection: the kept nodes are retained with their whole subtree, the included
+	 * containers are retained with their selected children only.
+	 */
+	private static class Selection {
+
+		private final Set<JsonPointer> keptPointers = new HashSet<>();
+
+		private final Set<JsonPointer> includedPointers = new HashSet<>();
+
+		private final OverlayTree overlayTree;
+
+		/**
+		 * Constructs an empty selection.
+		 *
+		 * @param overlayTree The overlay tree recording the rebuilt containers, <code>null</code> if not tracked.
+		 */
+		Selection(final OverlayTree overlayTree) {
+			this.overlayTree = overlayTree;
+		}
+
+		/**
+		 * Keeps the node located at the given pointer with its whole subtree, and includes its ancestors.
+		 *
+		 * @param pointer The pointer of the node.
+		 */
+		void keep(final JsonPointer pointer) {
+			keptPointers.add(pointer);
+			include(pointer);
+		}
+
+		/**
+		 * Includes the node located at the given pointer, and its ancestors.
+		 *
+		 * @param pointer The pointer of the node.
+		 */
+		void include(final JsonPointer pointer) {
+			for (JsonPointer ancestor = pointer; ancestor != null; ancestor = ancestor.head()) {
+				if (!includedPointers.add(ancestor)) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Projects the given node, walking only the included containers in document order.
+		 *
+		 * @param node    The node of the resolved connector.
+		 * @param pointer The pointer of the node.
+		 * @return The projected node, or <code>null</code> if the node is not selected.
+		 */
+		JsonNode project(final JsonNode node, final JsonPointer pointer) {
+			if (keptPointers.contains(pointer) || (!node.isContainerNode() && includedPointers.contains(pointer))) {
+				return node;
+			}
+			if (!includedPointers.contains(pointer)) {
+				return null;
+			}
+
+			if (node.isArray()) {
+				final ArrayNode projectedArray = JsonNodeFactory.instance.arrayNode();
+				for (int i = 0; i < node.size(); i++) {
+					final JsonNode projectedElement = project(node.get(i), pointer.appendIndex(i));
+					if (projectedElement != null) {
+						while (projectedArray.size() < i) {
+							projectedArray.addNull();
+						}
+						projectedArray.add(projectedElement);
+					}
+				}
+				return track(projectedArray);
+			}
+
+			final List<Entry<String, JsonNode>> projectedFields = new ArrayList<>();
+			final Iterator<Entry<String, JsonNode>> fields = node.fields();
+			while (fields.hasNext()) {
+				final Entry<String, JsonNode> field = fields.next();
+				final JsonNode projectedField = project(field.getValue(), pointer.appendProperty(field.getKey()));
+				if (projectedField != null) {
+					projectedFields.add(Map.entry(field.getKey(), projectedField));
+				}
+			}
+
+			// Most projected objects hold a few fields, their map is sized accordingly
+			final Map<String, JsonNode> children = new LinkedHashMap<>(
+				(int) Math.ceil(projectedFields.size() / LOAD_FACTOR),
+				LOAD_FACTOR
+			);
+			projectedFields.forEach(field -> children.put(field.getKey(), field.getValue()));
+			return track(new ObjectNode(JsonNodeFactory.instance, children));
+		}
+
+		/**
+		 * Record the given rebuilt container as owned by the {@link #overlayTree}, if any.
+		 *
+		 * @param container The rebuilt container.
+		 * @return The container.
+		 */
+		private JsonNode track(final JsonNode container) {
+			if (overlayTree != null) {
+				overlayTree.ownContainer(container);
+			}
+			return container;
+		}
+	}
+}
@@ -21,79 +21,233 @@ package org.sentrysoftware.maven.metricshub.connector.parser;
  */
 
 import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.function.Predicate;
-import java.util.function.UnaryOperator;
+import java.util.function.Function;
 
 /**
- * The constant processor performs constant replacements over a {@link JsonNode} instance
+ * The constant processor performs constant replacements over a {@link JsonNode} instance.
+ * <p>
+ * The values of the <em>constants</em> section are resolved once: a constant may reference other constants,
+ * and a cycle between constants is reported as an error. Then each scalar referencing constants, as recorded
+ * in the {@link PlaceholderIndex}, is scanned once for <code>${constant::name}</code> references by the
+ * {@link JsonNodeUpdater}, the names being looked up in the resolved constants. A reference to an unknown constant
+ * is left as is.
+ * </p>
+ * <p>
+ * When the connector is an {@link OverlayTree}, the replaced values are set through it, so that the sections
+ * shared with the extended connectors are copied instead of modified.
+ * </p>
  */
 public class ConstantsProcessor extends AbstractNodeProcessor {
 
 	/**
-	 * Constants Pattern
+	 * The beginning of a constant reference, e.g. <code>${constant::_OID}</code>
 	 */
-	private static final String CONSTANTS_REFERENCE_PATTERN = "${constant::%s}";
+	private static final String CONSTANT_REFERENCE_PREFIX = "${constant::";
+
+	/**
+	 * The end of a constant reference
+	 */
+	private static final char CONSTANT_REFERENCE_SUFFIX = '}';
+
+	/**
+	 * The index of the placeholders of the processed connector
+	 */
+	private final PlaceholderIndex placeholderIndex;
+
+	/**
+	 * The resolved view of the processed connector, <code>null</code> if the connector tree is not shared
+	 */
+	private final OverlayTree overlayTree;
 
 	/**
 	 * Constructs a ConstantsProcessor without a next processor.
 	 */
 	public ConstantsProcessor() {
+		this(new PlaceholderIndex());
+	}
+
+	/**
+	 * Constructs a ConstantsProcessor without a next processor, filling the given index with the placeholders
+	 * of the processed connector.
+	 *
+	 * @param placeholderIndex The index of the placeholders, rebuilt for each processed connector.
+	 */
+	public ConstantsProcessor(final PlaceholderIndex placeholderIndex) {
+		this(placeholderIndex, null);
+	}
+
+	/**
+	 * Constructs a ConstantsProcessor without a next processor, filling the given index with the placeholders
+	 * of the processed connector and setting the replaced values through the given overlay tree.
+	 *
+	 * @param placeholderIndex The index of the placeholders, rebuilt for each processed connector.
+	 * @param overlayTree      The resolved view of the processed connector, <code>null</code> if it is not shared.
+	 */
+	public ConstantsProcessor(final PlaceholderIndex placeholderIndex, final OverlayTree overlayTree) {
 		super(null);
+		this.placeholderIndex = placeholderIndex;
+		this.overlayTree = overlayTree;
 	}
 
 	@Override
-	public JsonNode processNode(final JsonNode node) {
+	public JsonNode processNode(final JsonNode node) throws IOException {
+		placeholderIndex.index(node);
+
 		final JsonNode constantsNode = node.get("constants");
 
 		if (constantsNode != null && constantsNode.isObject()) {
-			final List<String> constantKeys = new ArrayList<>(constantsNode.size());
-			constantsNode.fieldNames().forEachRemaining(constantKeys::add);
+			final Map<String, String> constants = resolveConstants(constantsNode);
 
-			final Map<String, String> replacements = new HashMap<>();
-			for (String key : constantKeys) {
-				final JsonNode child = constantsNode.get(key);
-				replacements.put(String.format(CONSTANTS_REFERENCE_PATTERN, key), child.asText());
-			}
+			// Only the values referencing constants are visited
+			JsonNodeUpdater
+				.builder()
+				.withJsonNode(node)
+				.withUpdater(value -> performReplacements(constants, value))
+				.withPredicate(Objects::nonNull)
+				.withPointers(placeholderIndex.getPointers(PlaceholderIndex.CONSTANT))
+				.withOverlayTree(overlayTree)
+				.withUpdateListener(placeholderIndex::update)
+				.build()
+				.update();
+		}
+
+		return node;
+	}
+
+	/**
+	 * Resolve the values of the given <em>constants</em> section, replacing the references to other constants.
+	 *
+	 * @param constantsNode The <em>constants</em> section.
+	 * @return The resolved value of each constant, indexed by constant name.
+	 * @throws IOException If constants reference each other in a cycle.
+	 */
+	static Map<String, String> resolveConstants(final JsonNode constantsNode) throws IOException {
+		final Map<String, String> rawConstants = new HashMap<>();
+		final Iterator<Entry<String, JsonNode>> fields = constantsNode.fields();
+		while (fields.hasNext()) {
+			final Entry<String, JsonNode> field = fields.next();
+			rawConstants.put(field.getKey(), field.getValue().asText());
+		}
 
-			final UnaryOperator<String> updater = value -> performReplacements(replacements, value);
+		final Map<String, String> resolvedConstants = new HashMap<>();
+		final List<String> resolutionPath = new ArrayList<>();
+		for (String name : rawConstants.keySet()) {
+			resolveConstant(name, rawConstants, resolvedConstants, resolutionPath);
+		}
 
-			final Predicate<String> predicate = Objects::nonNull;
+		return resolvedConstants;
+	}
+
+	/**
+	 * Resolve the given constant, after the constants it references. Each constant is resolved once.
+	 *
+	 * @param name              The name of the constant to resolve.
+	 * @param rawConstants      The values of the constants as defined in the connector.
+	 * @param resolvedConstants The constants resolved so far.
+	 * @param resolutionPath    The constants being resolved, used to detect cycles.
+	 * @throws IOException If the constant references itself, directly or not.
+	 */
+	private static void resolveConstant(
+		final String name,
+		final Map<String, String> rawConstants,
+		final Map<String, String> resolvedConstants,
+		final List<String> resolutionPath
+	) throws IOException {
+		final String rawValue = rawConstants.get(name);
+		if (rawValue == null || resolvedConstants.containsKey(name)) {
+			return;
+		}
 
-			JsonNodeUpdater.builder().withJsonNode(node).withUpdater(updater).withPredicate(predicate).build().update();
+		if (resolutionPath.contains(name)) {
+			final List<String> cycle = new ArrayList<>(
+				resolutionPath.subList(resolutionPath.indexOf(name), resolutionPath.size())
+			);
+			cycle.add(name);
+			throw new IOException("Cyclic constant reference detected: " + String.join(" -> ", cycle));
 		}
 
-		return node;
+		// Resolve the referenced constants first
+		final List<String> referencedNames = new ArrayList<>();
+		substitute(
+			rawValue,
+			referencedName -> {
+				referencedNames.add(referencedName);
+				return null;
+			}
+		);
+
+		resolutionPath.add(name);
+		for (String referencedName : referencedNames) {
+			resolveConstant(referencedName, rawConstants, resolvedConstants, resolutionPath);
+		}
+		resolutionPath.remove(resolutionPath.size() - 1);
+
+		resolvedConstants.put(name, substitute(rawValue, resolvedConstants::get));
 	}
 
 	/**
-	 * Replace placeholders in the given value with corresponding values from the provided
-	 * key-value pairs in the replacements {@link Map}.
+	 * Replace the constant references in the given value with the corresponding resolved constants.
+	 * The value is scanned once, and returned as is when it does not reference any known constant.
 	 *
-	 * @param replacements Key-value pairs representing placeholders and their replacement values.
-	 *                     <br>Example: { $constants.query1=MyQuery1, $constants.query2=MyQuery2 }
-	 * @param value        The string to be replaced.
-	 * @return A new {@link String} with the placeholders replaced.
+	 * @param constants The resolved constants, indexed by constant name.
+	 *                  <br>Example: { _OID=1.3.6.1.2.1.2.2.1, _QUERY=SELECT * FROM Table }
+	 * @param value     The string to be replaced.
+	 * @return The value with the constant references replaced.
 	 */
-	private String performReplacements(final Map<String, String> replacements, String value) {
+	static String performReplacements(final Map<String, String> constants, final String value) {
 		if (value == null || value.isEmpty()) {
 			return value;
 		}
 
-		// Loop over each placeholder and perform replacement
-		for (final Entry<String, String> entry : replacements.entrySet()) {
-			final String key = entry.getKey();
-			if (value.contains(key)) {
-				value = value.replace(key, entry.getValue());
+		return substitute(value, constants::get);
+	}
+
+	/**
+	 * Scan the given value once and replace each constant reference with the value returned by the lookup function.
+	 *
+	 * @param value  The string to be replaced.
+	 * @param lookup Returns the value of the given constant name, or <code>null</code> to keep the reference as is.
+	 * @return The value with the constant references replaced, the same instance if nothing has been replaced.
+	 */
+	private static String substitute(final String value, final Function<String, String> lookup) {
+		StringBuilder builder = null;
+		int copied = 0;
+		int searchFrom = 0;
+		int referenceStart;
+		while ((referenceStart = value.indexOf(CONSTANT_REFERENCE_PREFIX, searchFrom)) >= 0) {
+			final int nameStart = referenceStart + CONSTANT_REFERENCE_PREFIX.length();
+			final int referenceEnd = value.indexOf(CONSTANT_REFERENCE_SUFFIX, nameStart);
+			if (referenceEnd < 0) {
+				break;
 			}
+
+			final String constant = lookup.apply(value.substring(nameStart, referenceEnd));
+			if (constant == null) {
+				// Unknown constant, the reference is kept
+				searchFrom = nameStart;
+				continue;
+			}
+
+			if (builder == null) {
+				builder = new StringBuilder(value.length() + constant.length());
+			}
+			builder.append(value, copied, referenceStart).append(constant);
+			copied = referenceEnd + 1;
+			searchFrom = copied;
+		}
+
+		if (builder == null) {
+			return value;
 		}
 
-		// return the new value
-		return value;
+		return builder.append(value, copied, value.length()).toString();
 	}
 }
@@ -0,0 +1,217 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Library-wide dependency graph of the <em>extends</em> sections.
+ * <p>
+ * Each YAML file of the library is a vertex, and each entry of its <em>extends</em> section is an edge to the
+ * extended file. All the paths are absolute and normalized, so that they can be used as keys by the
+ * {@link HeaderCache}. The graph is built during the scan of the library, then it is only read.
+ * </p>
+ */
+public class ExtendsGraph {
+
+	private final Path rootDirectory;
+
+	private final Map<Path, List<Path>> extendedFiles = new LinkedHashMap<>();
+
+	/**
+	 * Constructs an empty graph for the library located under the given directory.
+	 *
+	 * @param rootDirectory The directory of the connector library, used to display relative paths.
+	 */
+	public ExtendsGraph(final Path rootDirectory) {
+		this.rootDirectory = normalize(rootDirectory);
+	}
+
+	/**
+	 * Normalizes the given path so that the same file is always represented by the same {@link Path}.
+	 *
+	 * @param path The path to normalize.
+	 * @return The absolute and normalized path.
+	 */
+	public static Path normalize(final Path path) {
+		return path.toAbsolutePath().normalize();
+	}
+
+	/**
+	 * Resolves an entry of the <em>extends</em> section against the directory of the file declaring it.
+	 *
+	 * @param directory        The directory of the file declaring the <em>extends</em> section.
+	 * @param extendedFileName The entry of the <em>extends</em> section, e.g. <code>../Hardware/Hardware</code>.
+	 * @return The absolute and normalized path of the extended file.
+	 */
+	public static Path resolveExtendedFile(final Path directory, final String extendedFileName) {
+		return normalize(directory.resolve(extendedFileName + ".yaml"));
+	}
+
+	/**
+	 * Records a file and the entries of its <em>extends</em> section.
+	 *
+	 * @param file              The YAML file.
+	 * @param extendedFileNames The entries of the <em>extends</em> section, in their declaration order.
+	 */
+	public void addFile(final Path file, final List<String> extendedFileNames) {
+		final List<Path> extendedPaths = extendedFileNames
+			.stream()
+			.map(extendedFileName -> resolveExtendedFile(file.getParent(), extendedFileName))
+			.toList();
+		extendedFiles.put(normalize(file), extendedPaths);
+	}
+
+	/**
+	 * Gets the files directly extended by the given file.
+	 *
+	 * @param file The file.
+	 * @return The extended files in their declaration order, an empty list if the file is unknown or extends nothing.
+	 */
+	public List<Path> getExtendedFiles(final Path file) {
+		return extendedFiles.getOrDefault(normalize(file), Collections.emptyList());
+	}
+
+	/**
+	 * Gets all the files extended by the given file, directly or through other extended files.
+	 *
+	 * @param file The file.
+	 * @return The transitively extended files, in depth-first declaration order.
+	 */
+	public Set<Path> getTransitiveExtendedFiles(final Path file) {
+		final Set<Path> result = new LinkedHashSet<>();
+		collectTransitiveExtendedFiles(normalize(file), result);
+		return result;
+	}
+
+	/**
+	 * Adds the files extended by the given file to the result, recursively.
+	 *
+	 * @param file   The file.
+	 * @param result The set of files collected so far.
+	 */
+	private void collectTransitiveExtendedFiles(final Path file, final Set<Path> result) {
+		for (Path extendedFile : getExtendedFiles(file)) {
+			if (result.add(extendedFile)) {
+				collectTransitiveExtendedFiles(extendedFile, result);
+			}
+		}
+	}
+
+	/**
+	 * Whether the given file has been scanned, i.e. whether its <em>extends</em> section is known.
+	 *
+	 * @param file The file.
+	 * @return <code>true</code> if the file has been recorded in the graph, otherwise <code>false</code>.
+	 */
+	public boolean contains(final Path file) {
+		return extendedFiles.containsKey(normalize(file));
+	}
+
+	/**
+	 * Sorts the given files and all the files they extend, transitively, so that each file comes after
+	 * the files it extends.
+	 *
+	 * @param files The files to sort, typically the connectors of the library.
+	 * @return The files in topological order.
+	 * @throws IOException If a cycle is found between the <em>extends</em> sections. The message contains the cycle path.
+	 */
+	public List<Path> topologicalOrder(final Collection<Path> files) throws IOException {
+		final Set<Path> sorted = new LinkedHashSet<>();
+		final List<Path> visiting = new ArrayList<>();
+		for (Path file : files) {
+			visit(normalize(file), visiting, sorted);
+		}
+		return new ArrayList<>(sorted);
+	}
+
+	/**
+	 * Depth-first visit of the given file, adding it to the sorted set once all its extended files have been added.
+	 *
+	 * @param file     The file to visit.
+	 * @param visiting The files currently being visited, from the first visited file to the given file's child.
+	 * @param sorted   The files already sorted.
+	 * @throws IOException If a cycle is found.
+	 */
+	private void visit(final Path file, final List<Path> visiting, final Set<Path> sorted) throws IOException {
+		if (sorted.contains(file)) {
+			return;
+		}
+
+		final int index = visiting.indexOf(file);
+		if (index >= 0) {
+			final List<Path> cycle = new ArrayList<>(visiting.subList(index, visiting.size()));
+			cycle.add(file);
+			throw new IOException("Cyclic extends detected: " + formatPath(cycle));
+		}
+
+		visiting.add(file);
+		for (Path extendedFile : getExtendedFiles(file)) {
+			visit(extendedFile, visiting, sorted);
+		}
+		visiting.remove(visiting.size() - 1);
+
+		sorted.add(file);
+	}
+
+	/**
+	 * Formats the given chain of files, relatively to the library directory.
+	 *
+	 * @param files The chain of files.
+	 * @return A string such as <code>a/A.yaml -&gt; b/B.yaml -&gt; a/A.yaml</code>.
+	 */
+	public String formatPath(final List<Path> files) {
+		return files
+			.stream()
+			.map(rootDirectory::relativize)
+			.map(Path::toString)
+			.map(path -> path.replace('\\', '/'))
+			.collect(Collectors.joining(" -> "));
+	}
+
+	/**
+	 * Gets the files recorded in the graph.
+	 *
+	 * @return An unmodifiable set of normalized paths, in the order they have been recorded.
+	 */
+	public Set<Path> getFiles() {
+		return Collections.unmodifiableSet(extendedFiles.keySet());
+	}
+
+	/**
+	 * Gets the number of files recorded in the graph.
+	 *
+	 * @return The number of scanned YAML files.
+	 */
+	public int size() {
+		return extendedFiles.size();
+	}
+}
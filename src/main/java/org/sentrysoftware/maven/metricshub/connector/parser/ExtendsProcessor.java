@@ -24,8 +24,11 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Iterator;
+import java.util.Map;
 import org.sentrysoftware.maven.metricshub.connector.Constants;
 
 /**
@@ -33,7 +36,23 @@ import org.sentrysoftware.maven.metricshub.connector.Constants;
  * <p>
  * This processor is designed to handle the merging of extended connectors specified under the "extends" section
  * of a given JSON node. The merging process involves recursively combining extended connectors and the provided
- * JSON node. The merging logic is implemented in the {@link #doMerge(JsonNode)} method.
+ * JSON node. The merging logic is implemented in the {@link #doMerge(JsonNode, Path, boolean, Map)} method.
+ * </p>
+ * <p>
+ * When an overlaid {@link OverlayTree} is given, the extended connectors are not copied: the connector is overlaid on
+ * the read-only trees served by the {@link HeaderCache}, and only the sections present on both sides are rebuilt.
+ * Otherwise the connector is merged into copies of its extended connectors.
+ * </p>
+ * <p>
+ * The entries of an <em>extends</em> section are resolved against the directory of the file declaring them, as in
+ * the {@link ExtendsGraph}: the connector directory for the connector itself, the directory of an extended connector
+ * for its own <em>extends</em> section. An extended connector therefore resolves to the same tree whatever the
+ * connector extending it, which is what allows the {@link HeaderCache} to resolve it once.
+ * </p>
+ * <p>
+ * The <em>extends</em> sections are expected to be acyclic: a cycle is reported by
+ * {@link ExtendsGraph#topologicalOrder(java.util.Collection)} when the library is scanned, before any connector is
+ * resolved.
  * </p>
  * @see AbstractNodeProcessor
  */
@@ -41,6 +60,14 @@ public class ExtendsProcessor extends AbstractNodeProcessor {
 
 	private final Path connectorDirectory;
 
+	private final HeaderCache headerCache;
+
+	/**
+	 * The resolved view of the processed connector, deciding whether it is overlaid on the extended connectors or
+	 * merged into copies of them
+	 */
+	private final OverlayTree overlayTree;
+
 	/**
 	 * Constructs a new instance of ExtendsProcessor with the specified connector
 	 * directory, YAML ObjectMapper, and optional next processor.
@@ -49,13 +76,46 @@ public class ExtendsProcessor extends AbstractNodeProcessor {
 	 * @param next               The next processor in the processing chain.
 	 */
 	public ExtendsProcessor(Path connectorDirectory, AbstractNodeProcessor next) {
+		this(connectorDirectory, null, next);
+	}
+
+	/**
+	 * Constructs a new instance of ExtendsProcessor with the specified connector
+	 * directory, header cache, and optional next processor.
+	 *
+	 * @param connectorDirectory The directory path for connectors.
+	 * @param headerCache        The cache of resolved extended connectors, <code>null</code> to always read them from disk.
+	 * @param next               The next processor in the processing chain.
+	 */
+	public ExtendsProcessor(Path connectorDirectory, HeaderCache headerCache, AbstractNodeProcessor next) {
+		this(connectorDirectory, headerCache, null, next);
+	}
+
+	/**
+	 * Constructs a new instance of ExtendsProcessor with the specified connector
+	 * directory, header cache, overlay tree and optional next processor.
+	 *
+	 * @param connectorDirectory The directory path for connectors.
+	 * @param headerCache        The cache of resolved extended connectors, <code>null</code> to always read them from disk.
+	 * @param overlayTree        The resolved view of the processed connector, <code>null</code> to merge into copies.
+	 * @param next               The next processor in the processing chain.
+	 */
+	public ExtendsProcessor(
+		Path connectorDirectory,
+		HeaderCache headerCache,
+		OverlayTree overlayTree,
+		AbstractNodeProcessor next
+	) {
 		super(next);
 		this.connectorDirectory = connectorDirectory;
+		this.headerCache = headerCache;
+		this.overlayTree = overlayTree != null ? overlayTree : OverlayTree.ofOwnedTree();
 	}
 
 	@Override
 	public JsonNode processNode(JsonNode node) throws IOException {
-		return doMerge(node);
+		overlayTree.own(node);
+		return doMerge(node, connectorDirectory, true, null);
 	}
 
 	/**
@@ -68,11 +128,15 @@ public class ExtendsProcessor extends AbstractNodeProcessor {
 	 * <br>
 	 * A recursive merge is applied for each extended connector because it can extend another connector too. That's why doMerge
 	 * is called for each extended connector.
-	 * @param node {@link JsonNode} to process
+	 * @param node      {@link JsonNode} to process
+	 * @param directory The directory of the file defining the node, used to resolve the relative paths of its extended connectors
+	 * @param connector Whether the node is the processed connector, otherwise an extended connector that may be shared
+	 * @param fileVersions The map receiving the versions of the extended files, <code>null</code> if not needed
 	 * @return {@link JsonNode} instance
 	 * @throws IOException
 	 */
-	private JsonNode doMerge(JsonNode node) throws IOException {
+	private JsonNode doMerge(JsonNode node, Path directory, boolean connector, Map<Path, String> fileVersions)
+		throws IOException {
 		JsonNode extNode = node.get("extends");
 
 		JsonNode result = node;
@@ -82,33 +146,91 @@ public class ExtendsProcessor extends AbstractNodeProcessor {
 
 			JsonNode extended = null;
 			if (iter.hasNext()) {
-				extended = doMerge(getJsonNode(iter));
+				extended = getJsonNode(iter, directory, fileVersions);
 				while (iter.hasNext()) {
-					final JsonNode extendedNext = doMerge(getJsonNode(iter));
-					merge(extended, extendedNext);
+					final JsonNode extendedNext = getJsonNode(iter, directory, fileVersions);
+					extended = mergeExtended(extended, extendedNext, connector);
 				}
 			}
 
 			extNodeArray.removeAll();
 
 			if (extended != null) {
-				result = merge(extended, node);
+				result = mergeExtended(extended, node, connector);
 			}
 		}
 		return result;
 	}
 
 	/**
-	 * Gets the next {@link JsonNode} from the iterator
+	 * Merges the given node into the given extended connector, as decided by the {@link OverlayTree}.
 	 *
-	 * @param iterator {@link Iterator} over a collection of {@link JsonNode}
-	 * @return {@link JsonNode} object
+	 * @param extended  The extended connector.
+	 * @param node      The node overriding the extended connector.
+	 * @param connector Whether the merged sections belong to the processed connector.
+	 * @return {@link JsonNode} merged
+	 */
+	private JsonNode mergeExtended(JsonNode extended, JsonNode node, boolean connector) {
+		return connector ? overlayTree.merge(extended, node) : overlayTree.mergeExtended(extended, node);
+	}
+
+	/**
+	 * Gets the next extended connector from the iterator, with its own extended connectors already merged.<br>
+	 * The extended connector is served by the {@link HeaderCache} when available, otherwise it is read from disk.
+	 *
+	 * @param iterator  {@link Iterator} over a collection of {@link JsonNode}
+	 * @param directory The directory against which the extended connector path is resolved
+	 * @param fileVersions The map receiving the versions of the extended files, <code>null</code> if not needed
+	 * @return {@link JsonNode} object that can be safely modified, or the shared cached tree when the connector is
+	 *         overlaid on its extended connectors
 	 * @throws IOException
 	 */
-	private JsonNode getJsonNode(Iterator<JsonNode> iterator) throws IOException {
-		return Constants.YAML_OBJECT_MAPPER.readTree(
-			connectorDirectory.resolve(iterator.next().asText() + ".yaml").toFile()
-		);
+	private JsonNode getJsonNode(Iterator<JsonNode> iterator, Path directory, Map<Path, String> fileVersions)
+		throws IOException {
+		final Path headerFile = ExtendsGraph.resolveExtendedFile(directory, iterator.next().asText());
+
+		if (headerCache == null) {
+			return loadHeader(headerFile, fileVersions);
+		}
+
+		if (overlayTree.isOverlaid()) {
+			return headerCache.getShared(headerFile, this::loadHeader, fileVersions);
+		}
+
+		return headerCache.get(headerFile, this::loadHeader, fileVersions);
+	}
+
+	/**
+	 * Reads the given extended connector file and merges its own extended connectors.
+	 *
+	 * @param headerFile The extended connector file
+	 * @return {@link JsonNode} object
+	 * @throws IOException if the file cannot be read
+	 */
+	public JsonNode loadHeader(final Path headerFile) throws IOException {
+		return loadHeader(headerFile, null);
+	}
+
+	/**
+	 * Reads the given extended connector file and merges its own extended connectors, recording the versions of the
+	 * files they are resolved from.
+	 *
+	 * @param headerFile   The extended connector file
+	 * @param fileVersions The map receiving the versions of the files extended by the header, as served by the
+	 *                     {@link HeaderCache}, <code>null</code> if not needed
+	 * @return {@link JsonNode} object
+	 * @throws IOException if the file cannot be read
+	 */
+	public JsonNode loadHeader(final Path headerFile, final Map<Path, String> fileVersions) throws IOException {
+		try (InputStream inputStream = Files.newInputStream(headerFile)) {
+			// Read through the file system of the path, the header may be an entry of a connectors archive
+			return doMerge(
+				Constants.YAML_OBJECT_MAPPER.readTree(inputStream),
+				headerFile.getParent(),
+				false,
+				fileVersions
+			);
+		}
 	}
 
 	/**
@@ -0,0 +1,287 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * Cache of the resolved extended connectors (headers such as <em>Hardware.yaml</em> or <em>MIB2-header.yaml</em>).
+ * <p>
+ * A header is read, parsed and resolved (i.e. merged with its own extended connectors) once, then each
+ * connector extending it receives a deep copy of the cached {@link JsonNode}, so that the cached tree is never
+ * altered by the merge and the constants replacement. The overlay merge (see {@link OverlayTree}) reads the
+ * cached tree itself through {@link #getShared(Path, HeaderLoader)}.
+ * </p>
+ * <p>
+ * The entries are keyed by the normalized path of the header file. Each entry records the size and the last
+ * modification time of the header file and of all the files it extends, transitively, since the cached tree is
+ * resolved from all of them: a header is loaded again as soon as one of these files is modified, and the new
+ * version replaces the previous one.
+ * </p>
+ * <p>
+ * When a {@link SymbolTable} is given, each header is interned before it is cached, so the trees shared by the
+ * overlay merge are never modified by the interning of the connectors.
+ * </p>
+ * This class is thread-safe. Under concurrent parsing, a header requested at the same time by several threads
+ * may be loaded more than once, only the first loaded tree is kept.
+ */
+public class HeaderCache {
+
+	/**
+	 * Loads and resolves a header file.
+	 */
+	@FunctionalInterface
+	public interface HeaderLoader {
+		/**
+		 * Load the given header file and resolve its extended connectors.
+		 *
+		 * @param headerFile   The normalized path of the header file.
+		 * @param fileVersions The map receiving the version of each file extended by the header, transitively, as
+		 *                     served by {@link HeaderCache#getShared(Path, HeaderLoader, Map)}.
+		 * @return The resolved header as a {@link JsonNode}.
+		 * @throws IOException If the header cannot be read or processed.
+		 */
+		JsonNode load(Path headerFile, Map<Path, String> fileVersions) throws IOException;
+	}
+
+	/**
+	 * A resolved header.
+	 *
+	 * @param fileVersions The version of the header file and of each file it extends, transitively, when the header
+	 *                     has been loaded.
+	 * @param header       The resolved header.
+	 */
+	private record HeaderEntry(Map<Path, String> fileVersions, JsonNode header) {}
+
+	/**
+	 * The last loaded version of each header, by normalized path
+	 */
+	private final Map<Path, HeaderEntry> headers = new ConcurrentHashMap<>();
+
+	/**
+	 * The table interning the headers before they are cached, <code>null</code> to cache them as loaded.
+	 */
+	@Getter
+	private final SymbolTable symbolTable;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Constructs a cache keeping the headers as loaded.
+	 */
+	public HeaderCache() {
+		this(null);
+	}
+
+	/**
+	 * Constructs a cache interning the headers with the given symbol table.
+	 *
+	 * @param symbolTable The table interning the headers before they are cached, <code>null</code> to keep them as is.
+	 */
+	public HeaderCache(final SymbolTable symbolTable) {
+		this.symbolTable = symbolTable;
+	}
+
+	/**
+	 * Get a copy of the resolved header located at the given path. The header is loaded through the given
+	 * loader if it is not cached yet.
+	 *
+	 * @param headerFile The path of the header file.
+	 * @param loader     The loader used to read and resolve the header on a cache miss.
+	 * @return A deep copy of the resolved header that the caller is free to modify.
+	 * @throws IOException If the header file attributes cannot be read or if the loader fails.
+	 */
+	public JsonNode get(final Path headerFile, final HeaderLoader loader) throws IOException {
+		return get(headerFile, loader, null);
+	}
+
+	/**
+	 * Get a copy of the resolved header located at the given path, as {@link #get(Path, HeaderLoader)}, and record
+	 * the versions of the files it has been resolved from.
+	 *
+	 * @param headerFile   The path of the header file.
+	 * @param loader       The loader used to read and resolve the header on a cache miss.
+	 * @param fileVersions The map receiving the version of the header file and of each file it extends,
+	 *                     <code>null</code> if not needed.
+	 * @return A deep copy of the resolved header that the caller is free to modify.
+	 * @throws IOException If the header file attributes cannot be read or if the loader fails.
+	 */
+	public JsonNode get(final Path headerFile, final HeaderLoader loader, final Map<Path, String> fileVersions)
+		throws IOException {
+		return getShared(headerFile, loader, fileVersions).deepCopy();
+	}
+
+	/**
+	 * Get the resolved header located at the given path, as cached. The header is loaded through the given
+	 * loader if it is not cached yet.
+	 *
+	 * @param headerFile The path of the header file.
+	 * @param loader     The loader used to read and resolve the header on a cache miss.
+	 * @return The cached header, shared by all the callers, which must not be modified.
+	 * @throws IOException If the header file attributes cannot be read or if the loader fails.
+	 */
+	public JsonNode getShared(final Path headerFile, final HeaderLoader loader) throws IOException {
+		return getShared(headerFile, loader, null);
+	}
+
+	/**
+	 * Get the resolved header located at the given path, as {@link #getShared(Path, HeaderLoader)}, and record the
+	 * versions of the files it has been resolved from.
+	 *
+	 * @param headerFile   The path of the header file.
+	 * @param loader       The loader used to read and resolve the header on a cache miss.
+	 * @param fileVersions The map receiving the version of the header file and of each file it extends,
+	 *                     <code>null</code> if not needed.
+	 * @return The cached header, shared by all the callers, which must not be modified.
+	 * @throws IOException If the header file attributes cannot be read or if the loader fails.
+	 */
+	public JsonNode getShared(final Path headerFile, final HeaderLoader loader, final Map<Path, String> fileVersions)
+		throws IOException {
+		final Path normalizedPath = ExtendsGraph.normalize(headerFile);
+
+		HeaderEntry entry = headers.get(normalizedPath);
+		if (entry != null && isCurrent(entry)) {
+			hits.increment();
+		} else {
+			entry = load(normalizedPath, loader);
+		}
+
+		if (fileVersions != null) {
+			fileVersions.putAll(entry.fileVersions());
+		}
+		return entry.header();
+	}
+
+	/**
+	 * Load and cache the header located at the given path, unless it is already cached.
+	 *
+	 * @param headerFile The path of the header file.
+	 * @param loader     The loader used to read and resolve the header.
+	 * @throws IOException If the header file attributes cannot be read or if the loader fails.
+	 */
+	public void preload(final Path headerFile, final HeaderLoader loader) throws IOException {
+		final Path normalizedPath = ExtendsGraph.normalize(headerFile);
+		final HeaderEntry entry = headers.get(normalizedPath);
+		if (entry == null || !isCurrent(entry)) {
+			load(normalizedPath, loader);
+		}
+	}
+
+	/**
+	 * Whether none of the files the given entry has been resolved from has been modified since it was loaded.
+	 *
+	 * @param entry The cached entry.
+	 * @return <code>true</code> if the entry can be served.
+	 * @throws IOException If the attributes of a file cannot be read.
+	 */
+	private static boolean isCurrent(final HeaderEntry entry) throws IOException {
+		for (Entry<Path, String> fileVersion : entry.fileVersions().entrySet()) {
+			if (!getVersion(fileVersion.getKey()).equals(fileVersion.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the version of the given file: its size and its last modification time.
+	 *
+	 * @param file The normalized path of the file.
+	 * @return The version of the file, empty if the file does not exist.
+	 * @throws IOException If the file attributes cannot be read.
+	 */
+	private static String getVersion(final Path file) throws IOException {
+		try {
+			final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+			return attributes.size() + ":" + attributes.lastModifiedTime();
+		} catch (NoSuchFileException e) {
+			return "";
+		}
+	}
+
+	/**
+	 * Load the header located at the given path and cache it, in place of any previous version.
+	 *
+	 * @param headerFile The normalized path of the header file.
+	 * @param loader     The loader used to read and resolve the header.
+	 * @return The cached entry.
+	 * @throws IOException If the header file attributes cannot be read or if the loader fails.
+	 */
+	private HeaderEntry load(final Path headerFile, final HeaderLoader loader) throws IOException {
+		misses.increment();
+
+		// The version is read before the file, so that a modification during the loading is detected afterward
+		final Map<Path, String> fileVersions = new LinkedHashMap<>();
+		fileVersions.put(headerFile, getVersion(headerFile));
+		final JsonNode loadedHeader = loader.load(headerFile, fileVersions);
+		if (symbolTable != null) {
+			symbolTable.intern(loadedHeader);
+		}
+
+		// The same version loaded concurrently by another thread is kept, so that the connectors share one tree
+		return headers.merge(
+			headerFile,
+			new HeaderEntry(fileVersions, loadedHeader),
+			(cachedEntry, loadedEntry) ->
+				cachedEntry.fileVersions().equals(loadedEntry.fileVersions()) ? cachedEntry : loadedEntry
+		);
+	}
+
+	/**
+	 * Gets the number of headers served from the cache.
+	 *
+	 * @return The number of cache hits.
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of headers that had to be loaded.
+	 *
+	 * @return The number of cache misses.
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the number of headers currently cached.
+	 *
+	 * @return The number of cache entries.
+	 */
+	public int size() {
+		return headers.size();
+	}
+}
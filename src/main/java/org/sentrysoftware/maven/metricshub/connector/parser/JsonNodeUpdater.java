@@ -20,12 +20,16 @@ package org.sentrysoftware.maven.metricshub.connector.parser;
  * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
  */
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import lombok.Builder;
@@ -34,6 +38,16 @@ import lombok.Builder;
  * This utility class traverses a JsonNode, applying updates according to an
  * updater function and a predicate that determines whether the value should be
  * updated.
+ * <p>
+ * Only the textual values are updated, the numbers, booleans and nulls keep their type. A value is replaced
+ * only when the updater actually changed it, and the objects are traversed through their entries, so an update
+ * that changes nothing does not allocate any node.
+ * </p>
+ * <p>
+ * When the pointers of the values to update are known, e.g. from a {@link PlaceholderIndex}, only these values are
+ * visited instead of the whole tree. The replaced values can then be set through an {@link OverlayTree}, so that the
+ * sections shared with other trees are copied instead of modified, and reported to a listener.
+ * </p>
  */
 @Builder(setterPrefix = "with")
 public class JsonNodeUpdater {
@@ -43,15 +57,68 @@ public class JsonNodeUpdater {
 	private final Predicate<String> predicate;
 
 	/**
-	 * Traverse the current JsonNode, applying the updater to each JsonNode child
-	 * when the predicate evaluates to true, indicating that the value should be updated.
+	 * The pointers of the values to update, <code>null</code> to traverse the whole tree
+	 */
+	private final Collection<JsonPointer> pointers;
+
+	/**
+	 * The resolved view setting the values located by the {@link #pointers}, <code>null</code> to set them in place
+	 */
+	private final OverlayTree overlayTree;
+
+	/**
+	 * Called with the pointer and the new value of each value replaced through the {@link #pointers}, may be
+	 * <code>null</code>
+	 */
+	private final BiConsumer<JsonPointer, String> updateListener;
+
+	/**
+	 * Traverse the current JsonNode, or only visit the values located by the pointers when they are set, applying
+	 * the updater to each textual JsonNode child when the predicate evaluates to true, indicating that the value
+	 * should be updated.
 	 */
 	public void update() {
-		update(jsonNode);
+		if (pointers == null) {
+			update(jsonNode);
+			return;
+		}
+
+		// The listener may update the collection of pointers
+		for (JsonPointer pointer : new ArrayList<>(pointers)) {
+			final JsonNode child = jsonNode.at(pointer);
+			final JsonNode updatedChild = updateValue(child);
+			if (updatedChild != child) {
+				setValue(pointer, updatedChild);
+				if (updateListener != null) {
+					updateListener.accept(pointer, updatedChild.textValue());
+				}
+			}
+		}
 	}
 
 	/**
-	 * Traverse the current JsonNode, applying the updater to each JsonNode child
+	 * Replace the value located at the given pointer of the current JsonNode.
+	 *
+	 * @param pointer The pointer of the value to replace.
+	 * @param value   The new value.
+	 */
+	private void setValue(final JsonPointer pointer, final JsonNode value) {
+		if (overlayTree != null) {
+			overlayTree.set(jsonNode, pointer, value);
+			return;
+		}
+
+		final JsonNode parent = jsonNode.at(pointer.head());
+		final JsonPointer last = pointer.last();
+		if (parent.isArray()) {
+			((ArrayNode) parent).set(last.getMatchingIndex(), value);
+		} else {
+			((ObjectNode) parent).set(last.getMatchingProperty(), value);
+		}
+	}
+
+	/**
+	 * Traverse the current JsonNode, applying the updater to each textual JsonNode child
 	 * when the predicate evaluates to true, indicating that the value should be updated.
 	 *
 	 * @param node the {@link JsonNode} to update
@@ -62,22 +129,20 @@ public class JsonNodeUpdater {
 		}
 
 		if (node.isObject()) {
-			// Get JsonNode fields
-			final List<String> fieldNames = new ArrayList<>(node.size());
-			node.fieldNames().forEachRemaining(fieldNames::add);
-
-			// Get the corresponding JsonNode for each field
-			for (final String fieldName : fieldNames) {
-				final JsonNode child = node.get(fieldName);
+			// The entries are backed by the object node, so the value can be replaced in place
+			final Iterator<Entry<String, JsonNode>> fields = node.fields();
+			while (fields.hasNext()) {
+				final Entry<String, JsonNode> field = fields.next();
+				final JsonNode child = field.getValue();
 
 				// Means it wrap sub JsonNode(s)
 				if (child.isContainerNode()) {
 					update(child);
 				} else {
-					// Perform the replacement
-					final String oldValue = child.asText();
-					// Transformation of the value is unnecessary if it lacks the placeholder
-					runUpdate(() -> ((ObjectNode) node).set(fieldName, new TextNode(updater.apply(oldValue))), oldValue);
+					final JsonNode updatedChild = updateValue(child);
+					if (updatedChild != child) {
+						field.setValue(updatedChild);
+					}
 				}
 			}
 		} else if (node.isArray()) {
@@ -90,24 +155,37 @@ public class JsonNodeUpdater {
 					update(child);
 				} else {
 					// Means this is a simple array node
-					final String oldValue = child.asText();
-					// Transformation of the value is unnecessary if it lacks the placeholder
-					final int index = i;
-					runUpdate(() -> ((ArrayNode) node).set(index, new TextNode(updater.apply(oldValue))), oldValue);
+					final JsonNode updatedChild = updateValue(child);
+					if (updatedChild != child) {
+						((ArrayNode) node).set(i, updatedChild);
+					}
 				}
 			}
 		}
 	}
 
 	/**
-	 * Run the update only if the value matches the replacement predicate
+	 * Apply the updater to the given value node if it is textual and matches the predicate.
 	 *
-	 * @param update Runnable function, actually the function performing the update
-	 * @param value  Value to check
+	 * @param valueNode The value node to update
+	 * @return A new {@link TextNode} if the updater changed the value, otherwise the given node
 	 */
-	private void runUpdate(final Runnable update, final String value) {
-		if (predicate.test(value)) {
-			update.run();
+	private JsonNode updateValue(final JsonNode valueNode) {
+		if (!valueNode.isTextual()) {
+			return valueNode;
+		}
+
+		final String oldValue = valueNode.textValue();
+		// Transformation of the value is unnecessary if it lacks the placeholder
+		if (!predicate.test(oldValue)) {
+			return valueNode;
 		}
+
+		final String newValue = updater.apply(oldValue);
+		if (newValue == null || newValue.equals(oldValue)) {
+			return valueNode;
+		}
+
+		return TextNode.valueOf(newValue);
 	}
 }
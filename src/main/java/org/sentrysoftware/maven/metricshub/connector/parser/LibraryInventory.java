@@ -0,0 +1,348 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.Getter;
+
+/**
+ * Inventory of the files of a connector library, recorded by a single traversal of its source directory.
+ * <p>
+ * The traversal records the YAML files, the enterprise connectors manifests and the embedded files (scripts and
+ * other resources referenced by the connectors), with the attributes read while walking the directory. The
+ * detection of the enterprise connectors and the parsing of the connectors then read this inventory instead of
+ * walking the source directory again, which is costly on network file systems.
+ * </p>
+ * <p>
+ * The traversal can be restricted with <em>include</em> and <em>exclude</em> glob patterns, matched against the
+ * paths relative to the source directory, e.g. <code>**&#47;test</code> or <code>**&#47;embeddedFile-*</code>. As
+ * with the Maven and Ant patterns, a leading <code>**&#47;</code> also matches zero directories, so
+ * <code>**&#47;*.yaml</code> matches <code>Connector.yaml</code> at the root of the source directory. The
+ * patterns are compiled once. A directory matching an exclude pattern is skipped with its whole subtree, without
+ * being listed. A file is recorded when it matches one of the include patterns, if any, and no exclude pattern. The
+ * enterprise connectors manifests are recorded unless they are excluded.
+ * </p>
+ * The files are listed in the order they have been visited. The inventory is only read once it has been built.
+ */
+public class LibraryInventory {
+
+	/**
+	 * The name of the file listing the enterprise connector files
+	 */
+	public static final String ENTERPRISE_MANIFEST_FILE_NAME = "enterprise-connectors-manifest.txt";
+
+	/**
+	 * The prefix of the patterns matching any number of directories, including none
+	 */
+	private static final String ANY_DIRECTORIES_PREFIX = "**/";
+
+	/**
+	 * The source directory of the connector library
+	 */
+	@Getter
+	private final Path sourceDirectory;
+
+	private final List<Path> yamlFiles = new ArrayList<>();
+
+	private final List<Path> manifestFiles = new ArrayList<>();
+
+	private final List<Path> embeddedFiles = new ArrayList<>();
+
+	private final Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+
+	private final List<PathMatcher> includeMatchers;
+
+	private final List<PathMatcher> excludeMatchers;
+
+	/**
+	 * The number of directories skipped with their subtree because they match an exclude pattern
+	 */
+	@Getter
+	private int excludedDirectories;
+
+	/**
+	 * The number of files skipped because of the include and exclude patterns
+	 */
+	@Getter
+	private int excludedFiles;
+
+	/**
+	 * Constructs an empty inventory of the given library.
+	 *
+	 * @param sourceDirectory The source directory of the connector library.
+	 * @param includes        The glob patterns of the files to record, all the files are recorded if empty.
+	 * @param excludes        The glob patterns of the directories and files to skip.
+	 */
+	private LibraryInventory(final Path sourceDirectory, final List<String> includes, final List<String> excludes) {
+		this.sourceDirectory = sourceDirectory;
+		this.includeMatchers = compile(sourceDirectory, includes);
+		this.excludeMatchers = compile(sourceDirectory, excludes);
+	}
+
+	/**
+	 * Walk the given source directory once and record all its files.
+	 *
+	 * @param sourceDirectory The source directory of the connector library.
+	 * @return A new {@link LibraryInventory}.
+	 * @throws IOException If the source directory cannot be walked.
+	 */
+	public static LibraryInventory scan(final Path sourceDirectory) throws IOException {
+		return scan(sourceDirectory, Collections.emptyList(), Collections.emptyList());
+	}
+
+	/**
+	 * Walk the given source directory once and record its files matching the given patterns.
+	 *
+	 * @param sourceDirectory The source directory of the connector library.
+	 * @param includes        The glob patterns of the files to record, all the files are recorded if empty.
+	 * @param excludes        The glob patterns of the directories and files to skip.
+	 * @return A new {@link LibraryInventory}.
+	 * @throws IOException If the source directory cannot be walked.
+	 * @throws IllegalArgumentException If a pattern is invalid.
+	 */
+	public static LibraryInventory scan(
+		final Path sourceDirectory,
+		final List<String> includes,
+		final List<String> excludes
+	) throws IOException {
+		final LibraryInventory inventory = new LibraryInventory(sourceDirectory, includes, excludes);
+		Files.walkFileTree(sourceDirectory, inventory.new InventoryFileVisitor());
+		return inventory;
+	}
+
+	/**
+	 * Build the inventory of a library without any file, when the source directory does not exist.
+	 *
+	 * @param sourceDirectory The source directory of the connector library.
+	 * @return A new empty {@link LibraryInventory}.
+	 */
+	public static LibraryInventory empty(final Path sourceDirectory) {
+		return new LibraryInventory(sourceDirectory, Collections.emptyList(), Collections.emptyList());
+	}
+
+	/**
+	 * Compile the given glob patterns for the file system of the given directory. A pattern starting with
+	 * <code>**&#47;</code> is also compiled without this prefix, so that it matches the paths at the root of the
+	 * directory as well.
+	 *
+	 * @param directory The source directory.
+	 * @param patterns  The glob patterns, <code>null</code> or empty if there is none.
+	 * @return The list of {@link PathMatcher}.
+	 */
+	private static List<PathMatcher> compile(final Path directory, final List<String> patterns) {
+		if (patterns == null) {
+			return Collections.emptyList();
+		}
+
+		final List<PathMatcher> matchers = new ArrayList<>();
+		for (String pattern : patterns) {
+			matchers.add(directory.getFileSystem().getPathMatcher("glob:" + pattern));
+			if (pattern.startsWith(ANY_DIRECTORIES_PREFIX)) {
+				final String rootPattern = pattern.substring(ANY_DIRECTORIES_PREFIX.length());
+				matchers.add(directory.getFileSystem().getPathMatcher("glob:" + rootPattern));
+			}
+		}
+		return matchers;
+	}
+
+	/**
+	 * Whether the given path, relative to the source directory, matches one of the given matchers.
+	 *
+	 * @param matchers     The matchers.
+	 * @param relativePath The relative path.
+	 * @return <code>true</code> if one of the matchers matches.
+	 */
+	private static boolean matchesAny(final List<PathMatcher> matchers, final Path relativePath) {
+		for (PathMatcher matcher : matchers) {
+			if (matcher.matches(relativePath)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * This inner class records the files visited within the connectors directory
+	 */
+	private class InventoryFileVisitor extends SimpleFileVisitor<Path> {
+
+		@Override
+		public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+			// The whole subtree of an excluded directory is skipped without being listed
+			if (!dir.equals(sourceDirectory) && matchesAny(excludeMatchers, sourceDirectory.relativize(dir))) {
+				excludedDirectories++;
+				return FileVisitResult.SKIP_SUBTREE;
+			}
+
+			return FileVisitResult.CONTINUE;
+		}
+
+		@Override
+		public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+			// Skip this path if it is a directory
+			if (attrs.isDirectory()) {
+				return FileVisitResult.CONTINUE;
+			}
+
+			final String fileName = file.getFileName().toString();
+			final Path relativePath = sourceDirectory.relativize(file);
+			final boolean included =
+				includeMatchers.isEmpty() ||
+				ENTERPRISE_MANIFEST_FILE_NAME.equals(fileName) ||
+				matchesAny(includeMatchers, relativePath);
+			if (!included || matchesAny(excludeMatchers, relativePath)) {
+				excludedFiles++;
+				return FileVisitResult.CONTINUE;
+			}
+
+			if (isYamlFile(fileName)) {
+				yamlFiles.add(file);
+			} else if (ENTERPRISE_MANIFEST_FILE_NAME.equals(fileName)) {
+				manifestFiles.add(file);
+			} else {
+				embeddedFiles.add(file);
+			}
+			attributes.put(file, attrs);
+
+			return FileVisitResult.CONTINUE;
+		}
+	}
+
+	/**
+	 * Whether the file is a YAML file or not
+	 *
+	 * @param fileName The name of the file
+	 * @return boolean value
+	 */
+	private static boolean isYamlFile(final String fileName) {
+		return fileName.toLowerCase().endsWith(".yaml");
+	}
+
+	/**
+	 * Gets the YAML files of the library: the connectors and the files they extend.
+	 *
+	 * @return An unmodifiable list of files, in the visit order.
+	 */
+	public List<Path> getYamlFiles() {
+		return Collections.unmodifiableList(yamlFiles);
+	}
+
+	/**
+	 * Gets the enterprise connectors manifests of the library.
+	 *
+	 * @return An unmodifiable list of files, in the visit order.
+	 */
+	public List<Path> getManifestFiles() {
+		return Collections.unmodifiableList(manifestFiles);
+	}
+
+	/**
+	 * Gets the other files of the library, embedded by the connectors.
+	 *
+	 * @return An unmodifiable list of files, in the visit order.
+	 */
+	public List<Path> getEmbeddedFiles() {
+		return Collections.unmodifiableList(embeddedFiles);
+	}
+
+	/**
+	 * Read the enterprise connector identifiers listed by the first manifest of the inventory, one connector file
+	 * name per line.
+	 *
+	 * @return The identifiers of the enterprise connectors, empty if the library has no manifest.
+	 * @throws IOException If the manifest cannot be read.
+	 */
+	public List<String> readEnterpriseConnectorIds() throws IOException {
+		for (Path manifestFile : manifestFiles) {
+			if (attributes.get(manifestFile).isRegularFile()) {
+				return Files
+					.readAllLines(manifestFile)
+					.stream()
+					.map(String::trim)
+					.filter(line -> !line.isEmpty())
+					.map(filename -> filename.substring(0, filename.lastIndexOf('.')))
+					.collect(Collectors.toCollection(ArrayList::new));
+			}
+		}
+
+		return new ArrayList<>();
+	}
+
+	/**
+	 * Compute the fingerprint of the recorded files: their path relative to the source directory, their size and their
+	 * last modification time. Two inventories of an unchanged library have the same fingerprint.
+	 *
+	 * @return The hexadecimal SHA-256 digest of the recorded files.
+	 */
+	public String fingerprint() {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+
+		final List<String> entries = new ArrayList<>(attributes.size());
+		attributes.forEach((file, fileAttributes) ->
+			entries.add(
+				String.format(
+					"%s:%d:%s",
+					sourceDirectory.relativize(file),
+					fileAttributes.size(),
+					fileAttributes.lastModifiedTime()
+				)
+			)
+		);
+		Collections.sort(entries);
+		for (String entry : entries) {
+			digest.update(entry.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Gets the attributes of the given file, as read during the traversal.
+	 *
+	 * @param file A file of the inventory, as visited.
+	 * @return The attributes of the file, or <code>null</code> if the file is not part of the inventory.
+	 */
+	public BasicFileAttributes getAttributes(final Path file) {
+		return attributes.get(file);
+	}
+}
@@ -43,6 +43,16 @@ public class NodeProcessorHelper {
 		return new ConstantsProcessor();
 	}
 
+	/**
+	 * Creates a new {@link ConstantsProcessor} filling the given {@link PlaceholderIndex}
+	 *
+	 * @param placeholderIndex The index of the placeholders of the processed connector
+	 * @return new {@link ConstantsProcessor}
+	 */
+	private static AbstractNodeProcessor newConstantsProcessor(final PlaceholderIndex placeholderIndex) {
+		return new ConstantsProcessor(placeholderIndex);
+	}
+
 	/**
 	 * Create a {@link ExtendsProcessor} with {@link ConstantsProcessor} destination
 	 *
@@ -52,4 +62,59 @@ public class NodeProcessorHelper {
 	public static AbstractNodeProcessor withExtendsAndConstantsProcessor(final Path connectorDirectory) {
 		return new ExtendsProcessor(connectorDirectory, newConstantsProcessor());
 	}
+
+	/**
+	 * Create a {@link ExtendsProcessor} sharing the given {@link HeaderCache}, with {@link ConstantsProcessor} destination
+	 *
+	 * @param connectorDirectory Used to locate a the connector parent directory in a file system
+	 * @param headerCache        The cache of resolved extended connectors shared by all the connectors of the library
+	 * @return new {@link ExtendsProcessor} instance
+	 */
+	public static AbstractNodeProcessor withExtendsAndConstantsProcessor(
+		final Path connectorDirectory,
+		final HeaderCache headerCache
+	) {
+		return new ExtendsProcessor(connectorDirectory, headerCache, newConstantsProcessor());
+	}
+
+	/**
+	 * Create a {@link ExtendsProcessor} sharing the given {@link HeaderCache}, with {@link ConstantsProcessor} destination
+	 * filling the given {@link PlaceholderIndex}
+	 *
+	 * @param connectorDirectory Used to locate a the connector parent directory in a file system
+	 * @param headerCache        The cache of resolved extended connectors shared by all the connectors of the library
+	 * @param placeholderIndex   The index of the placeholders of the processed connector
+	 * @return new {@link ExtendsProcessor} instance
+	 */
+	public static AbstractNodeProcessor withExtendsAndConstantsProcessor(
+		final Path connectorDirectory,
+		final HeaderCache headerCache,
+		final PlaceholderIndex placeholderIndex
+	) {
+		return new ExtendsProcessor(connectorDirectory, headerCache, newConstantsProcessor(placeholderIndex));
+	}
+
+	/**
+	 * Create a {@link ExtendsProcessor} overlaying the connector on the read-only extended connectors of the given
+	 * {@link HeaderCache}, with {@link ConstantsProcessor} destination filling the given {@link PlaceholderIndex}
+	 *
+	 * @param connectorDirectory Used to locate a the connector parent directory in a file system
+	 * @param headerCache        The cache of resolved extended connectors shared by all the connectors of the library
+	 * @param placeholderIndex   The index of the placeholders of the processed connector
+	 * @param overlayTree        The resolved view of the processed connector, recording the nodes it owns
+	 * @return new {@link ExtendsProcessor} instance
+	 */
+	public static AbstractNodeProcessor withOverlayExtendsAndConstantsProcessor(
+		final Path connectorDirectory,
+		final HeaderCache headerCache,
+		final PlaceholderIndex placeholderIndex,
+		final OverlayTree overlayTree
+	) {
+		return new ExtendsProcessor(
+			connectorDirectory,
+			headerCache,
+			overlayTree,
+			new ConstantsProcessor(placeholderIndex, overlayTree)
+		);
+	}
 }
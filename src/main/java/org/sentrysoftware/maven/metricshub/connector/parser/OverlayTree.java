@@ -0,0 +1,341 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * The resolved view of a connector, layering its own nodes over the read-only trees of its extended connectors.
+ * <p>
+ * The overlay merge follows the strategy of {@link ExtendsProcessor#merge(JsonNode, JsonNode)} without modifying
+ * any of the merged trees: only the objects and arrays present on both sides are rebuilt, the other subtrees are
+ * shared with the extended connectors or with the connector file. The nodes owned by the connector, i.e. read from
+ * its own file or rebuilt by the merge, are recorded so that {@link #set(JsonNode, JsonPointer, JsonNode)} copies
+ * the shared containers of a path before writing to it.
+ * </p>
+ * <p>
+ * A connector merged into copies of its extended connectors owns its whole tree: the view created by
+ * {@link #ofOwnedTree()} merges in place and sets the values in place, so the same resolution code applies to both
+ * strategies.
+ * </p>
+ * The root of the resolved connector is always owned. An instance is used by one connector resolution at a time.
+ */
+public class OverlayTree {
+
+	/**
+	 * Whether the connector is overlaid on the read-only trees of its extended connectors, otherwise it owns all its
+	 * nodes
+	 */
+	private final boolean overlaid;
+
+	private final Set<JsonNode> ownedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * Constructs the view of a connector overlaid on the read-only trees of its extended connectors.
+	 */
+	public OverlayTree() {
+		this(true);
+	}
+
+	/**
+	 * Constructs the view of a connector.
+	 *
+	 * @param overlaid Whether the connector is overlaid on the read-only trees of its extended connectors.
+	 */
+	private OverlayTree(final boolean overlaid) {
+		this.overlaid = overlaid;
+	}
+
+	/**
+	 * Creates the view of a connector owning all its nodes, i.e. merged into copies of its extended connectors.
+	 * The view holds no state, so it can be used by several connector resolutions.
+	 *
+	 * @return A new {@link OverlayTree}.
+	 */
+	public static OverlayTree ofOwnedTree() {
+		return new OverlayTree(false);
+	}
+
+	/**
+	 * Whether the connector is overlaid on the read-only trees of its extended connectors, which are then served as
+	 * is by the {@link HeaderCache}, rather than merged into copies of them.
+	 *
+	 * @return <code>true</code> for an overlay, <code>false</code> if the connector owns all its nodes.
+	 */
+	public boolean isOverlaid() {
+		return overlaid;
+	}
+
+	/**
+	 * Record the containers of the given tree, read for this connector only, as owned.
+	 *
+	 * @param tree The tree.
+	 */
+	public void own(final JsonNode tree) {
+		if (overlaid && tree.isContainerNode() && ownedNodes.add(tree)) {
+			tree.forEach(this::own);
+		}
+	}
+
+	/**
+	 * Record the given container, rebuilt for this connector, as owned. Its children are left as they are.
+	 *
+	 * @param container The rebuilt container.
+	 */
+	public void ownContainer(final JsonNode container) {
+		if (overlaid) {
+			ownedNodes.add(container);
+		}
+	}
+
+	/**
+	 * Whether the given container belongs to this connector and can be modified.
+	 *
+	 * @param node The container.
+	 * @return <code>true</code> if the node is owned.
+	 */
+	public boolean isOwned(final JsonNode node) {
+		return !overlaid || ownedNodes.contains(node);
+	}
+
+	/**
+	 * Overlay the given node over the given base, the containers rebuilt by the merge being owned by this connector.
+	 * When the connector owns all its nodes, the node is merged into the base instead.
+	 *
+	 * @param base    The base node, typically the resolved extended connector, left unchanged by an overlay.
+	 * @param overlay The node overriding the base, left unchanged.
+	 * @return The merged view, sharing the subtrees that are not overridden.
+	 */
+	public JsonNode merge(final JsonNode base, final JsonNode overlay) {
+		return overlaid ? merge(base, overlay, ownedNodes) : ExtendsProcessor.merge(base, overlay);
+	}
+
+	/**
+	 * Merge the given node over the given base, when resolving an extended connector of this connector: the
+	 * extended connector is overlaid if it may be shared by several connectors, otherwise it is merged into the base.
+	 *
+	 * @param base    The base node.
+	 * @param overlay The node overriding the base, left unchanged.
+	 * @return The merged node.
+	 */
+	public JsonNode mergeExtended(final JsonNode base, final JsonNode overlay) {
+		return overlaid ? overlay(base, overlay) : ExtendsProcessor.merge(base, overlay);
+	}
+
+	/**
+	 * Overlay the given node over the given base, when resolving an extended connector shared by several connectors.
+	 *
+	 * @param base    The base node, left unchanged.
+	 * @param overlay The node overriding the base, left unchanged.
+	 * @return The merged view, sharing the subtrees that are not overridden.
+	 */
+	public static JsonNode overlay(final JsonNode base, final JsonNode overlay) {
+		return merge(base, overlay, null);
+	}
+
+	/**
+	 * Overlay the given node over the given base.
+	 *
+	 * @param base       The base node.
+	 * @param overlay    The node overriding the base.
+	 * @param ownedNodes The set receiving the rebuilt containers, <code>null</code> if they are not tracked.
+	 * @return The merged view.
+	 */
+	private static JsonNode merge(final JsonNode base, final JsonNode overlay, final Set<JsonNode> ownedNodes) {
+		if (!(base instanceof ObjectNode baseObject)) {
+			return base;
+		}
+
+		final ObjectNode result = baseObject.objectNode();
+		final Iterator<Entry<String, JsonNode>> baseFields = baseObject.fields();
+		while (baseFields.hasNext()) {
+			final Entry<String, JsonNode> baseField = baseFields.next();
+			final JsonNode overlayValue = overlay.get(baseField.getKey());
+			result.set(
+				baseField.getKey(),
+				overlayValue == null ? baseField.getValue() : mergeValue(baseField.getValue(), overlayValue, ownedNodes)
+			);
+		}
+
+		// The new fields come after the fields of the base, as when they are set on the base
+		final Iterator<Entry<String, JsonNode>> overlayFields = overlay.fields();
+		while (overlayFields.hasNext()) {
+			final Entry<String, JsonNode> overlayField = overlayFields.next();
+			if (!baseObject.has(overlayField.getKey())) {
+				result.set(overlayField.getKey(), overlayField.getValue());
+			}
+		}
+
+		track(result, ownedNodes);
+		return result;
+	}
+
+	/**
+	 * Merge the values of a field defined by both the base and the overlay.
+	 *
+	 * @param baseValue    The value of the base.
+	 * @param overlayValue The value of the overlay.
+	 * @param ownedNodes   The set receiving the rebuilt containers, <code>null</code> if they are not tracked.
+	 * @return The merged value.
+	 */
+	private static JsonNode mergeValue(
+		final JsonNode baseValue,
+		final JsonNode overlayValue,
+		final Set<JsonNode> ownedNodes
+	) {
+		if (baseValue.isArray() && overlayValue.isArray()) {
+			if (baseValue.isEmpty() || !baseValue.get(0).isObject()) {
+				// Simple array gets overwritten
+				return overlayValue;
+			}
+
+			// Array of objects gets merged (appended)
+			final ArrayNode result = ((ArrayNode) baseValue).arrayNode(baseValue.size() + overlayValue.size());
+			result.addAll((ArrayNode) baseValue);
+			result.addAll((ArrayNode) overlayValue);
+			track(result, ownedNodes);
+			return result;
+		}
+
+		if (baseValue.isObject()) {
+			// An object is only overridden by the fields of an object
+			return overlayValue.isObject() ? merge(baseValue, overlayValue, ownedNodes) : baseValue;
+		}
+
+		return overlayValue;
+	}
+
+	/**
+	 * Record the given rebuilt container as owned.
+	 *
+	 * @param node       The rebuilt container.
+	 * @param ownedNodes The owned nodes, <code>null</code> if they are not tracked.
+	 */
+	private static void track(final JsonNode node, final Set<JsonNode> ownedNodes) {
+		if (ownedNodes != null) {
+			ownedNodes.add(node);
+		}
+	}
+
+	/**
+	 * Set the value located at the given pointer of the given resolved connector. Each shared container of the path
+	 * is replaced with an owned shallow copy first, so the extended connectors are never modified.
+	 *
+	 * @param root    The root of the resolved connector.
+	 * @param pointer The pointer of the value, whose parent containers exist.
+	 * @param value   The new value.
+	 */
+	public void set(final JsonNode root, final JsonPointer pointer, final JsonNode value) {
+		ownContainer(root);
+
+		JsonNode parent = root;
+		JsonPointer remaining = pointer;
+		while (!remaining.tail().matches()) {
+			final JsonNode child = getChild(parent, remaining);
+			if (isOwned(child)) {
+				parent = child;
+			} else {
+				final JsonNode copy = shallowCopy(child);
+				ownContainer(copy);
+				setChild(parent, remaining, copy);
+				parent = copy;
+			}
+			remaining = remaining.tail();
+		}
+
+		setChild(parent, remaining, value);
+	}
+
+	/**
+	 * Append the given value to the array located at the given pointer of the given resolved connector. A shared array
+	 * is replaced with an owned copy first, and a missing array or a value that is not an array with a new array.
+	 *
+	 * @param root    The root of the resolved connector.
+	 * @param pointer The pointer of the array, whose parent containers exist.
+	 * @param value   The value to append.
+	 */
+	public void append(final JsonNode root, final JsonPointer pointer, final JsonNode value) {
+		final JsonNode array = root.at(pointer);
+		if (array instanceof ArrayNode arrayNode && isOwned(arrayNode)) {
+			arrayNode.add(value);
+			return;
+		}
+
+		final ArrayNode appendedArray = JsonNodeFactory.instance.arrayNode();
+		if (array instanceof ArrayNode arrayNode) {
+			appendedArray.addAll(arrayNode);
+		}
+		ownContainer(appendedArray);
+		set(root, pointer, appendedArray.add(value));
+	}
+
+	/**
+	 * Get the child designated by the first segment of the given pointer.
+	 *
+	 * @param parent  The parent container.
+	 * @param pointer The pointer, relative to the parent.
+	 * @return The child node.
+	 */
+	private static JsonNode getChild(final JsonNode parent, final JsonPointer pointer) {
+		return parent.isArray() ? parent.get(pointer.getMatchingIndex()) : parent.get(pointer.getMatchingProperty());
+	}
+
+	/**
+	 * Set the child designated by the first segment of the given pointer.
+	 *
+	 * @param parent  The parent container, owned.
+	 * @param pointer The pointer, relative to the parent.
+	 * @param child   The new child node.
+	 */
+	private static void setChild(final JsonNode parent, final JsonPointer pointer, final JsonNode child) {
+		if (parent.isArray()) {
+			((ArrayNode) parent).set(pointer.getMatchingIndex(), child);
+		} else {
+			((ObjectNode) parent).set(pointer.getMatchingProperty(), child);
+		}
+	}
+
+	/**
+	 * Copy the given container, sharing its children.
+	 *
+	 * @param node The container.
+	 * @return A new container with the same children, in the same order.
+	 */
+	private static JsonNode shallowCopy(final JsonNode node) {
+		if (node instanceof ArrayNode arrayNode) {
+			return arrayNode.arrayNode(arrayNode.size()).addAll(arrayNode);
+		}
+
+		final ObjectNode objectNode = (ObjectNode) node;
+		final ObjectNode copy = objectNode.objectNode();
+		copy.setAll(objectNode);
+		return copy;
+	}
+}
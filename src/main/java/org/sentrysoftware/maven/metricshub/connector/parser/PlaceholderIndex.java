@@ -0,0 +1,262 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Index of the scalars of a connector that contain <code>${kind::...}</code> placeholders, such as
+ * <code>${constant::_OID}</code>, <code>${var::hostname}</code> or <code>${source::monitors.disk.discovery.sources.source(1)}</code>.
+ * <p>
+ * The connector tree is walked once, when the connector is parsed, and the {@link JsonPointer} of each textual
+ * value containing a placeholder is recorded under the kind of each of its placeholders. The constants substitution
+ * and the variables discovery then only visit these values instead of the whole tree.
+ * </p>
+ * The pointers are kept in document order: each pointer keeps the position it was indexed at, also when its value
+ * is updated.
+ */
+public class PlaceholderIndex {
+
+	/**
+	 * Kind of the <code>${constant::name}</code> placeholders
+	 */
+	public static final String CONSTANT = "constant";
+
+	/**
+	 * Kind of the <code>${var::name}</code> placeholders
+	 */
+	public static final String VARIABLE = "var";
+
+	/**
+	 * Kind of the <code>${source::reference}</code> placeholders
+	 */
+	public static final String SOURCE = "source";
+
+	private static final String PLACEHOLDER_PREFIX = "${";
+
+	private static final String KIND_SEPARATOR = "::";
+
+	/**
+	 * The position of each indexed pointer in the document
+	 */
+	private final Map<JsonPointer, Integer> ordinals = new LinkedHashMap<>();
+
+	private final Comparator<JsonPointer> documentOrder = Comparator.comparing(ordinals::get);
+
+	private final Map<String, Set<JsonPointer>> pointersByKind = new HashMap<>();
+
+	/**
+	 * Builds the index of the given tree.
+	 *
+	 * @param root The connector tree.
+	 * @return A new {@link PlaceholderIndex}.
+	 */
+	public static PlaceholderIndex of(final JsonNode root) {
+		final PlaceholderIndex placeholderIndex = new PlaceholderIndex();
+		placeholderIndex.index(root);
+		return placeholderIndex;
+	}
+
+	/**
+	 * Builds the index of the given tree from the pointers of its values containing placeholders, as returned by
+	 * {@link #getPointers()} for the same tree or for a tree it has been projected from. Only the given values are
+	 * read, the tree is not walked. The pointers no longer locating a textual value with placeholders are ignored.
+	 *
+	 * @param root     The connector tree.
+	 * @param pointers The pointers of the values containing placeholders, in document order.
+	 * @return A new {@link PlaceholderIndex}.
+	 */
+	public static PlaceholderIndex of(final JsonNode root, final Iterable<JsonPointer> pointers) {
+		final PlaceholderIndex placeholderIndex = new PlaceholderIndex();
+		for (JsonPointer pointer : pointers) {
+			final JsonNode valueNode = root.at(pointer);
+			if (hasPlaceholder(valueNode)) {
+				placeholderIndex.record(pointer, valueNode.textValue());
+			}
+		}
+		return placeholderIndex;
+	}
+
+	/**
+	 * Clears this index, then walks the given tree and records each textual value containing placeholders.
+	 *
+	 * @param root The connector tree.
+	 */
+	public void index(final JsonNode root) {
+		pointersByKind.clear();
+		ordinals.clear();
+		if (root != null) {
+			index(root, JsonPointer.empty());
+		}
+	}
+
+	/**
+	 * Records the textual values of the given container node, recursively.
+	 *
+	 * @param node    The container node.
+	 * @param pointer The pointer of the container node.
+	 */
+	private void index(final JsonNode node, final JsonPointer pointer) {
+		if (node.isObject()) {
+			final Iterator<Entry<String, JsonNode>> fields = node.fields();
+			while (fields.hasNext()) {
+				final Entry<String, JsonNode> field = fields.next();
+				final JsonNode child = field.getValue();
+				if (child.isContainerNode()) {
+					index(child, pointer.appendProperty(field.getKey()));
+				} else if (hasPlaceholder(child)) {
+					record(pointer.appendProperty(field.getKey()), child.textValue());
+				}
+			}
+		} else if (node.isArray()) {
+			for (int i = 0; i < node.size(); i++) {
+				final JsonNode child = node.get(i);
+				if (child.isContainerNode()) {
+					index(child, pointer.appendIndex(i));
+				} else if (hasPlaceholder(child)) {
+					record(pointer.appendIndex(i), child.textValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Whether the given value node is textual and contains the beginning of a placeholder.
+	 *
+	 * @param valueNode The value node.
+	 * @return <code>true</code> if the value may contain a placeholder.
+	 */
+	private static boolean hasPlaceholder(final JsonNode valueNode) {
+		return valueNode.isTextual() && valueNode.textValue().contains(PLACEHOLDER_PREFIX);
+	}
+
+	/**
+	 * Records the given value under the kind of each of its placeholders.
+	 *
+	 * @param pointer The pointer of the value.
+	 * @param value   The textual value.
+	 */
+	private void record(final JsonPointer pointer, final String value) {
+		ordinals.putIfAbsent(pointer, ordinals.size());
+		forEachKind(value, kind -> pointersByKind.computeIfAbsent(kind, k -> new TreeSet<>(documentOrder)).add(pointer));
+	}
+
+	/**
+	 * Updates the index after the value located at the given pointer has been replaced. The pointer keeps its
+	 * position in document order.
+	 *
+	 * @param pointer The pointer of the value.
+	 * @param value   The new textual value.
+	 */
+	public void update(final JsonPointer pointer, final String value) {
+		pointersByKind.values().forEach(pointers -> pointers.remove(pointer));
+		if (value != null) {
+			record(pointer, value);
+		}
+		pointersByKind.values().removeIf(Set::isEmpty);
+	}
+
+	/**
+	 * Calls the given consumer with the kind of each placeholder found in the given value, e.g. <code>var</code>
+	 * for <code>${var::hostname}</code>. A kind is a non-empty sequence of letters followed by <code>::</code>.
+	 *
+	 * @param value    The textual value.
+	 * @param consumer The consumer of the placeholder kinds.
+	 */
+	static void forEachKind(final String value, final Consumer<String> consumer) {
+		int placeholderStart = value.indexOf(PLACEHOLDER_PREFIX);
+		while (placeholderStart >= 0) {
+			final int kindStart = placeholderStart + PLACEHOLDER_PREFIX.length();
+			int kindEnd = kindStart;
+			while (kindEnd < value.length() && Character.isLetter(value.charAt(kindEnd))) {
+				kindEnd++;
+			}
+			if (kindEnd > kindStart && value.startsWith(KIND_SEPARATOR, kindEnd)) {
+				consumer.accept(value.substring(kindStart, kindEnd));
+			}
+			placeholderStart = value.indexOf(PLACEHOLDER_PREFIX, kindEnd);
+		}
+	}
+
+	/**
+	 * Calls the given consumer with the content of each placeholder of the given kind found in the given value,
+	 * e.g. <code>hostname</code> for <code>${var::hostname}</code> and the {@link #VARIABLE} kind.
+	 *
+	 * @param value    The textual value.
+	 * @param kind     The placeholder kind.
+	 * @param consumer The consumer of the placeholder contents.
+	 */
+	public static void forEachReference(final String value, final String kind, final Consumer<String> consumer) {
+		final String prefix = PLACEHOLDER_PREFIX + kind + KIND_SEPARATOR;
+		int referenceStart = value.indexOf(prefix);
+		while (referenceStart >= 0) {
+			final int contentStart = referenceStart + prefix.length();
+			final int referenceEnd = value.indexOf('}', contentStart);
+			if (referenceEnd < 0) {
+				return;
+			}
+			consumer.accept(value.substring(contentStart, referenceEnd));
+			referenceStart = value.indexOf(prefix, referenceEnd + 1);
+		}
+	}
+
+	/**
+	 * Gets the pointers of the values containing placeholders of the given kind.
+	 *
+	 * @param kind The placeholder kind, e.g. {@link #CONSTANT} or {@link #VARIABLE}.
+	 * @return An unmodifiable set of pointers in document order, empty if there is no such placeholder.
+	 */
+	public Set<JsonPointer> getPointers(final String kind) {
+		final Set<JsonPointer> pointers = pointersByKind.get(kind);
+		return pointers != null ? Collections.unmodifiableSet(pointers) : Collections.emptySet();
+	}
+
+	/**
+	 * Gets the pointers of all the values containing placeholders, whatever their kind.
+	 *
+	 * @return An unmodifiable set of pointers in document order, empty if there is no placeholder.
+	 */
+	public Set<JsonPointer> getPointers() {
+		final Set<JsonPointer> pointers = new TreeSet<>(documentOrder);
+		pointersByKind.values().forEach(pointers::addAll);
+		return Collections.unmodifiableSet(pointers);
+	}
+
+	/**
+	 * Gets the kinds of placeholders found in the connector.
+	 *
+	 * @return An unmodifiable set of placeholder kinds.
+	 */
+	public Set<String> getKinds() {
+		return Collections.unmodifiableSet(pointersByKind.keySet());
+	}
+}
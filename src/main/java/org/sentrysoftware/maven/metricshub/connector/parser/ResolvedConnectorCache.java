@@ -0,0 +1,389 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import static org.sentrysoftware.maven.metricshub.connector.Constants.SMILE_OBJECT_MAPPER;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Value;
+
+/**
+ * Persistent cache of the resolved connectors, kept on disk between builds.
+ * <p>
+ * Each entry is a connector as produced by the extends and constants processors, stored in the Smile binary
+ * format under a key computed from the plugin version, the relative path of the connector, and the content of the
+ * connector file and of all the files it extends, directly or not. An unchanged connector is therefore read back
+ * without parsing any YAML, while a change to the connector, to one of its extended connectors or to the plugin
+ * produces a new key. The plugin is identified by its version and by the digest of its JAR file, so that each build
+ * of a SNAPSHOT version invalidates the entries of the previous one. The connector is stored with the pointers of
+ * its placeholders, so that its {@link PlaceholderIndex} is rebuilt without walking the tree again.
+ * </p>
+ * <p>
+ * The digest of each file is computed once per cache instance, i.e. once per build, and reused as long as the
+ * size and the last modification time of the file are unchanged: a header extended by many connectors is read
+ * once, not once per connector.
+ * </p>
+ * <p>
+ * The same format stores the whole libraries of the connector artifacts, see {@link ConnectorArtifactLibrary}, under
+ * a key computed from the coordinates and the content of the artifact file. A released artifact is therefore parsed
+ * once, as long as its entry is used by each build.
+ * </p>
+ * This class is thread-safe.
+ */
+public class ResolvedConnectorCache {
+
+	private static final String ENTRY_EXTENSION = ".smile";
+
+	/**
+	 * The size of the buffer reading the files to digest
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The digest of the plugin JAR file, empty when the plugin is not loaded from a JAR file
+	 */
+	private static final String PLUGIN_DIGEST = computePluginDigest();
+
+	/**
+	 * Identifies one version of a file.
+	 */
+	@Value
+	private static class FileKey {
+
+		private Path path;
+		private long size;
+		private FileTime lastModifiedTime;
+	}
+
+	private final Path cacheDirectory;
+
+	private final String pluginVersion;
+
+	/**
+	 * The keys read or written during this build, the other entries are stale
+	 */
+	private final Set<String> usedKeys = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The digest of each version of the files read by this build
+	 */
+	private final Map<FileKey, byte[]> fileDigests = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder digestedFiles = new LongAdder();
+
+	/**
+	 * Constructs a cache storing its entries in the given directory.
+	 *
+	 * @param cacheDirectory The directory of the cache entries, created on the first write.
+	 * @param pluginVersion  The version of the plugin that resolves the connectors.
+	 */
+	public ResolvedConnectorCache(final Path cacheDirectory, final String pluginVersion) {
+		this.cacheDirectory = cacheDirectory;
+		this.pluginVersion = pluginVersion;
+	}
+
+	/**
+	 * Compute the cache key of a connector.
+	 *
+	 * @param relativePath     The path of the connector relative to the connector library.
+	 * @param connectorFile    The connector file.
+	 * @param extendedFiles    All the files extended by the connector, directly or not, in a stable order.
+	 * @return The hexadecimal SHA-256 digest identifying this version of the resolved connector.
+	 * @throws IOException If one of the files cannot be read.
+	 */
+	public String computeKey(final String relativePath, final Path connectorFile, final Collection<Path> extendedFiles)
+		throws IOException {
+		final MessageDigest digest = newDigest();
+		update(digest, pluginVersion);
+		update(digest, PLUGIN_DIGEST);
+		update(digest, relativePath);
+		update(digest, connectorFile);
+		for (Path extendedFile : extendedFiles) {
+			update(digest, ExtendsGraph.normalize(extendedFile).toString());
+			update(digest, extendedFile);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Compute the cache key of the library of a connector artifact.
+	 *
+	 * @param coordinates      The coordinates of the artifact.
+	 * @param libraryDirectory The directory of the connector library within the artifact.
+	 * @param artifactFile     The artifact file.
+	 * @return The hexadecimal SHA-256 digest identifying this version of the parsed artifact library.
+	 * @throws IOException If the artifact file cannot be read.
+	 */
+	public String computeArtifactKey(final String coordinates, final String libraryDirectory, final Path artifactFile)
+		throws IOException {
+		final MessageDigest digest = newDigest();
+		update(digest, pluginVersion);
+		update(digest, PLUGIN_DIGEST);
+		update(digest, coordinates);
+		update(digest, libraryDirectory);
+		update(digest, artifactFile);
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Get the resolved connector stored under the given key.
+	 *
+	 * @param key The cache key of the connector.
+	 * @return The resolved connector, or <code>null</code> if there is no readable entry for this key.
+	 */
+	public JsonNode get(final String key) {
+		usedKeys.add(key);
+		final Path entry = getEntry(key);
+		if (Files.isRegularFile(entry)) {
+			try {
+				final JsonNode connector = SMILE_OBJECT_MAPPER.readTree(entry.toFile());
+				hits.increment();
+				return connector;
+			} catch (IOException e) {
+				// A truncated or corrupted entry is simply resolved again and overwritten
+			}
+		}
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * Mark the entry stored under the given key as used by this build, without reading it, so that it is kept by
+	 * {@link #prune()}. This applies to an entry whose content is already held in memory.
+	 *
+	 * @param key The cache key.
+	 */
+	public void retain(final String key) {
+		usedKeys.add(key);
+	}
+
+	/**
+	 * Whether an entry is stored under the given key. The entry may still be unreadable.
+	 *
+	 * @param key The cache key of the connector.
+	 * @return <code>true</code> if the entry file exists.
+	 */
+	public boolean contains(final String key) {
+		return Files.isRegularFile(getEntry(key));
+	}
+
+	/**
+	 * Store the resolved connector under the given key. The entry is written to a temporary file first, so that
+	 * an interrupted build never leaves a partial entry behind.
+	 *
+	 * @param key       The cache key of the connector.
+	 * @param connector The resolved connector.
+	 * @throws IOException If the entry cannot be written.
+	 */
+	public void put(final String key, final JsonNode connector) throws IOException {
+		usedKeys.add(key);
+		Files.createDirectories(cacheDirectory);
+		final Path temporaryEntry = Files.createTempFile(cacheDirectory, key, ".tmp");
+		try {
+			SMILE_OBJECT_MAPPER.writeValue(temporaryEntry.toFile(), connector);
+			Files.move(temporaryEntry, getEntry(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporaryEntry);
+		}
+	}
+
+	/**
+	 * Delete the entries that have been neither read nor written since this cache has been created.
+	 *
+	 * @throws IOException If the cache directory cannot be listed or an entry cannot be deleted.
+	 */
+	public void prune() throws IOException {
+		if (!Files.isDirectory(cacheDirectory)) {
+			return;
+		}
+
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheDirectory, "*" + ENTRY_EXTENSION)) {
+			for (Path entry : entries) {
+				final String fileName = entry.getFileName().toString();
+				if (!usedKeys.contains(fileName.substring(0, fileName.length() - ENTRY_EXTENSION.length()))) {
+					Files.deleteIfExists(entry);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of connectors served from the cache.
+	 *
+	 * @return The number of cache hits.
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of connectors that had to be resolved.
+	 *
+	 * @return The number of cache misses.
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the number of files read and digested, each version of a file being digested once.
+	 *
+	 * @return The number of digested files.
+	 */
+	public long getDigestedFiles() {
+		return digestedFiles.sum();
+	}
+
+	/**
+	 * Get the file of the entry identified by the given key.
+	 *
+	 * @param key The cache key.
+	 * @return The path of the entry file.
+	 */
+	private Path getEntry(final String key) {
+		return cacheDirectory.resolve(key + ENTRY_EXTENSION);
+	}
+
+	/**
+	 * Add the given string to the digest, followed by a separator.
+	 *
+	 * @param digest The message digest.
+	 * @param value  The string value.
+	 */
+	private static void update(final MessageDigest digest, final String value) {
+		digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	/**
+	 * Add the digest of the content of the given file to the digest, followed by a separator.
+	 *
+	 * @param digest The message digest.
+	 * @param file   The file.
+	 * @throws IOException If the file cannot be read.
+	 */
+	private void update(final MessageDigest digest, final Path file) throws IOException {
+		digest.update(getFileDigest(file));
+		digest.update((byte) 0);
+	}
+
+	/**
+	 * Get the digest of the content of the given file, computed once for each version of the file.
+	 *
+	 * @param file The file.
+	 * @return The SHA-256 digest of the file content.
+	 * @throws IOException If the file cannot be read.
+	 */
+	private byte[] getFileDigest(final Path file) throws IOException {
+		final Path normalizedPath = ExtendsGraph.normalize(file);
+		final BasicFileAttributes attributes = Files.readAttributes(normalizedPath, BasicFileAttributes.class);
+		final FileKey key = new FileKey(normalizedPath, attributes.size(), attributes.lastModifiedTime());
+
+		final byte[] fileDigest = fileDigests.get(key);
+		if (fileDigest != null) {
+			return fileDigest;
+		}
+
+		// Under concurrent parsing, a file may be digested more than once, with the same result
+		final byte[] computedDigest = digest(normalizedPath);
+		digestedFiles.increment();
+		fileDigests.put(key, computedDigest);
+		return computedDigest;
+	}
+
+	/**
+	 * Compute the digest of the content of the given file, streamed so that a large connector artifact is never held
+	 * in memory.
+	 *
+	 * @param file The file.
+	 * @return The SHA-256 digest of the file content.
+	 * @throws IOException If the file cannot be read.
+	 */
+	private static byte[] digest(final Path file) throws IOException {
+		final MessageDigest digest = newDigest();
+		try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file), digest)) {
+			final byte[] buffer = new byte[BUFFER_SIZE];
+			while (inputStream.read(buffer) != -1) {
+				// The digest is updated as the file is read
+			}
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Compute the digest of the JAR file of the plugin.
+	 *
+	 * @return The hexadecimal SHA-256 digest of the plugin JAR file, or an empty string if the plugin is not loaded
+	 *         from a readable JAR file, e.g. from a directory of classes.
+	 */
+	private static String computePluginDigest() {
+		try {
+			final CodeSource codeSource = ResolvedConnectorCache.class.getProtectionDomain().getCodeSource();
+			if (codeSource != null && codeSource.getLocation() != null) {
+				final Path pluginFile = Path.of(codeSource.getLocation().toURI());
+				if (Files.isRegularFile(pluginFile)) {
+					return HexFormat.of().formatHex(digest(pluginFile));
+				}
+			}
+		} catch (IOException | URISyntaxException | RuntimeException e) {
+			// The plugin is then identified by its version only
+		}
+		return "";
+	}
+
+	/**
+	 * Create a new SHA-256 message digest.
+	 *
+	 * @return A new {@link MessageDigest}.
+	 */
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,335 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Library-wide pool of the objects and arrays of the connectors, sharing the structurally identical subtrees.
+ * <p>
+ * The merge of the <em>extends</em> sections copies the same header sections (the metrics of <em>Hardware.yaml</em>,
+ * the monitor jobs of the headers, ...) into many connectors. Sharing a tree walks it bottom-up: once the children of
+ * a container have been shared, the container is looked up by its field names and by the identity of its children,
+ * and replaced with the first identical container of the pool. The field order is part of the identity of an object,
+ * so the shared trees iterate exactly as the original ones.
+ * </p>
+ * <p>
+ * The shared containers are referenced by several connectors, so the trees must not be modified once they are
+ * shared. The containers that a tree does not own, e.g. the subtrees of the read-only extended connectors shared by
+ * an overlay merge, are neither modified nor pooled: they are already shared by identity. The
+ * {@link #getSavedBytes() saved bytes} are an estimate of the shallow size of the dropped nodes on a
+ * 64-bit JVM with compressed references.
+ * </p>
+ * This class is thread-safe, a tree must not be read concurrently while it is shared.
+ */
+public class SubtreePool {
+
+	/**
+	 * Estimated size of an object node with its empty linked hash map
+	 */
+	private static final long OBJECT_BYTES = 64;
+
+	/**
+	 * Estimated size of each field of an object node: the map entry and its slot in the hash table
+	 */
+	private static final long FIELD_BYTES = 40;
+
+	/**
+	 * Estimated size of an array node with its empty array list
+	 */
+	private static final long ARRAY_BYTES = 40;
+
+	/**
+	 * Estimated size of each element of an array node
+	 */
+	private static final long ELEMENT_BYTES = 4;
+
+	/**
+	 * Estimated size of a text node and its string, without the characters
+	 */
+	private static final long TEXT_BYTES = 56;
+
+	/**
+	 * Estimated size of the other scalar nodes
+	 */
+	private static final long SCALAR_BYTES = 24;
+
+	/**
+	 * Identifies a container by its shape and its children, the children being already shared.
+	 */
+	private static final class SubtreeKey {
+
+		private final JsonNode node;
+		private final int hash;
+
+		/**
+		 * Constructs the key of the given container.
+		 *
+		 * @param node The container, whose children are already shared.
+		 */
+		SubtreeKey(final JsonNode node) {
+			this.node = node;
+			int result = node.isObject() ? 1 : 2;
+			if (node.isObject()) {
+				final Iterator<Entry<String, JsonNode>> fields = node.fields();
+				while (fields.hasNext()) {
+					final Entry<String, JsonNode> field = fields.next();
+					result = 31 * (31 * result + field.getKey().hashCode()) + childHash(field.getValue());
+				}
+			} else {
+				for (JsonNode child : node) {
+					result = 31 * result + childHash(child);
+				}
+			}
+			this.hash = result;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object other) {
+			if (!(other instanceof SubtreeKey otherKey)) {
+				return false;
+			}
+
+			final JsonNode otherNode = otherKey.node;
+			if (hash != otherKey.hash || node.getNodeType() != otherNode.getNodeType() || node.size() != otherNode.size()) {
+				return false;
+			}
+
+			if (node.isObject()) {
+				final Iterator<Entry<String, JsonNode>> fields = node.fields();
+				final Iterator<Entry<String, JsonNode>> otherFields = otherNode.fields();
+				while (fields.hasNext()) {
+					final Entry<String, JsonNode> field = fields.next();
+					final Entry<String, JsonNode> otherField = otherFields.next();
+					if (!field.getKey().equals(otherField.getKey()) || !isSameChild(field.getValue(), otherField.getValue())) {
+						return false;
+					}
+				}
+				return true;
+			}
+
+			for (int i = 0; i < node.size(); i++) {
+				if (!isSameChild(node.get(i), otherNode.get(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Hash a child: the shared containers by identity, the scalars by value.
+		 *
+		 * @param child The child node.
+		 * @return The hash code of the child.
+		 */
+		private static int childHash(final JsonNode child) {
+			return child.isContainerNode() ? System.identityHashCode(child) : child.hashCode();
+		}
+	}
+
+	private final Map<SubtreeKey, JsonNode> subtrees = new ConcurrentHashMap<>();
+
+	private final LongAdder sharedNodes = new LongAdder();
+
+	private final LongAdder savedBytes = new LongAdder();
+
+	/**
+	 * Share the objects and arrays of the given tree with the identical subtrees of the previously shared trees.
+	 * The root itself is never replaced.
+	 *
+	 * @param root The tree to share, updated in place.
+	 */
+	public void share(final JsonNode root) {
+		share(root, node -> true);
+	}
+
+	/**
+	 * Share the objects and arrays owned by the given tree with the identical subtrees of the previously shared trees.
+	 * The containers that are not owned are left unchanged, with their subtree. The root itself is never replaced.
+	 *
+	 * @param root  The tree to share, updated in place. The root is owned.
+	 * @param owned Whether a container of the tree belongs to it and can be modified.
+	 */
+	public void share(final JsonNode root, final Predicate<JsonNode> owned) {
+		if (root instanceof ObjectNode objectNode) {
+			shareChildren(objectNode, owned);
+		} else if (root instanceof ArrayNode arrayNode) {
+			shareChildren(arrayNode, owned);
+		}
+	}
+
+	/**
+	 * Replace the children of the given object with their shared instance.
+	 *
+	 * @param objectNode The object.
+	 * @param owned      Whether a container belongs to the shared tree.
+	 */
+	private void shareChildren(final ObjectNode objectNode, final Predicate<JsonNode> owned) {
+		// The entries are backed by the object node, so the value can be replaced in place
+		final Iterator<Entry<String, JsonNode>> fields = objectNode.fields();
+		while (fields.hasNext()) {
+			final Entry<String, JsonNode> field = fields.next();
+			final JsonNode sharedValue = shareNode(field.getValue(), owned);
+			if (sharedValue != field.getValue()) {
+				field.setValue(sharedValue);
+			}
+		}
+	}
+
+	/**
+	 * Replace the elements of the given array with their shared instance.
+	 *
+	 * @param arrayNode The array.
+	 * @param owned     Whether a container belongs to the shared tree.
+	 */
+	private void shareChildren(final ArrayNode arrayNode, final Predicate<JsonNode> owned) {
+		for (int i = 0; i < arrayNode.size(); i++) {
+			final JsonNode element = arrayNode.get(i);
+			final JsonNode sharedElement = shareNode(element, owned);
+			if (sharedElement != element) {
+				arrayNode.set(i, sharedElement);
+			}
+		}
+	}
+
+	/**
+	 * Get the shared instance of the given node. The children of a container are shared first, then the container
+	 * is added to the pool, unless an identical container is already pooled.
+	 *
+	 * @param node  The node to share.
+	 * @param owned Whether a container belongs to the shared tree.
+	 * @return The pooled container, or the given node if it is a scalar, a container that is not owned, the first of
+	 *         its kind or the pooled container itself.
+	 */
+	private JsonNode shareNode(final JsonNode node, final Predicate<JsonNode> owned) {
+		if (!node.isContainerNode() || !owned.test(node)) {
+			return node;
+		}
+
+		share(node, owned);
+
+		final JsonNode pooledNode = subtrees.putIfAbsent(new SubtreeKey(node), node);
+		if (pooledNode == null || pooledNode == node) {
+			// Nothing is dropped when the container is already the pooled one, e.g. referenced twice by the tree
+			return node;
+		}
+
+		countDropped(node, pooledNode);
+		return pooledNode;
+	}
+
+	/**
+	 * Count the nodes dropped when the given container is replaced with the pooled one: the container and its scalar
+	 * children that are not already the pooled instances. Its container children are the pooled instances already.
+	 *
+	 * @param node       The dropped container.
+	 * @param pooledNode The identical pooled container.
+	 */
+	private void countDropped(final JsonNode node, final JsonNode pooledNode) {
+		long nodes = 1;
+		long bytes;
+		if (node.isObject()) {
+			bytes = OBJECT_BYTES + FIELD_BYTES * node.size();
+			final Iterator<Entry<String, JsonNode>> fields = node.fields();
+			while (fields.hasNext()) {
+				final Entry<String, JsonNode> field = fields.next();
+				final JsonNode child = field.getValue();
+				if (child != pooledNode.get(field.getKey())) {
+					nodes++;
+					bytes += scalarBytes(child);
+				}
+			}
+		} else {
+			bytes = ARRAY_BYTES + ELEMENT_BYTES * node.size();
+			for (int i = 0; i < node.size(); i++) {
+				final JsonNode child = node.get(i);
+				if (child != pooledNode.get(i)) {
+					nodes++;
+					bytes += scalarBytes(child);
+				}
+			}
+		}
+
+		sharedNodes.add(nodes);
+		savedBytes.add(bytes);
+	}
+
+	/**
+	 * Whether the given children are the same: the same instance for the containers, equal values for the scalars.
+	 *
+	 * @param child      A child node.
+	 * @param otherChild The other child node.
+	 * @return <code>true</code> if the children can be exchanged.
+	 */
+	private static boolean isSameChild(final JsonNode child, final JsonNode otherChild) {
+		return child.isContainerNode() ? child == otherChild : child.equals(otherChild);
+	}
+
+	/**
+	 * Estimate the size of the given scalar node.
+	 *
+	 * @param scalar The scalar node.
+	 * @return The estimated size in bytes.
+	 */
+	private static long scalarBytes(final JsonNode scalar) {
+		return scalar.isTextual() ? TEXT_BYTES + scalar.textValue().length() : SCALAR_BYTES;
+	}
+
+	/**
+	 * Gets the number of nodes dropped because an identical subtree was already pooled.
+	 *
+	 * @return The number of deduplicated nodes.
+	 */
+	public long getSharedNodes() {
+		return sharedNodes.sum();
+	}
+
+	/**
+	 * Gets the estimated number of bytes of the dropped nodes.
+	 *
+	 * @return The estimated saved bytes.
+	 */
+	public long getSavedBytes() {
+		return savedBytes.sum();
+	}
+
+	/**
+	 * Gets the number of distinct containers held by this pool.
+	 *
+	 * @return The number of pooled subtrees.
+	 */
+	public int size() {
+		return subtrees.size();
+	}
+}
@@ -0,0 +1,135 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Library-wide table of the field names and short textual values of the connectors.
+ * <p>
+ * The connectors repeat the same field names (<code>type</code>, <code>sources</code>, <code>mapping</code>, ...) and
+ * many short values (source types, attribute names, metric names, ...), and each parsed tree holds its own copy of
+ * them. Interning a tree replaces each field name with the canonical instance of this table, and each textual value
+ * of at most {@link #MAX_VALUE_LENGTH} characters with the canonical {@link TextNode}, which is immutable and can
+ * therefore be shared by all the trees. The trees are updated in place and remain equal to what they were.
+ * </p>
+ * This class is thread-safe, the trees must not be read concurrently while they are interned.
+ */
+public class SymbolTable {
+
+	/**
+	 * Maximum length of the interned textual values, the longer values (scripts, queries, ...) are rarely repeated
+	 */
+	public static final int MAX_VALUE_LENGTH = 64;
+
+	private final Map<String, String> names = new ConcurrentHashMap<>();
+
+	private final Map<String, TextNode> values = new ConcurrentHashMap<>();
+
+	/**
+	 * Intern the field names and the short textual values of the given tree.
+	 *
+	 * @param node The tree to intern, updated in place.
+	 */
+	public void intern(final JsonNode node) {
+		if (node instanceof ObjectNode objectNode) {
+			internObject(objectNode);
+		} else if (node instanceof ArrayNode arrayNode) {
+			for (int i = 0; i < arrayNode.size(); i++) {
+				final JsonNode child = arrayNode.get(i);
+				final JsonNode internedChild = internValue(child);
+				if (internedChild != child) {
+					arrayNode.set(i, internedChild);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Intern the field names and the values of the given object. The object is rebuilt in the same order only when
+	 * one of its field names is not the canonical instance yet.
+	 *
+	 * @param objectNode The object to intern.
+	 */
+	private void internObject(final ObjectNode objectNode) {
+		List<Entry<String, JsonNode>> internedFields = null;
+
+		// The entries are backed by the object node, so the value can be replaced in place
+		final Iterator<Entry<String, JsonNode>> fields = objectNode.fields();
+		while (fields.hasNext()) {
+			final Entry<String, JsonNode> field = fields.next();
+			final JsonNode internedValue = internValue(field.getValue());
+			if (internedValue != field.getValue()) {
+				field.setValue(internedValue);
+			}
+
+			final String internedName = names.computeIfAbsent(field.getKey(), name -> name);
+			if (internedName != field.getKey() && internedFields == null) { // NOSONAR identity is what matters here
+				internedFields = new ArrayList<>(objectNode.size());
+			}
+			if (internedFields != null) {
+				internedFields.add(Map.entry(internedName, internedValue));
+			}
+		}
+
+		// A key cannot be replaced in place, the fields are set again from the first non-canonical one
+		if (internedFields != null) {
+			internedFields.forEach(field -> objectNode.remove(field.getKey()));
+			internedFields.forEach(field -> objectNode.set(field.getKey(), field.getValue()));
+		}
+	}
+
+	/**
+	 * Intern the given node: the containers are interned in place, the short textual values are replaced with their
+	 * canonical node.
+	 *
+	 * @param node The node to intern.
+	 * @return The canonical node, or the given node if it is not replaced.
+	 */
+	private JsonNode internValue(final JsonNode node) {
+		if (node.isContainerNode()) {
+			intern(node);
+			return node;
+		}
+		if (node.isTextual() && node.textValue().length() <= MAX_VALUE_LENGTH) {
+			return values.computeIfAbsent(node.textValue(), value -> (TextNode) node);
+		}
+		return node;
+	}
+
+	/**
+	 * Gets the number of distinct field names and values held by this table.
+	 *
+	 * @return The number of symbols.
+	 */
+	public int size() {
+		return names.size() + values.size();
+	}
+}
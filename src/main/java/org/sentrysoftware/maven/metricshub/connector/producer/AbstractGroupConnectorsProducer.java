@@ -20,12 +20,11 @@ package org.sentrysoftware.maven.metricshub.connector.producer;
  * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
  */
 
-import com.fasterxml.jackson.databind.JsonNode;
-import java.util.List;
-import java.util.Map;
+import java.util.Collection;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.plugin.logging.Log;
 import org.sentrysoftware.maven.metricshub.connector.Constants;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorSummary;
 
 /**
  * Abstract class for producing pages that group connectors.
@@ -44,18 +43,16 @@ public abstract class AbstractGroupConnectorsProducer extends AbstractPageProduc
 	/**
 	 * Builds the head and body of the page.
 	 *
-	 * @param sink                      The sink used for generating content
-	 * @param connectorSubdirectoryName The connector subdirectory name
-	 * @param enterpriseConnectorIds    The enterprise connector identifiers
-	 * @param title                     The title of the page
-	 * @param connectors                The map of connector identifiers to their corresponding JsonNodes
+	 * @param sink       The sink used for generating content
+	 * @param rowCache   The cache of the connectors table rows
+	 * @param title      The title of the page
+	 * @param connectors The summaries of the connectors to list
 	 */
 	protected void buildHeadAndBody(
 		final Sink sink,
-		final String connectorSubdirectoryName,
-		final List<String> enterpriseConnectorIds,
+		final ConnectorTableRowCache rowCache,
 		final String title,
-		final Map<String, JsonNode> connectors
+		final Collection<ConnectorSummary> connectors
 	) {
 		// Create the head element of the page
 		buildHead(sink, title);
@@ -80,7 +77,7 @@ public abstract class AbstractGroupConnectorsProducer extends AbstractPageProduc
 		sink.paragraph_();
 
 		// Table of connectors
-		buildConnectorsTable(sink, connectors, connectorSubdirectoryName, enterpriseConnectorIds, true);
+		buildConnectorsTable(sink, connectors, rowCache, true);
 
 		// Close the page
 		sink.section1_();
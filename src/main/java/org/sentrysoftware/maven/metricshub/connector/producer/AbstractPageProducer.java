@@ -22,20 +22,12 @@ package org.sentrysoftware.maven.metricshub.connector.producer;
 
 import static org.sentrysoftware.maven.metricshub.connector.Constants.BOOTSTRAP_MEDIUM_3_CLASS;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Collection;
 import lombok.AllArgsConstructor;
 import org.apache.maven.doxia.sink.Sink;
-import org.apache.maven.doxia.sink.SinkEventAttributes;
-import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
 import org.apache.maven.plugin.logging.Log;
-import org.sentrysoftware.maven.metricshub.connector.producer.model.common.OsType;
-import org.sentrysoftware.maven.metricshub.connector.producer.model.common.TechnologyType;
-import org.sentrysoftware.maven.metricshub.connector.producer.model.platform.Platform;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorCatalog;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorSummary;
 
 /**
  * Abstract class for producing pages.
@@ -74,19 +66,19 @@ public abstract class AbstractPageProducer {
 	}
 
 	/**
-	 * Builds the table of connectors.
+	 * Builds the table of connectors. The rows are replayed from the given cache, in the order of the given
+	 * connectors.
 	 *
-	 * @param sink                      The sink used for generating content.
-	 * @param connectors                The map of connector identifiers to their corresponding JsonNodes.
-	 * @param connectorSubdirectoryName The connector subdirectory name.
-	 * @param enterpriseConnectorIds    The enterprise connector identifiers.
-	 * @param areWeUnderConnectors      We are located under the connectors directory.
+	 * @param sink                 The sink used for generating content.
+	 * @param connectors           The summaries of the connectors to list, already sorted with
+	 *                             {@link ConnectorSummary#DISPLAY_ORDER} by the {@link ConnectorCatalog}.
+	 * @param rowCache             The cache of the connectors table rows.
+	 * @param areWeUnderConnectors We are located under the connectors directory.
 	 */
 	protected void buildConnectorsTable(
 		final Sink sink,
-		final Map<String, JsonNode> connectors,
-		final String connectorSubdirectoryName,
-		final List<String> enterpriseConnectorIds,
+		final Collection<ConnectorSummary> connectors,
+		final ConnectorTableRowCache rowCache,
 		final boolean areWeUnderConnectors
 	) {
 		// Create the table
@@ -95,73 +87,7 @@ public abstract class AbstractPageProducer {
 		// Table header
 		buildTableHeaderRow(sink);
 
-		// A comparison function which compare connectors by display name
-		final Comparator<Entry<String, JsonNode>> comparator = (e1, e2) ->
-			new ConnectorJsonNodeReader(e1.getValue())
-				.getDisplayName()
-				.toLowerCase()
-				.compareTo(new ConnectorJsonNodeReader(e2.getValue()).getDisplayName().toLowerCase());
-
-		connectors
-			.entrySet()
-			.stream()
-			.sorted(comparator)
-			.forEach(connectorEntry -> {
-				final JsonNode connector = connectorEntry.getValue();
-				final String connectorId = connectorEntry.getKey();
-
-				final ConnectorJsonNodeReader connectorJsonNodeReader = new ConnectorJsonNodeReader(connector);
-
-				// Builds the HTML page file name corresponding to the specified connector identifier
-				final String pageFilename = SinkHelper.buildPageFilename(connectorId);
-
-				// Builds the HTML page path name corresponding to the specified connector page filename
-				final String connectorPagePath = String.format(
-					areWeUnderConnectors ? "../../%s/%s" : "%s/%s",
-					connectorSubdirectoryName,
-					pageFilename
-				);
-
-				// Add a row to the table in the main page
-				sink.tableRow();
-
-				sink.tableCell();
-
-				sink.link(connectorPagePath);
-				sink.text(connectorJsonNodeReader.getDisplayName());
-				sink.link_();
-				sink.tableCell_();
-
-				sink.tableCell();
-				sink.link(connectorPagePath);
-				sink.text(connectorId);
-				sink.link_();
-				sink.tableCell_();
-
-				sink.tableCell();
-				sink.text(Platform.formatPlatforms(connectorJsonNodeReader.getPlatforms()));
-				sink.tableCell_();
-
-				sink.tableCell();
-				sink.text(String.join(", ", OsType.mapToDisplayNames(connectorJsonNodeReader.getAppliesTo())));
-				sink.tableCell_();
-
-				sink.tableCell();
-				final Set<TechnologyType> technologies = connectorJsonNodeReader.getTechnologies();
-				for (final TechnologyType technology : technologies) {
-					sink.text(technology.getDisplayName());
-					sink.lineBreak();
-				}
-
-				sink.tableCell_();
-
-				SinkEventAttributes attributes = new SinkEventAttributeSet(SinkEventAttributes.ALIGN, "center");
-				sink.tableCell(attributes);
-				sink.text(enterpriseConnectorIds.contains(connectorId) ? "\u2713" : "");
-				sink.tableCell_();
-
-				sink.tableRow_();
-			});
+		connectors.forEach(connector -> rowCache.get(connector).render(sink, areWeUnderConnectors));
 
 		sink.table_();
 	}
@@ -20,10 +20,10 @@ package org.sentrysoftware.maven.metricshub.connector.producer;
  * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
  */
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.JsonNodeFactory;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -31,12 +31,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
+import org.sentrysoftware.maven.metricshub.connector.parser.PlaceholderIndex;
 import org.sentrysoftware.maven.metricshub.connector.producer.model.common.ConnectorDefaultVariable;
 import org.sentrysoftware.maven.metricshub.connector.producer.model.common.TechnologyType;
 
@@ -73,12 +75,21 @@ public class ConnectorJsonNodeReader {
 		"^\\s*([^\\{]*)\\{.*(\\s*state\\s*=\\s*.*)\\}\\s*$"
 	);
 
+	private final JsonNode connector;
+
 	/**
-	 * Defines a regular expression pattern for matching connector variables name.
+	 * The index of the placeholders of the connector, built on demand when not provided
 	 */
-	private static final Pattern CONNECTOR_VARIABLE_PATTERN = Pattern.compile("\\$\\{var::(.*?)\\}");
+	private PlaceholderIndex placeholderIndex;
 
-	private final JsonNode connector;
+	/**
+	 * Constructs a reader of the given connector.
+	 *
+	 * @param connector The connector as a {@link JsonNode}.
+	 */
+	public ConnectorJsonNodeReader(final JsonNode connector) {
+		this(connector, null);
+	}
 
 	/**
 	 * Retrieves the display name property of the connector located under the <em>connector</em> JSON node.
@@ -598,32 +609,6 @@ public class ConnectorJsonNodeReader {
 		return job.get("mapping");
 	}
 
-	/**
-	 * Retrieves and adds a specified tag to the detection JSON node's "tags" list.
-	 * <p>
-	 * Adds either "enterprise" or "community" to the "tags" field based on the {@code isEnterprise} parameter.
-	 * If the "tags" field is absent or null, it initializes a new array with the specified tag.
-	 * </p>
-	 *
-	 * @param isEnterprise {@code true} to add "enterprise" to the tags; {@code false} to add "community".
-	 * @return a list of tags as strings, including the added tag, or an empty list if the detection node is null.
-	 */
-	public List<String> getAndCompleteTags(final boolean isEnterprise) {
-		JsonNode detection = getDetection();
-		if (JsonNodeHelper.nonNull(detection)) {
-			final JsonNode tagsNode = detection.get("tags"); // NOSONAR JsonNodeHelper.nonNull() is already called
-			final ArrayNode tagsArrayNode = tagsNode != null && !tagsNode.isNull()
-				? (ArrayNode) tagsNode
-				: JsonNodeFactory.instance.arrayNode();
-
-			tagsArrayNode.add(isEnterprise ? "enterprise" : "community");
-
-			((ObjectNode) detection).set("tags", tagsArrayNode);
-			return JsonNodeHelper.nodeToStringList(tagsArrayNode);
-		}
-		return Collections.emptyList();
-	}
-
 	/**
 	 * Retrieves a list of tags from the detection JSON node.
 	 *
@@ -640,18 +625,73 @@ public class ConnectorJsonNodeReader {
 	 * Retrieves all variable names from the connector template.
 	 * Variables are expected to be in the format: ${var::variableName}.
 	 *
-	 * @return a set of unique variable names found within the connector template.
+	 * @return a sorted set of unique variable names found within the connector template.
 	 */
 	public Set<String> getVariablesNames() {
-		final String stringConnector = connector.toString();
-		final Set<String> variables = new HashSet<>();
+		return getVariableUsages().keySet();
+	}
+
+	/**
+	 * Retrieves all the variables of the connector template, with the locations where each variable is used.
+	 * Only the textual values recorded in the {@link PlaceholderIndex} are read, the tree is never serialized.
+	 *
+	 * @return a map sorted by variable name, where each value lists the locations using the variable in document
+	 *         order, e.g. <code>monitors.cpu.discovery.sources.source(1).query</code>.
+	 */
+	public Map<String, List<String>> getVariableUsages() {
+		final Map<String, List<String>> variableUsages = new TreeMap<>();
+
+		for (JsonPointer pointer : getPlaceholderIndex().getPointers(PlaceholderIndex.VARIABLE)) {
+			final String location = formatLocation(pointer);
+			PlaceholderIndex.forEachReference(
+				connector.at(pointer).asText(),
+				PlaceholderIndex.VARIABLE,
+				variable -> {
+					final List<String> locations = variableUsages.computeIfAbsent(variable, v -> new ArrayList<>());
+					if (!locations.contains(location)) {
+						locations.add(location);
+					}
+				}
+			);
+		}
+		return variableUsages;
+	}
 
-		final Matcher matcher = CONNECTOR_VARIABLE_PATTERN.matcher(stringConnector);
+	/**
+	 * Formats the given pointer as a dotted path, the array elements being denoted by their index in brackets.
+	 *
+	 * @param pointer The pointer of a value of the connector.
+	 * @return A location such as <code>monitors.cpu.discovery.sources.source(1).computes[0].value</code>.
+	 */
+	private String formatLocation(final JsonPointer pointer) {
+		final StringBuilder location = new StringBuilder();
+		JsonNode node = connector;
+		for (JsonPointer segment = pointer; !segment.matches(); segment = segment.tail()) {
+			if (node.isArray()) {
+				location.append('[').append(segment.getMatchingIndex()).append(']');
+				node = node.get(segment.getMatchingIndex());
+			} else {
+				if (location.length() > 0) {
+					location.append('.');
+				}
+				location.append(segment.getMatchingProperty());
+				node = node.get(segment.getMatchingProperty());
+			}
+		}
+		return location.toString();
+	}
 
-		while (matcher.find()) {
-			variables.add(matcher.group(1));
+	/**
+	 * Gets the index of the placeholders of the connector, building it on the first call if it has not been
+	 * provided by the parser.
+	 *
+	 * @return The {@link PlaceholderIndex} of the connector.
+	 */
+	private PlaceholderIndex getPlaceholderIndex() {
+		if (placeholderIndex == null) {
+			placeholderIndex = PlaceholderIndex.of(connector);
 		}
-		return variables;
+		return placeholderIndex;
 	}
 
 	/**
@@ -34,9 +34,12 @@ import java.util.TreeMap;
 import java.util.stream.Collectors;
 import lombok.Builder;
 import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
 import org.apache.maven.plugin.logging.Log;
 import org.sentrysoftware.maven.metricshub.connector.ConnectorsDirectoryReport;
 import org.sentrysoftware.maven.metricshub.connector.Constants;
+import org.sentrysoftware.maven.metricshub.connector.parser.PlaceholderIndex;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorSummary;
 import org.sentrysoftware.maven.metricshub.connector.producer.model.common.ConnectorDefaultVariable;
 import org.sentrysoftware.maven.metricshub.connector.producer.model.common.OpenTelemetryHardwareType;
 import org.sentrysoftware.maven.metricshub.connector.producer.model.common.OsType;
@@ -56,6 +59,7 @@ public class ConnectorPageProducer {
 
 	private final String connectorId;
 	private final JsonNode connector;
+	private final PlaceholderIndex placeholderIndex;
 	private final Log logger;
 	private String connectorDirectory;
 
@@ -64,25 +68,26 @@ public class ConnectorPageProducer {
 	 *
 	 * This method generates a table with connector information, adding a new column to indicate if a connector is an enterprise connector.
 	 *
-	 * @param sink                   The sink used for generating content.
-	 * @param supersededMap          Map of superseded connectors.
-	 * @param enterpriseConnectorIds List of IDs for enterprise connectors.
+	 * @param sink                    The sink used for generating content.
+	 * @param connectorSummary        The summary of this connector.
+	 * @param supersedingConnectorIds The identifiers of the connectors superseding this connector.
 	 */
 	public void produce(
 		final Sink sink,
-		final Map<String, List<String>> supersededMap,
-		final List<String> enterpriseConnectorIds
+		final ConnectorSummary connectorSummary,
+		final List<String> supersedingConnectorIds
 	) {
 		Objects.requireNonNull(connectorId, () -> "connectorId cannot be null.");
 		Objects.requireNonNull(connector, () -> "connector cannot be null.");
-		Objects.requireNonNull(supersededMap, () -> "supersededMap cannot be null.");
+		Objects.requireNonNull(connectorSummary, () -> "connectorSummary cannot be null.");
+		Objects.requireNonNull(supersedingConnectorIds, () -> "supersedingConnectorIds cannot be null.");
 		Objects.requireNonNull(sink, () -> "sink cannot be null.");
 		Objects.requireNonNull(logger, () -> "logger cannot be null.");
 
 		logger.debug("Generating " + SinkHelper.buildPageFilename(connectorId));
 
-		final ConnectorJsonNodeReader connectorJsonNodeReader = new ConnectorJsonNodeReader(connector);
-		final String displayName = connectorJsonNodeReader.getDisplayName();
+		final ConnectorJsonNodeReader connectorJsonNodeReader = new ConnectorJsonNodeReader(connector, placeholderIndex);
+		final String displayName = connectorSummary.getDisplayName();
 
 		// Create the head element of the page
 		sink.head();
@@ -116,10 +121,10 @@ public class ConnectorPageProducer {
 		sink.text(connectorJsonNodeReader.getInformationOrDefault("N/A"));
 		sink.paragraph_();
 
-		produceSupersedesContent(sink, supersededMap, connectorJsonNodeReader);
+		produceSupersedesContent(sink, supersedingConnectorIds, connectorSummary);
 
 		// Display the connector tags
-		final List<String> connectorTags = connectorJsonNodeReader.getTags();
+		final List<String> connectorTags = connectorSummary.getTags();
 		sink.paragraph();
 		connectorTags
 			.stream()
@@ -139,7 +144,7 @@ public class ConnectorPageProducer {
 		sink.paragraph_();
 
 		// The GitHub link will be generated only for community connectors
-		if (!enterpriseConnectorIds.contains(connectorId)) {
+		if (!connectorSummary.isEnterprise()) {
 			connectorDirectory = connectorJsonNodeReader.getRelativePath().replace("\\", "/");
 			// Add a link to the connector source.
 			sink.paragraph();
@@ -157,7 +162,7 @@ public class ConnectorPageProducer {
 		sink.sectionTitle2_();
 
 		// Typical platforms
-		final Set<String> platforms = connectorJsonNodeReader.getPlatforms();
+		final Set<String> platforms = connectorSummary.getPlatforms();
 		final int platformsSize = platforms.size();
 
 		sink.paragraph();
@@ -183,7 +188,7 @@ public class ConnectorPageProducer {
 
 		// OS of this connector
 		final List<String> appliesTo = connectorJsonNodeReader.getAppliesTo();
-		final List<String> osList = OsType.mapToDisplayNames(appliesTo);
+		final List<String> osList = connectorSummary.getOsDisplayNames();
 		sink.paragraph();
 		sink.text("Operating ");
 		sink.text(new ChoiceFormat("1#system|1<systems").format(osList.size()));
@@ -221,7 +226,7 @@ public class ConnectorPageProducer {
 		sink.bold_();
 		sink.paragraph_();
 
-		final Set<TechnologyType> technologies = connectorJsonNodeReader.getTechnologies();
+		final Set<TechnologyType> technologies = connectorSummary.getTechnologies();
 		sink.paragraph();
 		sink.text("Technology and protocols: ");
 		sink.bold();
@@ -230,7 +235,8 @@ public class ConnectorPageProducer {
 		sink.paragraph_();
 
 		// Displaying connector variables list
-		final Set<String> connectorVariables = connectorJsonNodeReader.getVariablesNames();
+		final Map<String, List<String>> connectorVariableUsages = connectorJsonNodeReader.getVariableUsages();
+		final Set<String> connectorVariables = connectorVariableUsages.keySet();
 		final Map<String, ConnectorDefaultVariable> connectorDefaultVariables =
 			connectorJsonNodeReader.getDefaultVariables();
 		if (!connectorVariables.isEmpty()) {
@@ -244,6 +250,7 @@ public class ConnectorPageProducer {
 				if (connectorDefaultVariable != null) {
 					produceVariableSection(sink, connectorDefaultVariables.get(variable));
 				}
+				produceVariableUsages(sink, connectorVariableUsages.get(variable));
 				sink.listItem_();
 			}
 			sink.list_();
@@ -663,37 +670,34 @@ public class ConnectorPageProducer {
 	 * along with a list of connectors that it supersedes.
 	 * </p>
 	 * @param sink                    The sink used for generating content.
-	 * @param supersededMap           Map of superseded connectors.
-	 * @param connectorJsonNodeReader The reader for connector
-
+	 * @param supersedingConnectorIds The identifiers of the connectors superseding this connector.
+	 * @param connectorSummary        The summary of this connector.
 	 */
 	private void produceSupersedesContent(
 		final Sink sink,
-		final Map<String, List<String>> supersededMap,
-		final ConnectorJsonNodeReader connectorJsonNodeReader
+		final List<String> supersedingConnectorIds,
+		final ConnectorSummary connectorSummary
 	) {
 		// Superseded?
-		if (supersededMap.containsKey(connectorId)) {
+		if (!supersedingConnectorIds.isEmpty()) {
 			final String textWarningCssClassName = "text-warning";
 			sink.paragraph(SinkHelper.setClass(textWarningCssClassName));
 			sink.rawText(SinkHelper.glyphIcon("warning-sign"));
 			sink.text(" This connector is superseded by: ");
 			sink.paragraph_();
 			sink.list();
-			supersededMap
-				.get(connectorId)
-				.forEach(supersedingConnectorId -> {
-					sink.listItem(SinkHelper.setClass(textWarningCssClassName));
-					sink.link(SinkHelper.buildPageFilename(supersedingConnectorId), SinkHelper.setClass(textWarningCssClassName));
-					sink.text(supersedingConnectorId);
-					sink.link_();
-					sink.listItem_();
-				});
+			supersedingConnectorIds.forEach(supersedingConnectorId -> {
+				sink.listItem(SinkHelper.setClass(textWarningCssClassName));
+				sink.link(SinkHelper.buildPageFilename(supersedingConnectorId), SinkHelper.setClass(textWarningCssClassName));
+				sink.text(supersedingConnectorId);
+				sink.link_();
+				sink.listItem_();
+			});
 			sink.list_();
 		}
 
 		// Superseding?
-		final List<String> supersedes = connectorJsonNodeReader.getSupersedes();
+		final List<String> supersedes = connectorSummary.getSupersedes();
 		if (supersedes != null && !supersedes.isEmpty()) {
 			sink.paragraph();
 			sink.rawText(SinkHelper.glyphIcon("info-sign"));
@@ -797,4 +801,24 @@ public class ConnectorPageProducer {
 			: "";
 		sink.rawText(String.format("%s %s", defaultDescriptionString, defaultValueString));
 	}
+
+	/**
+	 * Produces the list of locations where a variable is used in the connector.
+	 *
+	 * @param sink      The sink used for generating content.
+	 * @param locations The locations using the variable, e.g. <code>monitors.cpu.discovery.sources.source(1).query</code>.
+	 */
+	private void produceVariableUsages(final Sink sink, final List<String> locations) {
+		sink.lineBreak();
+		sink.text("Used in: ");
+		for (int i = 0; i < locations.size(); i++) {
+			if (i > 0) {
+				sink.text(", ");
+			}
+			// The locations are escaped by the sink
+			sink.inline(SinkEventAttributeSet.Semantics.CODE);
+			sink.text(locations.get(i));
+			sink.inline_();
+		}
+	}
 }
@@ -0,0 +1,170 @@
+package org.sentrysoftware.maven.metricshub.connector.producer;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Value;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorSummary;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.common.TechnologyType;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.platform.Platform;
+
+/**
+ * Cache of the rows of the connectors tables.
+ * <p>
+ * A connector is listed by the full listing page and by each tag and platform page it belongs to. The content of
+ * its row (links, display name, platforms, operating systems, technologies and enterprise mark) is computed the
+ * first time the connector is listed, then each table replays the cached row into its sink. The rows are kept as
+ * sink events rather than as HTML so that the sink still handles the escaping and the table decoration.
+ * </p>
+ * This class is thread-safe.
+ */
+public class ConnectorTableRowCache {
+
+	private final String connectorSubdirectoryName;
+
+	private final Map<String, Row> rows = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs an empty cache.
+	 *
+	 * @param connectorSubdirectoryName The connector subdirectory name, used to link each row to the connector page.
+	 */
+	public ConnectorTableRowCache(final String connectorSubdirectoryName) {
+		this.connectorSubdirectoryName = connectorSubdirectoryName;
+	}
+
+	/**
+	 * Gets the row of the given connector, computing it on the first call.
+	 *
+	 * @param connector The summary of the connector.
+	 * @return The cached {@link Row}.
+	 */
+	public Row get(final ConnectorSummary connector) {
+		return rows.computeIfAbsent(connector.getConnectorId(), connectorId -> buildRow(connector));
+	}
+
+	/**
+	 * Gets the number of cached rows.
+	 *
+	 * @return The number of connectors whose row has been computed.
+	 */
+	public int size() {
+		return rows.size();
+	}
+
+	/**
+	 * Computes the content of the row of the given connector.
+	 *
+	 * @param connector The summary of the connector.
+	 * @return A new {@link Row}.
+	 */
+	private Row buildRow(final ConnectorSummary connector) {
+		final String connectorId = connector.getConnectorId();
+
+		// Builds the HTML page file name corresponding to the specified connector identifier
+		final String pageFilename = SinkHelper.buildPageFilename(connectorId);
+
+		return new Row(
+			String.format("%s/%s", connectorSubdirectoryName, pageFilename),
+			String.format("../../%s/%s", connectorSubdirectoryName, pageFilename),
+			connector.getDisplayName(),
+			connectorId,
+			Platform.formatPlatforms(connector.getPlatforms()),
+			String.join(", ", connector.getOsDisplayNames()),
+			connector.getTechnologies().stream().map(TechnologyType::getDisplayName).toList(),
+			connector.isEnterprise() ? "\u2713" : ""
+		);
+	}
+
+	/**
+	 * The content of the row of a connector in the connectors tables.
+	 */
+	@Value
+	public static class Row {
+
+		/**
+		 * The path of the connector page, relative to the output directory
+		 */
+		private String pagePath;
+
+		/**
+		 * The path of the connector page, relative to a page located under the connectors directory
+		 */
+		private String pagePathUnderConnectors;
+
+		private String displayName;
+		private String connectorId;
+		private String platforms;
+		private String operatingSystems;
+		private List<String> technologies;
+		private String enterpriseMark;
+
+		/**
+		 * Emits the row into the given sink.
+		 *
+		 * @param sink                 The sink used for generating content.
+		 * @param areWeUnderConnectors We are located under the connectors directory.
+		 */
+		public void render(final Sink sink, final boolean areWeUnderConnectors) {
+			final String connectorPagePath = areWeUnderConnectors ? pagePathUnderConnectors : pagePath;
+
+			sink.tableRow();
+
+			sink.tableCell();
+			sink.link(connectorPagePath);
+			sink.text(displayName);
+			sink.link_();
+			sink.tableCell_();
+
+			sink.tableCell();
+			sink.link(connectorPagePath);
+			sink.text(connectorId);
+			sink.link_();
+			sink.tableCell_();
+
+			sink.tableCell();
+			sink.text(platforms);
+			sink.tableCell_();
+
+			sink.tableCell();
+			sink.text(operatingSystems);
+			sink.tableCell_();
+
+			sink.tableCell();
+			for (final String technology : technologies) {
+				sink.text(technology);
+				sink.lineBreak();
+			}
+			sink.tableCell_();
+
+			sink.tableCell(new SinkEventAttributeSet(SinkEventAttributes.ALIGN, "center"));
+			sink.text(enterpriseMark);
+			sink.tableCell_();
+
+			sink.tableRow_();
+		}
+	}
+}
@@ -20,16 +20,13 @@ package org.sentrysoftware.maven.metricshub.connector.producer;
  * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
  */
 
-import com.fasterxml.jackson.databind.JsonNode;
 import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.plugin.logging.Log;
 import org.sentrysoftware.maven.metricshub.connector.Constants;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorCatalog;
 
 /**
  * Utility class for producing full-listing connectors page.
@@ -55,23 +52,21 @@ public class FullListingPageProducer extends AbstractPageProducer {
 	/**
 	 * Produces the main page report that lists all the connectors.
 	 *
-	 * @param mainSink               The main sink used for generating content.
-	 * @param connectors             The map of connector identifiers to their corresponding JsonNodes.
-	 * @param enterpriseConnectorIds The enterprise connector identifiers.
-	 * @param connectorTags          The set of connector tags.
+	 * @param mainSink         The main sink used for generating content.
+	 * @param connectorCatalog The catalog of the connectors, listing the connectors and their tags.
+	 * @param rowCache         The cache of the connectors table rows.
 	 */
 	public void produce(
 		final Sink mainSink,
-		final Map<String, JsonNode> connectors,
-		final List<String> enterpriseConnectorIds,
-		final Set<String> connectorTags
+		final ConnectorCatalog connectorCatalog,
+		final ConnectorTableRowCache rowCache
 	) {
 		Objects.requireNonNull(connectorSubdirectoryName, () -> "connectorSubdirectoryName cannot be null.");
 		Objects.requireNonNull(tagSubdirectoryName, () -> "tagSubdirectoryName cannot be null.");
 		Objects.requireNonNull(mainSink, () -> "mainSink cannot be null.");
 		Objects.requireNonNull(logger, () -> "logger cannot be null.");
-		Objects.requireNonNull(connectors, () -> "connectors cannot be null.");
-		Objects.requireNonNull(connectorTags, () -> "connectorTags cannot be null.");
+		Objects.requireNonNull(connectorCatalog, () -> "connectorCatalog cannot be null.");
+		Objects.requireNonNull(rowCache, () -> "rowCache cannot be null.");
 
 		logger.debug(String.format("Generating the full-listing page %s", Constants.CONNECTORS_FULL_LISTING_FILE_NAME));
 
@@ -108,7 +103,9 @@ public class FullListingPageProducer extends AbstractPageProducer {
 		mainSink.paragraph_();
 
 		// Sort the entries in tagsSet
-		connectorTags
+		connectorCatalog
+			.getTags()
+			.keySet()
 			.stream()
 			.sorted(String.CASE_INSENSITIVE_ORDER)
 			.collect(Collectors.toCollection(LinkedHashSet::new))
@@ -134,7 +131,7 @@ public class FullListingPageProducer extends AbstractPageProducer {
 		mainSink.sectionTitle2_();
 
 		// Create the table
-		buildConnectorsTable(mainSink, connectors, connectorSubdirectoryName, enterpriseConnectorIds, false);
+		buildConnectorsTable(mainSink, connectorCatalog.getSummariesInDisplayOrder(), rowCache, false);
 
 		mainSink.section1_();
 
@@ -20,12 +20,11 @@ package org.sentrysoftware.maven.metricshub.connector.producer;
  * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
  */
 
-import com.fasterxml.jackson.databind.JsonNode;
-import java.util.List;
-import java.util.Map;
+import java.util.Collection;
 import java.util.Objects;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.plugin.logging.Log;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorSummary;
 import org.sentrysoftware.maven.metricshub.connector.producer.model.platform.Platform;
 
 /**
@@ -45,17 +44,11 @@ public class SpecificPlatformPageProducer extends AbstractGroupConnectorsProduce
 	/**
 	 * Produces the tag page report that lists all the connectors.
 	 *
-	 * @param sink                      The sink used for generating content.
-	 * @param platform                  The platform to be listed as part of the report.
-	 * @param connectorSubdirectoryName The connector subdirectory name.
-	 * @param enterpriseConnectorIds    The enterprise connector identifiers.
+	 * @param sink     The sink used for generating content.
+	 * @param platform The platform to be listed as part of the report.
+	 * @param rowCache The cache of the connectors table rows.
 	 */
-	public void produce(
-		final Sink sink,
-		final Platform platform,
-		final String connectorSubdirectoryName,
-		final List<String> enterpriseConnectorIds
-	) {
+	public void produce(final Sink sink, final Platform platform, final ConnectorTableRowCache rowCache) {
 		Objects.requireNonNull(platform, () -> "platform cannot be null.");
 		Objects.requireNonNull(sink, () -> "sink cannot be null.");
 		Objects.requireNonNull(logger, () -> "logger cannot be null.");
@@ -63,9 +56,9 @@ public class SpecificPlatformPageProducer extends AbstractGroupConnectorsProduce
 		logger.debug("Generating Platform Page: " + SinkHelper.buildPageFilename(platform.getId()));
 
 		final String displayName = platform.getDisplayName();
-		final Map<String, JsonNode> connectors = platform.getConnectors();
+		final Collection<ConnectorSummary> connectors = platform.getConnectors().values();
 
-		buildHeadAndBody(sink, connectorSubdirectoryName, enterpriseConnectorIds, displayName, connectors);
+		buildHeadAndBody(sink, rowCache, displayName, connectors);
 	}
 
 	@Override
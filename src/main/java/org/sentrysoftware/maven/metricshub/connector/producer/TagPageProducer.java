@@ -20,12 +20,11 @@ package org.sentrysoftware.maven.metricshub.connector.producer;
  * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
  */
 
-import com.fasterxml.jackson.databind.JsonNode;
-import java.util.List;
-import java.util.Map;
+import java.util.Collection;
 import java.util.Objects;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.plugin.logging.Log;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorSummary;
 
 /**
  * Utility class for producing tag page related to connectors.
@@ -47,16 +46,14 @@ public class TagPageProducer extends AbstractGroupConnectorsProducer {
 
 	/**
 	 * Produces the tag page report that lists all the connectors.
-	 * @param sink                      The sink used for generating content.
-	 * @param connectors                The map of connector identifiers to their corresponding JsonNodes.
-	 * @param connectorSubdirectoryName The connector subdirectory name.
-	 * @param enterpriseConnectorIds    The enterprise connector identifiers.
+	 * @param sink       The sink used for generating content.
+	 * @param connectors The summaries of the tagged connectors.
+	 * @param rowCache   The cache of the connectors table rows.
 	 */
 	public void produce(
 		final Sink sink,
-		final Map<String, JsonNode> connectors,
-		final String connectorSubdirectoryName,
-		final List<String> enterpriseConnectorIds
+		final Collection<ConnectorSummary> connectors,
+		final ConnectorTableRowCache rowCache
 	) {
 		Objects.requireNonNull(tagName, () -> "tagName cannot be null.");
 		Objects.requireNonNull(connectors, () -> "connectors cannot be null.");
@@ -65,7 +62,7 @@ public class TagPageProducer extends AbstractGroupConnectorsProducer {
 
 		logger.debug("Generating Tag Page: " + SinkHelper.buildPageFilename(tagName));
 
-		buildHeadAndBody(sink, connectorSubdirectoryName, enterpriseConnectorIds, tagName, connectors);
+		buildHeadAndBody(sink, rowCache, tagName, connectors);
 	}
 
 	@Override
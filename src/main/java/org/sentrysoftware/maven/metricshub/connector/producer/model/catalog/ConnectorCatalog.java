@@ -0,0 +1,209 @@
+package org.sentrysoftware.maven.metricshub.connector.producer.model.catalog;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.sentrysoftware.maven.metricshub.connector.producer.ConnectorJsonNodeReader;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.common.OsType;
+
+/**
+ * The catalog of the connectors of the library, built in a single pass over the parsed connectors.
+ * <p>
+ * Each connector is read once to produce its {@link ConnectorSummary}, as soon as it is parsed, then the tags,
+ * platforms and superseded connectors indexes are derived from the summaries of the whole library. The page
+ * producers read the catalog instead of creating new {@link ConnectorJsonNodeReader} instances for the same
+ * connectors on every page.
+ * </p>
+ * The catalog is immutable once built.
+ */
+public class ConnectorCatalog {
+
+	private final Map<String, ConnectorSummary> summaries;
+
+	private final List<ConnectorSummary> summariesInDisplayOrder;
+
+	private final Map<String, List<ConnectorSummary>> tags;
+
+	private final Map<String, List<ConnectorSummary>> platforms;
+
+	private final Map<String, List<String>> supersededMap;
+
+	/**
+	 * Constructs the catalog from the given summaries and derives the indexes.
+	 *
+	 * @param summaries The connector summaries, by connector ID.
+	 */
+	private ConnectorCatalog(final Map<String, ConnectorSummary> summaries) {
+		this.summaries = Collections.unmodifiableMap(summaries);
+
+		final List<ConnectorSummary> sortedSummaries = new ArrayList<>(summaries.values());
+		sortedSummaries.sort(ConnectorSummary.DISPLAY_ORDER);
+		summariesInDisplayOrder = Collections.unmodifiableList(sortedSummaries);
+
+		final Map<String, List<ConnectorSummary>> tagIndex = new TreeMap<>();
+		final Map<String, List<ConnectorSummary>> platformIndex = new TreeMap<>();
+		final Map<String, List<String>> supersededIndex = new TreeMap<>();
+
+		// Walk the summaries in display order so that the indexed lists are sorted as well
+		for (ConnectorSummary summary : summariesInDisplayOrder) {
+			summary
+				.getTags()
+				.stream()
+				.filter(tag -> !tag.isBlank())
+				.distinct()
+				.forEach(tag -> tagIndex.computeIfAbsent(tag, k -> new ArrayList<>()).add(summary));
+
+			summary
+				.getPlatforms()
+				.forEach(platform -> platformIndex.computeIfAbsent(platform, k -> new ArrayList<>()).add(summary));
+		}
+
+		// The superseding connectors are listed by connector ID
+		summaries.forEach((connectorId, summary) ->
+			summary
+				.getSupersedes()
+				.forEach(supersededConnectorId ->
+					supersededIndex.computeIfAbsent(supersededConnectorId, k -> new ArrayList<>()).add(connectorId)
+				)
+		);
+
+		tags = freeze(tagIndex);
+		platforms = freeze(platformIndex);
+		supersededMap = freeze(supersededIndex);
+	}
+
+	/**
+	 * Builds the catalog of the given connector summaries.
+	 *
+	 * @param summaries The summaries of the connectors, in any order.
+	 * @return A new {@link ConnectorCatalog}.
+	 */
+	public static ConnectorCatalog of(final Collection<ConnectorSummary> summaries) {
+		final Map<String, ConnectorSummary> summariesById = new TreeMap<>();
+		summaries.forEach(summary -> summariesById.put(summary.getConnectorId(), summary));
+		return new ConnectorCatalog(summariesById);
+	}
+
+	/**
+	 * Reads the summary of the given connector.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @param connector   The connector as a {@link JsonNode}.
+	 * @param enterprise  Whether the connector is an enterprise connector.
+	 * @return A new {@link ConnectorSummary}.
+	 */
+	public static ConnectorSummary summarize(
+		final String connectorId,
+		final JsonNode connector,
+		final boolean enterprise
+	) {
+		final ConnectorJsonNodeReader reader = new ConnectorJsonNodeReader(connector);
+		final String displayName = reader.getDisplayName();
+		return ConnectorSummary
+			.builder()
+			.withConnectorId(connectorId)
+			.withDisplayName(displayName)
+			.withSortKey(displayName.toLowerCase())
+			.withPlatforms(Collections.unmodifiableSet(reader.getPlatforms()))
+			.withOsDisplayNames(Collections.unmodifiableList(OsType.mapToDisplayNames(reader.getAppliesTo())))
+			.withTechnologies(Collections.unmodifiableSet(reader.getTechnologies()))
+			.withTags(Collections.unmodifiableList(reader.getTags()))
+			.withSupersedes(Collections.unmodifiableList(reader.getSupersedes()))
+			.withEnterprise(enterprise)
+			.build();
+	}
+
+	/**
+	 * Makes the given index and its lists unmodifiable.
+	 *
+	 * @param <T>   The type of the listed values.
+	 * @param index The index to freeze.
+	 * @return An unmodifiable view of the index.
+	 */
+	private static <T> Map<String, List<T>> freeze(final Map<String, List<T>> index) {
+		index.replaceAll((key, values) -> Collections.unmodifiableList(values));
+		return Collections.unmodifiableMap(index);
+	}
+
+	/**
+	 * Gets the summary of the given connector.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @return The {@link ConnectorSummary}, or <code>null</code> if the connector is not in the catalog.
+	 */
+	public ConnectorSummary getSummary(final String connectorId) {
+		return summaries.get(connectorId);
+	}
+
+	/**
+	 * Gets the summaries of all the connectors, by connector ID.
+	 *
+	 * @return An unmodifiable map sorted by connector ID.
+	 */
+	public Map<String, ConnectorSummary> getSummaries() {
+		return summaries;
+	}
+
+	/**
+	 * Gets the summaries of all the connectors, sorted with {@link ConnectorSummary#DISPLAY_ORDER}.
+	 *
+	 * @return An unmodifiable list of summaries.
+	 */
+	public List<ConnectorSummary> getSummariesInDisplayOrder() {
+		return summariesInDisplayOrder;
+	}
+
+	/**
+	 * Gets the connectors of each tag. Blank tags are ignored.
+	 *
+	 * @return An unmodifiable map where each key is a tag and the value is the list of the tagged connectors,
+	 *         sorted with {@link ConnectorSummary#DISPLAY_ORDER}.
+	 */
+	public Map<String, List<ConnectorSummary>> getTags() {
+		return tags;
+	}
+
+	/**
+	 * Gets the connectors of each platform, as named by the <em>platforms</em> property of the connectors.
+	 *
+	 * @return An unmodifiable map where each key is a platform name and the value is the list of the connectors
+	 *         targeting this platform, sorted with {@link ConnectorSummary#DISPLAY_ORDER}.
+	 */
+	public Map<String, List<ConnectorSummary>> getPlatforms() {
+		return platforms;
+	}
+
+	/**
+	 * Gets the connectors superseding the given connector.
+	 *
+	 * @param connectorId The connector identifier.
+	 * @return The list of the superseding connector IDs, empty if the connector is not superseded.
+	 */
+	public List<String> getSupersedingConnectorIds(final String connectorId) {
+		return supersededMap.getOrDefault(connectorId, Collections.emptyList());
+	}
+}
@@ -0,0 +1,88 @@
+package org.sentrysoftware.maven.metricshub.connector.producer.model.catalog;
+
+/*-
+ * ╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲
+ * MetricsHub Connector Maven Plugin
+ * ჻჻჻჻჻჻
+ * Copyright (C) 2023 Sentry Software
+ * ჻჻჻჻჻჻
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
+ */
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import lombok.Builder;
+import lombok.Value;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.common.TechnologyType;
+
+/**
+ * The properties of a connector listed by the directory pages, read once from the parsed connector.
+ */
+@Value
+@Builder(setterPrefix = "with")
+public class ConnectorSummary {
+
+	/**
+	 * Orders the connectors by display name, case-insensitively, then by connector ID.
+	 */
+	public static final Comparator<ConnectorSummary> DISPLAY_ORDER = Comparator
+		.comparing(ConnectorSummary::getSortKey)
+		.thenComparing(ConnectorSummary::getConnectorId);
+
+	/**
+	 * The connector identifier, i.e. the connector file name without extension
+	 */
+	private String connectorId;
+
+	/**
+	 * The display name of the connector
+	 */
+	private String displayName;
+
+	/**
+	 * The lower case display name, used to sort the connectors
+	 */
+	private String sortKey;
+
+	/**
+	 * The platforms targeted by the connector
+	 */
+	private Set<String> platforms;
+
+	/**
+	 * The display names of the operating systems the connector applies to
+	 */
+	private List<String> osDisplayNames;
+
+	/**
+	 * The technologies used by the monitors of the connector
+	 */
+	private Set<TechnologyType> technologies;
+
+	/**
+	 * The tags of the connector, including the <em>enterprise</em> or <em>community</em> tag
+	 */
+	private List<String> tags;
+
+	/**
+	 * The identifiers of the connectors superseded by this connector
+	 */
+	private List<String> supersedes;
+
+	/**
+	 * Whether the connector is an enterprise connector
+	 */
+	private boolean enterprise;
+}
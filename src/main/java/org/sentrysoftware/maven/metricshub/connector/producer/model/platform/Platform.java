@@ -20,7 +20,6 @@ package org.sentrysoftware.maven.metricshub.connector.producer.model.platform;
  * ╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱╲╱
  */
 
-import com.fasterxml.jackson.databind.JsonNode;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -30,6 +29,7 @@ import java.util.TreeSet;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import org.sentrysoftware.maven.metricshub.connector.producer.SinkHelper;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorSummary;
 import org.sentrysoftware.maven.metricshub.connector.producer.model.common.TechnologyType;
 
 /**
@@ -69,7 +69,7 @@ public class Platform {
 	/**
 	 * Connectors associated with this platform
 	 */
-	private Map<String, JsonNode> connectors = new LinkedHashMap<>();
+	private Map<String, ConnectorSummary> connectors = new LinkedHashMap<>();
 
 	/**
 	 * Constructor for the Platform class.
@@ -86,11 +86,10 @@ public class Platform {
 
 	/**
 	 * Adds a connector to the platform.
-	 * @param connectorId The connector unique identifier.
-	 * @param connector   The connector as a {@link JsonNode}.
+	 * @param connector The summary of the connector.
 	 */
-	public void addConnector(final String connectorId, final JsonNode connector) {
-		connectors.put(connectorId, connector);
+	public void addConnector(final ConnectorSummary connector) {
+		connectors.put(connector.getConnectorId(), connector);
 	}
 
 	/**
@@ -125,7 +124,7 @@ public class Platform {
 	 *
 	 * @return The connectors associated with this platform.
 	 */
-	public Map<String, JsonNode> getConnectors() {
+	public Map<String, ConnectorSummary> getConnectors() {
 		return Collections.unmodifiableMap(connectors);
 	}
 }
@@ -0,0 +1,106 @@
+package org.sentrysoftware.maven.metricshub.connector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PageManifestTest {
+
+	@Test
+	void testNeedsRendering(@TempDir final Path tempDirectory) throws IOException {
+		final Path manifestFile = tempDirectory.resolve("manifest.json");
+		final File outputDirectory = Files.createDirectory(tempDirectory.resolve("site")).toFile();
+		final File mib2Page = writePage(outputDirectory, "connectors/mib2.html");
+		final File ipmiToolPage = writePage(outputDirectory, "connectors/ipmitool.html");
+
+		// First build: no manifest, everything is rendered
+		final PageManifest firstManifest = PageManifest.load(manifestFile, outputDirectory);
+		assertTrue(firstManifest.needsRendering(mib2Page, "mib2-v1"));
+		assertTrue(firstManifest.needsRendering(ipmiToolPage, "ipmitool-v1"));
+		assertEquals(0, firstManifest.save());
+		assertEquals(2, firstManifest.getRenderedPages());
+
+		// Second build: the unchanged pages are skipped, the changed pages are rendered
+		final PageManifest secondManifest = PageManifest.load(manifestFile, outputDirectory);
+		assertFalse(secondManifest.needsRendering(mib2Page, "mib2-v1"));
+		assertTrue(secondManifest.needsRendering(ipmiToolPage, "ipmitool-v2"));
+		assertEquals(1, secondManifest.getSkippedPages());
+		assertEquals(1, secondManifest.getRenderedPages());
+		secondManifest.save();
+
+		// A deleted page is rendered again, even with the same fingerprint
+		Files.delete(mib2Page.toPath());
+		final PageManifest thirdManifest = PageManifest.load(manifestFile, outputDirectory);
+		assertTrue(thirdManifest.needsRendering(mib2Page, "mib2-v1"));
+
+		// The pages not produced anymore are deleted
+		writePage(outputDirectory, "connectors/mib2.html");
+		assertEquals(1, thirdManifest.save());
+		assertFalse(ipmiToolPage.exists());
+		assertTrue(mib2Page.exists());
+	}
+
+	@Test
+	void testLoadIgnoresInvalidManifest(@TempDir final Path tempDirectory) throws IOException {
+		final Path manifestFile = tempDirectory.resolve("manifest.json");
+		final File outputDirectory = Files.createDirectory(tempDirectory.resolve("site")).toFile();
+		final File page = writePage(outputDirectory, "metricshub-connectors-full-listing.html");
+
+		final PageManifest manifest = PageManifest.load(manifestFile, outputDirectory);
+		manifest.needsRendering(page, "full-listing");
+		manifest.save();
+
+		// Recorded for another output directory
+		final File otherOutputDirectory = Files.createDirectory(tempDirectory.resolve("other-site")).toFile();
+		final File otherPage = writePage(otherOutputDirectory, "metricshub-connectors-full-listing.html");
+		assertTrue(PageManifest.load(manifestFile, otherOutputDirectory).needsRendering(otherPage, "full-listing"));
+
+		// Corrupted
+		Files.writeString(manifestFile, "{ \"pages\": ");
+		final PageManifest corruptedManifest = PageManifest.load(manifestFile, outputDirectory);
+		assertTrue(corruptedManifest.needsRendering(page, "full-listing"));
+		assertEquals(0, corruptedManifest.save());
+		assertTrue(page.exists());
+	}
+
+	@Test
+	void testFingerprint() {
+		final String fingerprint = PageManifest.fingerprint().add("tag").add(List.of("MIB2", "IpmiTool")).build();
+		assertEquals(fingerprint, PageManifest.fingerprint().add("tag").add(List.of("MIB2", "IpmiTool")).build());
+
+		// The values are separated and the collections are counted
+		assertNotEquals(fingerprint, PageManifest.fingerprint().add("tag").add(List.of("MIB2IpmiTool")).build());
+		assertNotEquals(
+			PageManifest.fingerprint().add(List.of("a")).add("b").build(),
+			PageManifest.fingerprint().add(List.of("a", "b")).build()
+		);
+		assertNotEquals(
+			PageManifest.fingerprint().add(true).build(),
+			PageManifest.fingerprint().add(false).build()
+		);
+	}
+
+	/**
+	 * Writes a page under the given output directory.
+	 *
+	 * @param outputDirectory The output directory.
+	 * @param pagePath        The path of the page, relative to the output directory.
+	 * @return The page file.
+	 * @throws IOException If the page cannot be written.
+	 */
+	private static File writePage(final File outputDirectory, final String pagePath) throws IOException {
+		final Path page = outputDirectory.toPath().resolve(pagePath);
+		Files.createDirectories(page.getParent());
+		Files.writeString(page, "<html></html>");
+		return page.toFile();
+	}
+}
@@ -0,0 +1,45 @@
+package org.sentrysoftware.maven.metricshub.connector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.reporting.MavenReportException;
+import org.junit.jupiter.api.Test;
+
+class PageRendererTest {
+
+	@Test
+	void testSequentialFailureIsRaisedRightAway() throws MavenReportException {
+		final List<String> renderedPages = new ArrayList<>();
+		try (PageRenderer pageRenderer = new PageRenderer(new SystemStreamLog(), 1)) {
+			pageRenderer.schedule(pageLogger -> renderedPages.add("first"));
+
+			// The failing page stops the report before the next pages are scheduled
+			assertThrows(
+				IllegalStateException.class,
+				() ->
+					pageRenderer.schedule(pageLogger -> {
+						throw new IllegalStateException("broken page");
+					})
+			);
+			assertEquals(List.of("first"), renderedPages);
+
+			// The pages rendered before the failure have been flushed
+			assertEquals(0, pageRenderer.finish());
+		}
+	}
+
+	@Test
+	void testConcurrentFailureIsRaisedByFinish() throws MavenReportException {
+		try (PageRenderer pageRenderer = new PageRenderer(new SystemStreamLog(), 2)) {
+			pageRenderer.schedule(pageLogger -> {});
+			pageRenderer.schedule(pageLogger -> {
+				throw new IllegalStateException("broken page");
+			});
+			assertThrows(IllegalStateException.class, pageRenderer::finish);
+		}
+	}
+}
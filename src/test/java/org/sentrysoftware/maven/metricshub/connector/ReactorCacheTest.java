@@ -0,0 +1,155 @@
+package org.sentrysoftware.maven.metricshub.connector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sentrysoftware.maven.metricshub.connector.parser.ConnectorArtifactLibrary;
+import org.sentrysoftware.maven.metricshub.connector.parser.LibraryInventory;
+
+class ReactorCacheTest {
+
+	private static final String COORDINATES = "org.sentrysoftware:module:pom:1.0";
+
+	@Test
+	void testGetModuleLibrary(@TempDir final Path tempDirectory) throws IOException {
+		final Path libraryDirectory = writeModule(tempDirectory);
+		final ReactorCache reactorCache = new ReactorCache();
+		final LongAdder reuses = new LongAdder();
+
+		// The same version of the library is parsed once
+		final ConnectorArtifactLibrary library = getModuleLibrary(reactorCache, libraryDirectory, reuses);
+		assertEquals(Set.of("Connector"), library.getConnectorIds());
+		assertEquals("Shared", getPlatforms(library));
+		assertEquals(0, reuses.sum());
+		assertSame(library, getModuleLibrary(reactorCache, libraryDirectory, reuses));
+		assertEquals(1, reuses.sum());
+
+		// A changed file of the module gives a new version, which replaces the previous one
+		Files.writeString(
+			libraryDirectory.resolve("Connector.yaml"),
+			"extends: [ ../shared/Header ]\nconnector:\n  displayName: Changed connector\n"
+		);
+		final ConnectorArtifactLibrary changedLibrary = getModuleLibrary(reactorCache, libraryDirectory, reuses);
+		assertNotSame(library, changedLibrary);
+		assertEquals(
+			"Changed connector",
+			changedLibrary.getConnector("Connector").get("connector").get("displayName").asText()
+		);
+		assertEquals(1, reactorCache.size());
+		assertEquals(1, reuses.sum());
+	}
+
+	@Test
+	void testGetModuleLibraryWithChangedExternalHeader(@TempDir final Path tempDirectory) throws IOException {
+		final Path libraryDirectory = writeModule(tempDirectory);
+		final ReactorCache reactorCache = new ReactorCache();
+		final LongAdder reuses = new LongAdder();
+
+		final ConnectorArtifactLibrary library = getModuleLibrary(reactorCache, libraryDirectory, reuses);
+		assertEquals(Set.of(tempDirectory.resolve("shared/Header.yaml")), library.getExternalFiles());
+
+		// The header is extended from outside of the library directory, its change is detected all the same
+		Files.writeString(tempDirectory.resolve("shared/Header.yaml"), "connector:\n  platforms: Changed header\n");
+		final ConnectorArtifactLibrary changedLibrary = getModuleLibrary(reactorCache, libraryDirectory, reuses);
+		assertNotSame(library, changedLibrary);
+		assertEquals("Changed header", getPlatforms(changedLibrary));
+		assertEquals(1, reactorCache.size());
+		assertEquals(0, reuses.sum());
+	}
+
+	@Test
+	void testGetModuleLibraryConcurrently(@TempDir final Path tempDirectory)
+		throws IOException, InterruptedException, ExecutionException {
+		final Path libraryDirectory = writeModule(tempDirectory);
+		final ReactorCache reactorCache = new ReactorCache();
+		final int threads = 8;
+		final LongAdder reuses = new LongAdder();
+
+		// The modules of a parallel build request the same library at the same time
+		final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+		try {
+			final CountDownLatch startLatch = new CountDownLatch(1);
+			final List<Future<ConnectorArtifactLibrary>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(
+					executorService.submit(() -> {
+						startLatch.await();
+						return getModuleLibrary(reactorCache, libraryDirectory, reuses);
+					})
+				);
+			}
+			startLatch.countDown();
+
+			// The library is parsed once, the other threads wait for it
+			final ConnectorArtifactLibrary library = futures.get(0).get();
+			for (Future<ConnectorArtifactLibrary> future : futures) {
+				assertSame(library, future.get());
+			}
+			assertEquals(threads - 1, reuses.sum());
+			assertEquals(1, reactorCache.size());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Writes a module library with a connector extending a header located outside of the library directory.
+	 *
+	 * @param tempDirectory The directory of the build.
+	 * @return The library directory of the module.
+	 * @throws IOException If the files cannot be written.
+	 */
+	private static Path writeModule(final Path tempDirectory) throws IOException {
+		final Path libraryDirectory = Files.createDirectories(tempDirectory.resolve("module"));
+		Files.createDirectories(tempDirectory.resolve("shared"));
+		Files.writeString(tempDirectory.resolve("shared/Header.yaml"), "connector:\n  platforms: Shared\n");
+		Files.writeString(
+			libraryDirectory.resolve("Connector.yaml"),
+			"extends: [ ../shared/Header ]\nconnector:\n  displayName: Test\n"
+		);
+		return libraryDirectory;
+	}
+
+	/**
+	 * Gets the library of the module from the given cache, scanning its directory first as the reports do.
+	 *
+	 * @param reactorCache     The cache of the build.
+	 * @param libraryDirectory The library directory of the module.
+	 * @param reuses           The counter of the libraries served by the cache.
+	 * @return The library of the module.
+	 * @throws IOException If the directory cannot be walked or the connector cannot be parsed.
+	 */
+	private static ConnectorArtifactLibrary getModuleLibrary(
+		final ReactorCache reactorCache,
+		final Path libraryDirectory,
+		final LongAdder reuses
+	) throws IOException {
+		return reactorCache.getModuleLibrary(COORDINATES, LibraryInventory.scan(libraryDirectory), null, 2, true, reuses);
+	}
+
+	/**
+	 * Gets the platforms of the connector of the given library, inherited from the shared header.
+	 *
+	 * @param library The library of the module.
+	 * @return The platforms of the connector.
+	 * @throws IOException If the connector cannot be read.
+	 */
+	private static String getPlatforms(final ConnectorArtifactLibrary library) throws IOException {
+		return library.getConnector("Connector").get("connector").get("platforms").asText();
+	}
+}
@@ -1,14 +1,30 @@
 package org.sentrysoftware.maven.metricshub.connector.parser;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sentrysoftware.maven.metricshub.connector.producer.JsonNodeHelper;
 
 class ConnectorLibraryParserTest {
 
@@ -27,6 +43,588 @@ class ConnectorLibraryParserTest {
 
 		// Test the ExtendsProcessor
 		verifyExtendsProcessorBehavior(connector);
+
+		// Test the placeholder index
+		verifyPlaceholderIndex(connector, connectorLibraryParser.getPlaceholderIndexes().get("MIB2"));
+	}
+
+	@Test
+	void testParseInParallel() throws IOException {
+		final Path connectorLibrary = Path.of("src", "it", "metricshub-connectors", "src", "main", "connector");
+
+		final Map<String, JsonNode> sequentialConnectorMap = new ConnectorLibraryParser().parse(connectorLibrary);
+		final Map<String, JsonNode> parallelConnectorMap = ConnectorLibraryParser
+			.builder()
+			.withParallelism(4)
+			.build()
+			.parse(connectorLibrary);
+
+		assertEquals(23, sequentialConnectorMap.size());
+
+		// Same connectors, same order, same content
+		assertEquals(new ArrayList<>(sequentialConnectorMap.keySet()), new ArrayList<>(parallelConnectorMap.keySet()));
+		assertEquals(sequentialConnectorMap, parallelConnectorMap);
+	}
+
+	@Test
+	void testParseStreaming() throws IOException {
+		final Path connectorLibrary = Path.of("src", "it", "metricshub-connectors", "src", "main", "connector");
+
+		final List<String> sequentialConnectorIds = new ArrayList<>();
+		final ConnectorLibraryParser sequentialParser = new ConnectorLibraryParser();
+		sequentialParser.parse(
+			connectorLibrary,
+			(connectorId, connector, placeholderIndex) -> sequentialConnectorIds.add(connectorId)
+		);
+
+		final Map<String, JsonNode> parallelConnectorMap = new LinkedHashMap<>();
+		ConnectorLibraryParser
+			.builder()
+			.withParallelism(4)
+			.build()
+			.parse(
+				connectorLibrary,
+				(connectorId, connector, placeholderIndex) -> {
+					assertNotNull(placeholderIndex);
+					parallelConnectorMap.put(connectorId, connector);
+				}
+			);
+
+		// Same connectors, handed over in the same order, same content as the map returned by parse
+		assertEquals(sequentialConnectorIds, new ArrayList<>(parallelConnectorMap.keySet()));
+		assertEquals(new ConnectorLibraryParser().parse(connectorLibrary), parallelConnectorMap);
+
+		// The superseded connectors are known from the scan of the library
+		assertTrue(sequentialParser.isPossiblySuperseded("HPUXNetwork"));
+		assertTrue(sequentialParser.isPossiblySuperseded("MIB2"));
+		assertFalse(sequentialParser.isPossiblySuperseded("MIB2Switch"));
+	}
+
+	@Test
+	void testParseInventory() throws IOException {
+		final Path connectorLibrary = Path.of("src", "it", "metricshub-connectors", "src", "main", "connector");
+
+		final LibraryInventory inventory = LibraryInventory.scan(connectorLibrary);
+		assertEquals(connectorLibrary, inventory.getSourceDirectory());
+		assertTrue(inventory.getManifestFiles().isEmpty());
+		assertTrue(inventory.getEmbeddedFiles().contains(connectorLibrary.resolve("hardware/IpmiTool/embeddedFile-1")));
+		inventory.getYamlFiles().forEach(yamlFile -> assertTrue(inventory.getAttributes(yamlFile).isRegularFile()));
+
+		// The connectors parsed from the inventory are the connectors parsed from the source directory
+		final Map<String, JsonNode> connectorMap = new LinkedHashMap<>();
+		new ConnectorLibraryParser()
+			.parse(inventory, (connectorId, connector, placeholderIndex) -> connectorMap.put(connectorId, connector));
+		assertEquals(new ConnectorLibraryParser().parse(connectorLibrary), connectorMap);
+	}
+
+	@Test
+	void testParseInventoryWithPatterns(@TempDir final Path connectorLibrary) throws IOException {
+		Files.createDirectories(connectorLibrary.resolve("hardware/test"));
+		Files.createDirectories(connectorLibrary.resolve("test"));
+		Files.createDirectories(connectorLibrary.resolve("emulation"));
+		Files.writeString(connectorLibrary.resolve("hardware/Connector.yaml"), "connector:\n  displayName: Test\n");
+		Files.writeString(connectorLibrary.resolve("hardware/embeddedFile-1"), "echo test");
+		Files.writeString(connectorLibrary.resolve("hardware/test/Fixture.yaml"), "connector:\n  displayName: Fixture\n");
+		Files.writeString(connectorLibrary.resolve("test/RootFixture.yaml"), "connector:\n  displayName: Fixture\n");
+		Files.writeString(connectorLibrary.resolve("Root.yaml"), "connector:\n  displayName: Root\n");
+		Files.writeString(connectorLibrary.resolve("emulation/capture.txt"), "capture");
+		Files.writeString(connectorLibrary.resolve(LibraryInventory.ENTERPRISE_MANIFEST_FILE_NAME), "Connector.yaml");
+
+		// The excluded directories are skipped with their subtree, the leading **/ matches the root too
+		final LibraryInventory inventory = LibraryInventory.scan(
+			connectorLibrary,
+			List.of("**/*.yaml"),
+			List.of("emulation", "**/test")
+		);
+		assertEquals(
+			Set.of(connectorLibrary.resolve("hardware/Connector.yaml"), connectorLibrary.resolve("Root.yaml")),
+			Set.copyOf(inventory.getYamlFiles())
+		);
+		assertEquals(1, inventory.getManifestFiles().size());
+		assertTrue(inventory.getEmbeddedFiles().isEmpty());
+		assertEquals(3, inventory.getExcludedDirectories());
+		assertEquals(1, inventory.getExcludedFiles());
+
+		final Map<String, JsonNode> connectorMap = new LinkedHashMap<>();
+		new ConnectorLibraryParser()
+			.parse(inventory, (connectorId, connector, placeholderIndex) -> connectorMap.put(connectorId, connector));
+		assertEquals(Set.of("Connector", "Root"), connectorMap.keySet());
+	}
+
+	@Test
+	void testReload(@TempDir final Path cacheDirectory) throws IOException {
+		final Path connectorLibrary = Path.of("src", "test", "resources", "connector");
+		final Map<String, JsonNode> connectorMap = new ConnectorLibraryParser().parse(connectorLibrary);
+
+		// Resolved again from the files, then from the persistent cache
+		for (ResolvedConnectorCache cache : Arrays.asList(null, new ResolvedConnectorCache(cacheDirectory, "1.0.0"))) {
+			final ConnectorLibraryParser connectorLibraryParser = ConnectorLibraryParser
+				.builder()
+				.withResolvedConnectorCache(cache)
+				.build();
+			connectorLibraryParser.parse(connectorLibrary, (connectorId, connector, placeholderIndex) -> {});
+
+			final List<JsonNode> reloadedConnectors = new ArrayList<>();
+			connectorLibraryParser.reload(
+				"MIB2",
+				(connectorId, connector, placeholderIndex) -> reloadedConnectors.add(connector)
+			);
+			assertEquals(List.of(connectorMap.get("MIB2")), reloadedConnectors);
+			assertThrows(IOException.class, () -> connectorLibraryParser.reload("Unknown", (id, connector, index) -> {}));
+		}
+	}
+
+	@Test
+	void testParseExtendsGraph() throws IOException {
+		final ConnectorLibraryParser connectorLibraryParser = new ConnectorLibraryParser();
+		connectorLibraryParser.parse(Path.of("src", "test", "resources", "connector"));
+
+		final ExtendsGraph extendsGraph = connectorLibraryParser.getExtendsGraph();
+		final Path mib2 = Path.of("src", "test", "resources", "connector", "MIB2", "MIB2.yaml");
+		assertEquals(2, extendsGraph.getTransitiveExtendedFiles(mib2).size());
+
+		// Each extended connector is loaded once
+		assertEquals(2, connectorLibraryParser.getHeaderCache().getMisses());
+		extendsGraph.getExtendedFiles(mib2).forEach(header -> assertTrue(extendsGraph.contains(header)));
+	}
+
+	@Test
+	void testParseCyclicExtends(@TempDir final Path connectorLibrary) throws IOException {
+		Files.writeString(connectorLibrary.resolve("Connector.yaml"), "extends: [ A ]\nconnector:\n  displayName: Test\n");
+		Files.writeString(connectorLibrary.resolve("A.yaml"), "extends: [ B ]\n");
+		Files.writeString(connectorLibrary.resolve("B.yaml"), "extends: [ A ]\n");
+
+		final IOException exception = assertThrows(
+			IOException.class,
+			() -> new ConnectorLibraryParser().parse(connectorLibrary)
+		);
+		assertEquals("Cyclic extends detected: A.yaml -> B.yaml -> A.yaml", exception.getMessage());
+	}
+
+	@Test
+	void testParseCyclicExternalExtends(@TempDir final Path tempDirectory) throws IOException {
+		final Path connectorLibrary = Files.createDirectories(tempDirectory.resolve("library"));
+		Files.createDirectories(tempDirectory.resolve("shared"));
+		Files.writeString(
+			connectorLibrary.resolve("Connector.yaml"),
+			"extends: [ ../shared/A ]\nconnector:\n  displayName: Test\n"
+		);
+		Files.writeString(tempDirectory.resolve("shared/A.yaml"), "extends: [ B ]\n");
+		Files.writeString(tempDirectory.resolve("shared/B.yaml"), "extends: [ A ]\n");
+
+		// The files extended from outside of the library are part of the graph
+		final IOException exception = assertThrows(
+			IOException.class,
+			() -> new ConnectorLibraryParser().parse(connectorLibrary)
+		);
+		assertTrue(exception.getMessage().startsWith("Cyclic extends detected: "));
+	}
+
+	@Test
+	void testParseNestedRelativeExtends(@TempDir final Path connectorLibrary) throws IOException {
+		Files.createDirectories(connectorLibrary.resolve("A/common"));
+		Files.createDirectories(connectorLibrary.resolve("headers/common"));
+		Files.writeString(
+			connectorLibrary.resolve("A/A.yaml"),
+			"extends: [ ../headers/Header ]\nconnector:\n  displayName: Test\n"
+		);
+		Files.writeString(connectorLibrary.resolve("headers/Header.yaml"), "extends: [ common/Base ]\n");
+		Files.writeString(connectorLibrary.resolve("headers/common/Base.yaml"), "connector:\n  information: headers\n");
+		Files.writeString(connectorLibrary.resolve("A/common/Base.yaml"), "connector:\n  information: A\n");
+
+		// The extends section of a header is resolved against the directory of the header, not of the connector
+		final Map<String, JsonNode> connectorMap = new ConnectorLibraryParser().parse(connectorLibrary);
+		assertEquals("headers", connectorMap.get("A").get("connector").get("information").asText());
+	}
+
+	@Test
+	void testParseWithResolvedConnectorCache(@TempDir final Path cacheDirectory) throws IOException {
+		final Path connectorLibrary = Path.of("src", "it", "metricshub-connectors", "src", "main", "connector");
+
+		final ResolvedConnectorCache coldCache = new ResolvedConnectorCache(cacheDirectory, "1.0.0");
+		final ConnectorLibraryParser coldParser = ConnectorLibraryParser
+			.builder()
+			.withResolvedConnectorCache(coldCache)
+			.build();
+		final Map<String, JsonNode> coldConnectorMap = coldParser.parse(connectorLibrary);
+		assertEquals(0, coldCache.getHits());
+		assertEquals(23, coldCache.getMisses());
+
+		// Warm build: nothing is parsed
+		final ResolvedConnectorCache warmCache = new ResolvedConnectorCache(cacheDirectory, "1.0.0");
+		final ConnectorLibraryParser warmParser = ConnectorLibraryParser
+			.builder()
+			.withResolvedConnectorCache(warmCache)
+			.build();
+		final Map<String, JsonNode> warmConnectorMap = warmParser.parse(connectorLibrary);
+		assertEquals(23, warmCache.getHits());
+		assertEquals(0, warmCache.getMisses());
+		assertEquals(0, warmParser.getHeaderCache().getMisses());
+		assertEquals(coldConnectorMap, warmConnectorMap);
+
+		// The placeholders are read back with the connectors, in the same order
+		coldParser
+			.getPlaceholderIndexes()
+			.forEach((connectorId, placeholderIndex) ->
+				assertEquals(
+					List.copyOf(placeholderIndex.getPointers()),
+					List.copyOf(warmParser.getPlaceholderIndexes().get(connectorId).getPointers())
+				)
+			);
+
+		// Each connector and each extended connector is digested once, however many connectors extend it
+		assertTrue(warmCache.getDigestedFiles() <= LibraryInventory.scan(connectorLibrary).getYamlFiles().size());
+
+		// Another plugin version invalidates the cache, the stale entries are deleted
+		final ResolvedConnectorCache upgradedCache = new ResolvedConnectorCache(cacheDirectory, "1.0.1");
+		ConnectorLibraryParser.builder().withResolvedConnectorCache(upgradedCache).build().parse(connectorLibrary);
+		assertEquals(23, upgradedCache.getMisses());
+		try (Stream<Path> entries = Files.list(cacheDirectory)) {
+			assertEquals(23, entries.count());
+		}
+	}
+
+	@Test
+	void testParseCompletesTags(@TempDir final Path cacheDirectory) throws IOException {
+		final Path connectorLibrary = Path.of("src", "test", "resources", "connector");
+
+		// Cold then warm build: the cached connector is not tagged, the tag is added once on each build
+		for (int build = 0; build < 2; build++) {
+			final Map<String, JsonNode> enterpriseConnectorMap = ConnectorLibraryParser
+				.builder()
+				.withEnterpriseConnectorIds(Set.of("MIB2"))
+				.withResolvedConnectorCache(new ResolvedConnectorCache(cacheDirectory, "1.0.0"))
+				.build()
+				.parse(connectorLibrary);
+			assertEquals(
+				List.of("enterprise"),
+				JsonNodeHelper.nodeToStringList(enterpriseConnectorMap.get("MIB2").at("/connector/detection/tags"))
+			);
+			assertThrows(UnsupportedOperationException.class, () -> enterpriseConnectorMap.remove("MIB2"));
+		}
+
+		final Map<String, JsonNode> communityConnectorMap = ConnectorLibraryParser
+			.builder()
+			.withResolvedConnectorCache(new ResolvedConnectorCache(cacheDirectory, "1.0.0"))
+			.build()
+			.parse(connectorLibrary);
+		assertEquals(
+			List.of("community"),
+			JsonNodeHelper.nodeToStringList(communityConnectorMap.get("MIB2").at("/connector/detection/tags"))
+		);
+	}
+
+	@Test
+	void testParseWithOverlayMerge() throws IOException {
+		final Path connectorLibrary = Path.of("src", "it", "metricshub-connectors", "src", "main", "connector");
+
+		final Map<String, JsonNode> connectorMap = new ConnectorLibraryParser().parse(connectorLibrary);
+		final SymbolTable symbolTable = new SymbolTable();
+		final HeaderCache headerCache = new HeaderCache(symbolTable);
+		final Map<String, JsonNode> overlayConnectorMap = ConnectorLibraryParser
+			.builder()
+			.withParallelism(4)
+			.withOverlayMerge(true)
+			.withHeaderCache(headerCache)
+			.withSymbolTable(symbolTable)
+			.build()
+			.parse(connectorLibrary);
+
+		// Same connectors, same content
+		assertEquals(connectorMap, overlayConnectorMap);
+
+		// The shared header has not been modified by the connectors
+		final Path hardware = connectorLibrary.resolve(Path.of("hardware", "Hardware", "Hardware.yaml"));
+		final JsonNode sharedHardware = headerCache.getShared(hardware, (file, fileVersions) -> null);
+		assertEquals(new ExtendsProcessor(hardware.getParent(), null).loadHeader(hardware), sharedHardware);
+		assertSame(sharedHardware.get("metrics"), overlayConnectorMap.get("MIB2").get("metrics"));
+
+		// The header cache must intern the headers with the symbol table of the parser
+		final ConnectorLibraryParser inconsistentParser = ConnectorLibraryParser
+			.builder()
+			.withOverlayMerge(true)
+			.withSymbolTable(symbolTable)
+			.build();
+		assertThrows(IllegalStateException.class, () -> inconsistentParser.parse(connectorLibrary));
+	}
+
+	@Test
+	void testOverlayMergeStrategy(@TempDir final Path connectorLibrary) throws IOException {
+		Files.writeString(
+			connectorLibrary.resolve("Header.yaml"),
+			"""
+			constants:
+			  _OID: 1.3.6.1
+			connector:
+			  detection:
+			    tags: [ hardware ]
+			    criteria:
+			    - type: snmpGetNext
+			      oid: ${constant::_OID}
+			sudoCommands: [ a, b ]
+			translations:
+			  status: { "1": ok }
+			"""
+		);
+		Files.writeString(
+			connectorLibrary.resolve("Connector.yaml"),
+			"""
+			extends: [ Header ]
+			constants:
+			  _OID: 1.3.6.1.4
+			connector:
+			  displayName: Test
+			  detection:
+			    criteria:
+			    - type: service
+			sudoCommands: [ c ]
+			translations: disabled
+			"""
+		);
+
+		final Map<String, JsonNode> connectorMap = new ConnectorLibraryParser().parse(connectorLibrary);
+		final HeaderCache headerCache = new HeaderCache();
+		final Map<String, JsonNode> overlayConnectorMap = ConnectorLibraryParser
+			.builder()
+			.withOverlayMerge(true)
+			.withHeaderCache(headerCache)
+			.build()
+			.parse(connectorLibrary);
+		assertEquals(connectorMap, overlayConnectorMap);
+
+		// Arrays of objects are appended, simple arrays are replaced, an object is not replaced by a scalar
+		final JsonNode connector = overlayConnectorMap.get("Connector");
+		assertEquals("1.3.6.1.4", connector.at("/connector/detection/criteria/0/oid").asText());
+		assertEquals("service", connector.at("/connector/detection/criteria/1/type").asText());
+		assertEquals(
+			List.of("hardware", "community"),
+			JsonNodeHelper.nodeToStringList(connector.at("/connector/detection/tags"))
+		);
+		assertEquals(List.of("c"), JsonNodeHelper.nodeToStringList(connector.get("sudoCommands")));
+
+		// The header is shared, unchanged, by the sections the connector does not override
+		final JsonNode header = headerCache.getShared(
+			connectorLibrary.resolve("Header.yaml"),
+			(file, fileVersions) -> null
+		);
+		assertEquals("${constant::_OID}", header.at("/connector/detection/criteria/0/oid").asText());
+		assertEquals(List.of("hardware"), JsonNodeHelper.nodeToStringList(header.at("/connector/detection/tags")));
+		assertSame(header.get("translations"), connector.get("translations"));
+	}
+
+	@Test
+	void testParseArchive(@TempDir final Path tempDirectory) throws IOException {
+		final Path connectorLibrary = Path.of("src", "it", "metricshub-connectors", "src", "main", "connector");
+		final Map<String, JsonNode> connectorMap = new ConnectorLibraryParser().parse(connectorLibrary);
+
+		// Pack the library under the connectors directory of a ZIP archive
+		final Path archive = tempDirectory.resolve("connectors.zip");
+		try (FileSystem archiveFileSystem = FileSystems.newFileSystem(archive, Map.of("create", "true"))) {
+			final Path archiveLibrary = archiveFileSystem.getPath("/connectors");
+			try (Stream<Path> files = Files.walk(connectorLibrary)) {
+				for (Path file : files.toList()) {
+					final Path target = archiveLibrary.resolve(
+						connectorLibrary.relativize(file).toString().replace('\\', '/')
+					);
+					if (Files.isDirectory(file)) {
+						Files.createDirectories(target);
+					} else {
+						Files.copy(file, target);
+					}
+				}
+			}
+		}
+
+		// The connectors and their relative extends are read in place
+		try (FileSystem archiveFileSystem = FileSystems.newFileSystem(archive)) {
+			final Map<String, JsonNode> archiveConnectorMap = ConnectorLibraryParser
+				.builder()
+				.withParallelism(4)
+				.withHeaderCache(new HeaderCache())
+				.build()
+				.parse(archiveFileSystem.getPath("/connectors"));
+
+			assertEquals(connectorMap.keySet(), archiveConnectorMap.keySet());
+			connectorMap.forEach((connectorId, connector) -> {
+				final ObjectNode expected = (ObjectNode) connector;
+				expected.put("relativePath", expected.get("relativePath").asText().replace('\\', '/'));
+				assertEquals(expected, archiveConnectorMap.get(connectorId));
+			});
+		}
+	}
+
+	@Test
+	void testParseArtifactLibraries(@TempDir final Path tempDirectory) throws IOException {
+		final Path connectorLibrary = Files.createDirectory(tempDirectory.resolve("connector"));
+		Files.writeString(connectorLibrary.resolve("Shared.yaml"), connectorYaml("Source", "[]"));
+
+		final Path firstArchive = tempDirectory.resolve("first.jar");
+		writeArchive(
+			firstArchive,
+			Map.of(
+				"Shared.yaml",
+				connectorYaml("First", "[]"),
+				"Only1.yaml",
+				connectorYaml("Only1", "[ Legacy ]"),
+				LibraryInventory.ENTERPRISE_MANIFEST_FILE_NAME,
+				"Only1.yaml"
+			)
+		);
+		final Path secondArchive = tempDirectory.resolve("second.zip");
+		writeArchive(
+			secondArchive,
+			Map.of("Only1.yaml", connectorYaml("Second", "[]"), "Only2.yaml", connectorYaml("Only2", "[]"))
+		);
+
+		final ResolvedConnectorCache artifactCache = new ResolvedConnectorCache(tempDirectory.resolve("cache"), "test");
+		final ConnectorArtifactLibrary.ArtifactSource firstArtifact = new ConnectorArtifactLibrary.ArtifactSource(
+			"org.test:first:jar:1.0",
+			firstArchive,
+			"/"
+		);
+		final ConnectorArtifactLibrary.ArtifactSource secondArtifact = new ConnectorArtifactLibrary.ArtifactSource(
+			"org.test:second:zip:1.0",
+			secondArchive,
+			"/"
+		);
+		final List<ConnectorArtifactLibrary.LibraryLoader> loaders = List.of(
+			() -> ConnectorArtifactLibrary.load(firstArtifact, artifactCache),
+			() -> ConnectorArtifactLibrary.load(secondArtifact, artifactCache)
+		);
+		final List<ConnectorArtifactLibrary> artifactLibraries = ConnectorArtifactLibrary.loadAll(loaders, 2);
+		assertFalse(artifactLibraries.get(0).isCached());
+		assertEquals(Set.of("Only1"), artifactLibraries.get(0).getEnterpriseConnectorIds());
+
+		final ConnectorLibraryParser connectorLibraryParser = new ConnectorLibraryParser();
+		final Map<String, JsonNode> connectorMap = new LinkedHashMap<>();
+		connectorLibraryParser.parse(
+			LibraryInventory.scan(connectorLibrary),
+			artifactLibraries,
+			(connectorId, connector, placeholderIndex) -> connectorMap.put(connectorId, connector)
+		);
+
+		// The source library, then the first artifact, take precedence
+		assertEquals(List.of("Shared", "Only1", "Only2"), new ArrayList<>(connectorMap.keySet()));
+		assertEquals("Source", connectorMap.get("Shared").at("/connector/displayName").asText());
+		assertEquals("Only1", connectorMap.get("Only1").at("/connector/displayName").asText());
+		assertSame(artifactLibraries.get(1), connectorLibraryParser.getArtifactLibrary("Only2"));
+
+		// Each artifact is tagged with its own manifest
+		assertTrue(connectorLibraryParser.isEnterpriseConnector("Only1"));
+		assertFalse(connectorLibraryParser.isEnterpriseConnector("Only2"));
+		assertEquals(
+			List.of("enterprise"),
+			JsonNodeHelper.nodeToStringList(connectorMap.get("Only1").at("/connector/detection/tags"))
+		);
+		assertTrue(connectorLibraryParser.isPossiblySuperseded("Legacy"));
+		assertFalse(connectorLibraryParser.isPossiblySuperseded("Shared"));
+
+		// The connectors of the artifacts can be resolved again
+		connectorLibraryParser.reload(
+			"Only2",
+			(connectorId, connector, placeholderIndex) -> assertEquals(connectorMap.get("Only2"), connector)
+		);
+
+		// The unchanged artifacts are read back from the cache
+		final List<ConnectorArtifactLibrary> cachedLibraries = ConnectorArtifactLibrary.loadAll(loaders, 2);
+		assertTrue(cachedLibraries.get(0).isCached());
+		assertTrue(cachedLibraries.get(1).isCached());
+		assertEquals(
+			artifactLibraries.get(0).getEnterpriseConnectorIds(),
+			cachedLibraries.get(0).getEnterpriseConnectorIds()
+		);
+		assertEquals(artifactLibraries.get(1).getConnectorIds(), cachedLibraries.get(1).getConnectorIds());
+		assertEquals(artifactLibraries.get(0).getConnector("Only1"), cachedLibraries.get(0).getConnector("Only1"));
+		assertEquals(2, artifactCache.getHits());
+	}
+
+	@Test
+	void testParseModuleLibraries(@TempDir final Path tempDirectory) throws IOException {
+		final Path firstModule = Files.createDirectories(tempDirectory.resolve("first/src/main/connector"));
+		Files.writeString(firstModule.resolve("Shared.yaml"), connectorYaml("First", "[]"));
+		Files.writeString(firstModule.resolve(LibraryInventory.ENTERPRISE_MANIFEST_FILE_NAME), "Shared.yaml");
+		final Path secondModule = Files.createDirectories(tempDirectory.resolve("second/src/main/connector"));
+		Files.writeString(secondModule.resolve("Shared.yaml"), connectorYaml("Second", "[]"));
+		Files.writeString(secondModule.resolve("Only2.yaml"), connectorYaml("Only2", "[ Legacy ]"));
+
+		// The libraries of the modules are read in place, with the header cache shared by the build
+		final HeaderCache headerCache = new HeaderCache();
+		final List<ConnectorArtifactLibrary> moduleLibraries = ConnectorArtifactLibrary.loadAll(
+			List.of(
+				() -> ConnectorArtifactLibrary.parse("org.test:first:1.0", LibraryInventory.scan(firstModule), headerCache),
+				() -> ConnectorArtifactLibrary.parse("org.test:second:1.0", LibraryInventory.scan(secondModule), headerCache)
+			),
+			2
+		);
+		assertEquals(Set.of("Shared"), moduleLibraries.get(0).getEnterpriseConnectorIds());
+		assertEquals(Set.of("Legacy"), moduleLibraries.get(1).getSupersededConnectorIds());
+
+		final ConnectorLibraryParser connectorLibraryParser = new ConnectorLibraryParser();
+		final Map<String, JsonNode> connectorMap = new LinkedHashMap<>();
+		connectorLibraryParser.parse(
+			LibraryInventory.empty(tempDirectory.resolve("src/main/connector")),
+			moduleLibraries,
+			(connectorId, connector, placeholderIndex) -> connectorMap.put(connectorId, connector)
+		);
+
+		// The first module takes precedence
+		assertEquals(List.of("Shared", "Only2"), new ArrayList<>(connectorMap.keySet()));
+		assertEquals("First", connectorMap.get("Shared").at("/connector/displayName").asText());
+		assertTrue(connectorLibraryParser.isEnterpriseConnector("Shared"));
+		assertTrue(connectorLibraryParser.isPossiblySuperseded("Legacy"));
+
+		// The fingerprint identifies the version of the library
+		final String fingerprint = LibraryInventory.scan(secondModule).fingerprint();
+		assertEquals(fingerprint, LibraryInventory.scan(secondModule).fingerprint());
+		Files.writeString(secondModule.resolve("Only2.yaml"), connectorYaml("Only2 modified", "[ Legacy ]"));
+		assertFalse(fingerprint.equals(LibraryInventory.scan(secondModule).fingerprint()));
+	}
+
+	/**
+	 * Builds a minimal connector.
+	 *
+	 * @param displayName The display name of the connector.
+	 * @param supersedes  The <em>supersedes</em> section, in YAML.
+	 * @return The YAML content of the connector.
+	 */
+	private static String connectorYaml(final String displayName, final String supersedes) {
+		return """
+			connector:
+			  displayName: %s
+			  detection:
+			    supersedes: %s
+			""".formatted(displayName, supersedes);
+	}
+
+	/**
+	 * Writes a ZIP archive holding the given files at its root.
+	 *
+	 * @param archive The archive to create.
+	 * @param files   The content of each file, by file name.
+	 * @throws IOException If the archive cannot be written.
+	 */
+	private static void writeArchive(final Path archive, final Map<String, String> files) throws IOException {
+		try (FileSystem archiveFileSystem = FileSystems.newFileSystem(archive, Map.of("create", "true"))) {
+			for (Map.Entry<String, String> file : files.entrySet()) {
+				Files.writeString(archiveFileSystem.getPath("/", file.getKey()), file.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Verifies the placeholders recorded while parsing this connector.
+	 * The constants have been replaced, the source references, translations and awk scripts are indexed.
+	 *
+	 * @param connector        The JsonNode representing the connector.
+	 * @param placeholderIndex The index of the placeholders of the connector.
+	 */
+	private void verifyPlaceholderIndex(final JsonNode connector, final PlaceholderIndex placeholderIndex) {
+		assertNotNull(placeholderIndex);
+		assertTrue(placeholderIndex.getPointers(PlaceholderIndex.CONSTANT).isEmpty());
+		assertEquals(Set.of(PlaceholderIndex.SOURCE, "awk", "translation"), placeholderIndex.getKinds());
+		placeholderIndex
+			.getPointers(PlaceholderIndex.SOURCE)
+			.forEach(pointer -> assertTrue(connector.at(pointer).asText().startsWith("${source::")));
 	}
 
 	/**
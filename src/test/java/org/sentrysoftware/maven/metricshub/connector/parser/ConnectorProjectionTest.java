@@ -0,0 +1,163 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.sentrysoftware.maven.metricshub.connector.Constants;
+import org.sentrysoftware.maven.metricshub.connector.producer.ConnectorJsonNodeReader;
+import org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorCatalog;
+
+class ConnectorProjectionTest {
+
+	@Test
+	void testProject() throws IOException {
+		final JsonNode connector = Constants.YAML_OBJECT_MAPPER.readTree(
+			"""
+			connector:
+			  displayName: Test
+			  detection:
+			    criteria:
+			    - type: snmpGetNext
+			      oid: 1.3.6.1
+			relativePath: Test.yaml
+			translations:
+			  statusTranslationTable:
+			    "1": ok
+			metrics:
+			  hw.status:
+			    description: Status
+			    type:
+			      stateSet: [ ok, failed ]
+			monitors:
+			  cpu:
+			    discovery:
+			      sources:
+			        source(1):
+			          type: snmpTable
+			          oid: ${var::oid}
+			          computes:
+			          - type: awk
+			            script: "{ print $1 }"
+			          - type: translate
+			            translationTable: ${translation::statusTranslationTable}
+			          - type: replace
+			            replace: ${var::separator}
+			      mapping:
+			        source: ${source::monitors.cpu.discovery.sources.source(1)}
+			        attributes:
+			          id: $1
+			        metrics:
+			          hw.status: $2
+			  fan: {}
+			"""
+		);
+		final PlaceholderIndex placeholderIndex = PlaceholderIndex.of(connector);
+
+		final JsonNode projected = ConnectorProjection.project(connector, placeholderIndex);
+
+		// The read sections are shared, the runtime sections are dropped
+		assertSame(connector.get("connector"), projected.get("connector"));
+		assertEquals(connector.get("relativePath"), projected.get("relativePath"));
+		assertFalse(projected.has("translations"));
+		assertFalse(projected.at("/metrics/hw.status").has("description"));
+		assertEquals(connector.at("/metrics/hw.status/type"), projected.at("/metrics/hw.status/type"));
+		assertFalse(projected.at("/monitors/cpu/discovery/mapping").has("source"));
+		assertEquals(
+			connector.at("/monitors/cpu/discovery/mapping/metrics"),
+			projected.at("/monitors/cpu/discovery/mapping/metrics")
+		);
+		assertTrue(projected.at("/monitors/fan").isObject());
+
+		// The values using variables keep their location, the dropped array elements before them are null
+		final JsonNode computes = projected.at("/monitors/cpu/discovery/sources/source(1)/computes");
+		assertEquals(3, computes.size());
+		assertTrue(computes.get(0).isNull());
+		assertTrue(computes.get(1).isNull());
+		assertEquals("${var::separator}", computes.get(2).get("replace").asText());
+		assertFalse(computes.get(2).has("type"));
+
+		final ConnectorJsonNodeReader reader = new ConnectorJsonNodeReader(connector);
+		final ConnectorJsonNodeReader projectedReader = new ConnectorJsonNodeReader(projected);
+		assertEquals(reader.getVariableUsages(), projectedReader.getVariableUsages());
+		assertEquals(
+			List.of("monitors.cpu.discovery.sources.source(1).computes[2].replace"),
+			projectedReader.getVariableUsages().get("separator")
+		);
+		assertEquals(reader.getTechnologies(), projectedReader.getTechnologies());
+	}
+
+	@Test
+	void testProjectLibrary() throws IOException {
+		final Path connectorLibrary = Path.of("src", "it", "metricshub-connectors", "src", "main", "connector");
+
+		final Map<String, JsonNode> connectors = new ConnectorLibraryParser().parse(connectorLibrary);
+		final Map<String, JsonNode> projectedConnectors = ConnectorLibraryParser
+			.builder()
+			.withProjection(true)
+			.build()
+			.parse(connectorLibrary);
+		assertEquals(connectors.keySet(), projectedConnectors.keySet());
+
+		// The report reads the same values from the projected connectors
+		connectors.forEach((connectorId, connector) -> {
+			final JsonNode projected = projectedConnectors.get(connectorId);
+			assertEquals(
+				ConnectorCatalog.summarize(connectorId, connector, false),
+				ConnectorCatalog.summarize(connectorId, projected, false)
+			);
+
+			final ConnectorJsonNodeReader reader = new ConnectorJsonNodeReader(connector);
+			final ConnectorJsonNodeReader projectedReader = new ConnectorJsonNodeReader(projected);
+			assertEquals(reader.getVariableUsages(), projectedReader.getVariableUsages());
+			assertEquals(reader.getSudoCommands(), projectedReader.getSudoCommands());
+			assertEquals(reader.hasBladeMonitorJob(), projectedReader.hasBladeMonitorJob());
+			connector
+				.path("monitors")
+				.fields()
+				.forEachRemaining(monitor -> {
+					final JsonNode projectedMonitor = projected.get("monitors").get(monitor.getKey());
+					assertEquals(
+						reader.getMonitorMetrics(monitor.getValue()),
+						projectedReader.getMonitorMetrics(projectedMonitor)
+					);
+					assertEquals(
+						reader.getMonitorAttributes(monitor.getValue()),
+						projectedReader.getMonitorAttributes(projectedMonitor)
+					);
+				});
+		});
+
+		// Histogram of the retained nodes
+		final Map<String, Integer> histogram = new HashMap<>();
+		final Map<String, Integer> projectedHistogram = new HashMap<>();
+		connectors.values().forEach(connector -> countNodes(connector, histogram));
+		projectedConnectors.values().forEach(connector -> countNodes(connector, projectedHistogram));
+
+		final int nodes = histogram.values().stream().mapToInt(Integer::intValue).sum();
+		final int projectedNodes = projectedHistogram.values().stream().mapToInt(Integer::intValue).sum();
+		assertTrue(
+			projectedNodes * 2 < nodes,
+			() -> String.format("Projected nodes: %s, resolved nodes: %s", projectedHistogram, histogram)
+		);
+	}
+
+	/**
+	 * Count the nodes of the given tree by node class.
+	 *
+	 * @param node      The root of the tree.
+	 * @param histogram The number of nodes by class name.
+	 */
+	private static void countNodes(final JsonNode node, final Map<String, Integer> histogram) {
+		histogram.merge(node.getClass().getSimpleName(), 1, Integer::sum);
+		node.forEach(child -> countNodes(child, histogram));
+	}
+}
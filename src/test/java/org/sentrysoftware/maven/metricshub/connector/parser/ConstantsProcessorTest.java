@@ -0,0 +1,93 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.sentrysoftware.maven.metricshub.connector.Constants;
+
+class ConstantsProcessorTest {
+
+	@Test
+	void testPerformReplacements() {
+		final Map<String, String> constants = Map.of("_OID", "1.3.6.1", "_TABLE", "ifTable");
+
+		assertEquals(
+			"1.3.6.1.2 ifTable",
+			ConstantsProcessor.performReplacements(constants, "${constant::_OID}.2 ${constant::_TABLE}")
+		);
+
+		// Unknown constants and unterminated references are kept as is
+		assertEquals(
+			"${constant::_UNKNOWN} 1.3.6.1 ${constant::_OID",
+			ConstantsProcessor.performReplacements(constants, "${constant::_UNKNOWN} ${constant::_OID} ${constant::_OID")
+		);
+
+		// Nothing is allocated when nothing is replaced
+		final String value = "SELECT * FROM ${source::table}";
+		assertSame(value, ConstantsProcessor.performReplacements(constants, value));
+	}
+
+	@Test
+	void testProcessNestedConstants() throws IOException {
+		final JsonNode connector = Constants.YAML_OBJECT_MAPPER.readTree(
+			"""
+			constants:
+			  _QUERY: SELECT ${constant::_COLUMNS} FROM ${constant::_TABLE}
+			  _COLUMNS: ${constant::_ID},Name
+			  _ID: DeviceID
+			  _TABLE: Win32_Processor
+			source:
+			  query: ${constant::_QUERY}
+			"""
+		);
+
+		new ConstantsProcessor().process(connector);
+
+		assertEquals("SELECT DeviceID,Name FROM Win32_Processor", connector.get("source").get("query").asText());
+	}
+
+	@Test
+	void testProcessKeepsDocumentOrder() throws IOException {
+		final JsonNode connector = Constants.YAML_OBJECT_MAPPER.readTree(
+			"""
+			constants:
+			  _HOST: ${var::hostname}
+			first: ${var::first}
+			second: ${constant::_HOST}
+			third: ${var::third}
+			"""
+		);
+
+		final PlaceholderIndex placeholderIndex = new PlaceholderIndex();
+		new ConstantsProcessor(placeholderIndex).process(connector);
+
+		// The replaced value keeps its position among the variables
+		assertEquals(
+			List.of("/constants/_HOST", "/first", "/second", "/third"),
+			placeholderIndex.getPointers(PlaceholderIndex.VARIABLE).stream().map(JsonPointer::toString).toList()
+		);
+		assertTrue(placeholderIndex.getPointers(PlaceholderIndex.CONSTANT).isEmpty());
+	}
+
+	@Test
+	void testProcessCyclicConstants() throws IOException {
+		final JsonNode connector = Constants.YAML_OBJECT_MAPPER.readTree(
+			"""
+			constants:
+			  _A: ${constant::_B}
+			  _B: x${constant::_A}
+			"""
+		);
+
+		final IOException exception = assertThrows(IOException.class, () -> new ConstantsProcessor().process(connector));
+		assertTrue(exception.getMessage().startsWith("Cyclic constant reference detected: "));
+	}
+}
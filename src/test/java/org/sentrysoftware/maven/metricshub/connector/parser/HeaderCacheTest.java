@@ -0,0 +1,70 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HeaderCacheTest {
+
+	@Test
+	void testModifiedExtendedHeader(@TempDir final Path connectorLibrary) throws IOException {
+		Files.writeString(
+			connectorLibrary.resolve("Connector.yaml"),
+			"extends: [ Child ]\nconnector:\n  displayName: Test\n"
+		);
+		Files.writeString(connectorLibrary.resolve("Child.yaml"), "extends: [ Parent ]\nconnector:\n  platforms: Child\n");
+		Files.writeString(connectorLibrary.resolve("Parent.yaml"), "connector:\n  information: Parent\n");
+
+		final HeaderCache headerCache = new HeaderCache();
+		final ConnectorLibraryParser connectorLibraryParser = ConnectorLibraryParser
+			.builder()
+			.withHeaderCache(headerCache)
+			.build();
+		assertEquals("Parent", getInformation(connectorLibraryParser.parse(connectorLibrary)));
+		assertEquals(2, headerCache.getMisses());
+
+		// Unchanged: served from the cache
+		assertEquals("Parent", getInformation(connectorLibraryParser.parse(connectorLibrary)));
+		assertEquals(2, headerCache.getMisses());
+
+		// The child header is unchanged, but it is resolved again with its modified parent
+		Files.writeString(connectorLibrary.resolve("Parent.yaml"), "connector:\n  information: Modified parent\n");
+		assertEquals("Modified parent", getInformation(connectorLibraryParser.parse(connectorLibrary)));
+		assertEquals(4, headerCache.getMisses());
+
+		// The new versions replace the previous ones
+		assertEquals(2, headerCache.size());
+	}
+
+	@Test
+	void testGetSharedRecordsFileVersions(@TempDir final Path connectorLibrary) throws IOException {
+		final Path child = Files.writeString(connectorLibrary.resolve("Child.yaml"), "extends: [ Parent ]\n");
+		final Path parent = Files.writeString(connectorLibrary.resolve("Parent.yaml"), "connector:\n  platforms: Any\n");
+
+		final HeaderCache headerCache = new HeaderCache();
+		final ExtendsProcessor extendsProcessor = new ExtendsProcessor(connectorLibrary, headerCache, null);
+		final Map<Path, String> fileVersions = new HashMap<>();
+		final JsonNode header = headerCache.getShared(child, extendsProcessor::loadHeader, fileVersions);
+
+		assertEquals("Any", header.get("connector").get("platforms").asText());
+		assertEquals(Set.of(ExtendsGraph.normalize(child), ExtendsGraph.normalize(parent)), fileVersions.keySet());
+	}
+
+	/**
+	 * Gets the information of the connector of the given library, inherited from the parent header.
+	 *
+	 * @param connectors The parsed connectors.
+	 * @return The information of the connector.
+	 */
+	private static String getInformation(final Map<String, JsonNode> connectors) {
+		return connectors.get("Connector").get("connector").get("information").asText();
+	}
+}
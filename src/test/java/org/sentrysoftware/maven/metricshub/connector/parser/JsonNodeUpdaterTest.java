@@ -0,0 +1,160 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.sentrysoftware.maven.metricshub.connector.Constants;
+
+class JsonNodeUpdaterTest {
+
+	@Test
+	void testUpdatePreservesTypes() throws IOException {
+		final JsonNode node = Constants.YAML_OBJECT_MAPPER.readTree(
+			"""
+			count: 3
+			enabled: true
+			empty: null
+			unchanged: text
+			list: [ 1, value, false ]
+			"""
+		);
+		final JsonNode unchanged = node.get("unchanged");
+
+		JsonNodeUpdater
+			.builder()
+			.withJsonNode(node)
+			.withUpdater(value -> "value".equals(value) ? "updated" : value)
+			.withPredicate(Objects::nonNull)
+			.build()
+			.update();
+
+		assertTrue(node.get("count").isInt());
+		assertTrue(node.get("enabled").isBoolean());
+		assertTrue(node.get("empty").isNull());
+		assertSame(unchanged, node.get("unchanged"));
+		assertTrue(node.get("list").get(0).isInt());
+		assertEquals("updated", node.get("list").get(1).asText());
+		assertTrue(node.get("list").get(2).isBoolean());
+	}
+
+	@Test
+	void testUpdateWithoutChanges() throws IOException {
+		final List<JsonNode> connectors = readConnectors();
+		final List<JsonNode> expectedConnectors = connectors.stream().<JsonNode>map(JsonNode::deepCopy).toList();
+		final List<JsonNode> nodesBefore = new ArrayList<>();
+		connectors.forEach(connector -> collectNodes(connector, nodesBefore));
+
+		// An update that changes nothing
+		updateAll(connectors);
+
+		// Same content, and every node is the same instance: nothing has been copied or replaced
+		assertEquals(expectedConnectors, connectors);
+		final List<JsonNode> nodesAfter = new ArrayList<>();
+		connectors.forEach(connector -> collectNodes(connector, nodesAfter));
+		assertEquals(nodesBefore.size(), nodesAfter.size());
+		for (int i = 0; i < nodesBefore.size(); i++) {
+			assertSame(nodesBefore.get(i), nodesAfter.get(i));
+		}
+	}
+
+	@Test
+	void testUpdateAllocations() throws IOException {
+		final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		assumeTrue(
+			threadBean instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported(),
+			"The JVM does not measure the memory allocated by each thread"
+		);
+		final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+		final long threadId = Thread.currentThread().getId();
+		final List<JsonNode> connectors = readConnectors();
+
+		// Warm up, then measure an update that changes nothing against a plain copy of the same trees
+		updateAll(connectors);
+		copyAll(connectors);
+
+		long start = allocationBean.getThreadAllocatedBytes(threadId);
+		updateAll(connectors);
+		final long updateBytes = allocationBean.getThreadAllocatedBytes(threadId) - start;
+
+		start = allocationBean.getThreadAllocatedBytes(threadId);
+		copyAll(connectors);
+		final long copyBytes = allocationBean.getThreadAllocatedBytes(threadId) - start;
+
+		assertTrue(
+			updateBytes * 10 < copyBytes,
+			() -> String.format("Update allocated %d bytes, copy allocated %d bytes", updateBytes, copyBytes)
+		);
+	}
+
+	/**
+	 * Read the connector files of the IT library, without resolving them.
+	 *
+	 * @return The trees of the YAML files.
+	 * @throws IOException If a file cannot be read.
+	 */
+	private static List<JsonNode> readConnectors() throws IOException {
+		final List<JsonNode> connectors = new ArrayList<>();
+		try (Stream<Path> files = Files.walk(Path.of("src", "it", "metricshub-connectors", "src", "main", "connector"))) {
+			for (Path file : files.filter(file -> file.toString().endsWith(".yaml")).toList()) {
+				connectors.add(Constants.YAML_OBJECT_MAPPER.readTree(file.toFile()));
+			}
+		}
+		return connectors;
+	}
+
+	/**
+	 * Run an update that changes nothing over all the given trees.
+	 *
+	 * @param connectors The trees to update.
+	 */
+	private static void updateAll(final List<JsonNode> connectors) {
+		for (JsonNode connector : connectors) {
+			JsonNodeUpdater
+				.builder()
+				.withJsonNode(connector)
+				.withUpdater(UnaryOperator.identity())
+				.withPredicate(Objects::nonNull)
+				.build()
+				.update();
+		}
+	}
+
+	/**
+	 * Deep copy all the given trees.
+	 *
+	 * @param connectors The trees to copy.
+	 * @return The number of copied nodes, so that the copies are used.
+	 */
+	private static int copyAll(final List<JsonNode> connectors) {
+		int size = 0;
+		for (JsonNode connector : connectors) {
+			size += connector.deepCopy().size();
+		}
+		return size;
+	}
+
+	/**
+	 * Collect the given node and all its descendants, in depth-first order.
+	 *
+	 * @param node  The root node.
+	 * @param nodes The list receiving the nodes.
+	 */
+	private static void collectNodes(final JsonNode node, final List<JsonNode> nodes) {
+		nodes.add(node);
+		node.forEach(child -> collectNodes(child, nodes));
+	}
+}
@@ -0,0 +1,149 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.sentrysoftware.maven.metricshub.connector.Constants;
+
+class SubtreePoolTest {
+
+	private static final String FIRST_CONNECTOR =
+		"""
+		metrics:
+		  hw.status:
+		    unit: "1"
+		    type: { stateSet: [ ok, degraded, failed ] }
+		monitors:
+		  network:
+		    discovery:
+		      sources:
+		        source(1): { type: snmpTable, selectColumns: "1,2" }
+		""";
+
+	private static final String SECOND_CONNECTOR =
+		"""
+		metrics:
+		  hw.status:
+		    unit: "1"
+		    type: { stateSet: [ ok, degraded, failed ] }
+		monitors:
+		  network:
+		    discovery:
+		      sources:
+		        source(1): { selectColumns: "1,2", type: snmpTable }
+		""";
+
+	@Test
+	void testShare() throws IOException {
+		final JsonNode first = Constants.YAML_OBJECT_MAPPER.readTree(FIRST_CONNECTOR);
+		final JsonNode second = Constants.YAML_OBJECT_MAPPER.readTree(SECOND_CONNECTOR);
+		final JsonNode expected = second.deepCopy();
+
+		final SubtreePool subtreePool = new SubtreePool();
+		subtreePool.share(first);
+		subtreePool.share(second);
+
+		// Same content
+		assertEquals(expected, second);
+
+		// The identical subtrees are shared
+		assertSame(first.get("metrics"), second.get("metrics"));
+
+		// The field order is part of the identity of an object
+		assertNotSame(
+			first.at("/monitors/network/discovery/sources/source(1)"),
+			second.at("/monitors/network/discovery/sources/source(1)")
+		);
+
+		// metrics, hw.status, type, stateSet and the 4 scalars they hold
+		assertEquals(8, subtreePool.getSharedNodes());
+		assertTrue(subtreePool.getSavedBytes() > 0);
+	}
+
+	@Test
+	void testShareSameInstance() throws IOException {
+		final JsonNode subtree = Constants.YAML_OBJECT_MAPPER.readTree(FIRST_CONNECTOR).get("metrics");
+		final ObjectNode root = Constants.YAML_OBJECT_MAPPER.createObjectNode();
+		root.withArray("containers").addObject().set("metrics", subtree);
+		root.withArray("containers").addObject().set("metrics", subtree);
+
+		final SubtreePool subtreePool = new SubtreePool();
+		subtreePool.share(root);
+
+		// The second reference to the same subtree drops nothing
+		assertSame(root.at("/containers/0"), root.at("/containers/1"));
+		assertSame(subtree, root.at("/containers/1/metrics"));
+		assertEquals(1, subtreePool.getSharedNodes());
+		assertEquals(104, subtreePool.getSavedBytes());
+	}
+
+	@Test
+	void testShareSkipsNotOwnedContainers() throws IOException {
+		// The read-only header shares its subtrees with the connectors overlaid on it
+		final JsonNode header = Constants.YAML_OBJECT_MAPPER.readTree(FIRST_CONNECTOR);
+		final JsonNode headerMetrics = header.get("metrics");
+		final JsonNode headerStatus = header.at("/metrics/hw.status");
+		final JsonNode expectedHeader = header.deepCopy();
+
+		final SubtreePool subtreePool = new SubtreePool();
+		subtreePool.share(Constants.YAML_OBJECT_MAPPER.readTree(SECOND_CONNECTOR));
+
+		final OverlayTree overlayTree = new OverlayTree();
+		final JsonNode overlay = Constants.YAML_OBJECT_MAPPER.readTree("connector: { displayName: Test }");
+		overlayTree.own(overlay);
+		final JsonNode connector = overlayTree.merge(header, overlay);
+		subtreePool.share(connector, overlayTree::isOwned);
+
+		// The header is left unchanged, even though identical subtrees are pooled
+		assertEquals(expectedHeader, header);
+		assertSame(headerStatus, header.at("/metrics/hw.status"));
+		assertSame(headerMetrics, connector.get("metrics"));
+		assertEquals(0, subtreePool.getSharedNodes());
+	}
+
+	@Test
+	void testShareLibrary() throws IOException {
+		final Path connectorLibrary = Path.of("src", "it", "metricshub-connectors", "src", "main", "connector");
+
+		final Map<String, JsonNode> connectors = new ConnectorLibraryParser().parse(connectorLibrary);
+		final SubtreePool subtreePool = new SubtreePool();
+		final Map<String, JsonNode> sharedConnectors = ConnectorLibraryParser
+			.builder()
+			.withParallelism(4)
+			.withSubtreePool(subtreePool)
+			.build()
+			.parse(connectorLibrary);
+
+		// Same connectors, same content
+		assertEquals(connectors, sharedConnectors);
+
+		// The connectors extending the same headers share their subtrees
+		assertTrue(subtreePool.getSharedNodes() > 0);
+		assertTrue(subtreePool.getSavedBytes() > 0);
+
+		// Overlaid on the read-only headers, only the subtrees owned by the connectors are shared
+		final HeaderCache headerCache = new HeaderCache();
+		final Map<String, JsonNode> overlayConnectors = ConnectorLibraryParser
+			.builder()
+			.withParallelism(4)
+			.withOverlayMerge(true)
+			.withHeaderCache(headerCache)
+			.withSubtreePool(new SubtreePool())
+			.build()
+			.parse(connectorLibrary);
+		assertEquals(connectors, overlayConnectors);
+
+		final Path hardware = connectorLibrary.resolve(Path.of("hardware", "Hardware", "Hardware.yaml"));
+		final JsonNode sharedHardware = headerCache.getShared(hardware, (file, fileVersions) -> null);
+		assertEquals(new ExtendsProcessor(hardware.getParent(), null).loadHeader(hardware), sharedHardware);
+		assertSame(sharedHardware.get("metrics"), overlayConnectors.get("MIB2").get("metrics"));
+	}
+}
@@ -0,0 +1,131 @@
+package org.sentrysoftware.maven.metricshub.connector.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.sentrysoftware.maven.metricshub.connector.Constants;
+
+class SymbolTableTest {
+
+	@Test
+	void testIntern() throws IOException {
+		final String yaml = String.format(
+			"""
+			monitors:
+			  network:
+			    discovery:
+			      sources:
+			        source(1):
+			          type: snmpTable
+			          script: "%s"
+			      mapping:
+			        metrics:
+			          hw.status{hw.type="network"}: $2
+			        values: [ snmpTable, 1, true ]
+			""",
+			"x".repeat(SymbolTable.MAX_VALUE_LENGTH + 1)
+		);
+		final JsonNode first = Constants.YAML_OBJECT_MAPPER.readTree(yaml);
+		final JsonNode second = Constants.YAML_OBJECT_MAPPER.readTree(yaml);
+		final JsonNode expected = second.deepCopy();
+
+		final SymbolTable symbolTable = new SymbolTable();
+		symbolTable.intern(first);
+		symbolTable.intern(second);
+
+		// Same content, same field order
+		assertEquals(expected, second);
+		assertEquals(List.of("type", "script"), fieldNames(second.at("/monitors/network/discovery/sources/source(1)")));
+
+		// The field names and the short values are shared, the long values are not
+		assertSame(
+			fieldNames(first.at("/monitors/network/discovery/mapping/metrics")).get(0),
+			fieldNames(second.at("/monitors/network/discovery/mapping/metrics")).get(0)
+		);
+		assertSame(
+			first.at("/monitors/network/discovery/sources/source(1)/type"),
+			second.at("/monitors/network/discovery/sources/source(1)/type")
+		);
+		assertSame(
+			first.at("/monitors/network/discovery/sources/source(1)/type"),
+			second.at("/monitors/network/discovery/mapping/values/0")
+		);
+		assertNotSame(
+			first.at("/monitors/network/discovery/sources/source(1)/script"),
+			second.at("/monitors/network/discovery/sources/source(1)/script")
+		);
+	}
+
+	@Test
+	void testInternLibrary() throws IOException {
+		final Path connectorLibrary = Path.of("src", "it", "metricshub-connectors", "src", "main", "connector");
+
+		final Map<String, JsonNode> connectors = new ConnectorLibraryParser().parse(connectorLibrary);
+		final SymbolTable symbolTable = new SymbolTable();
+		final Map<String, JsonNode> internedConnectors = ConnectorLibraryParser
+			.builder()
+			.withSymbolTable(symbolTable)
+			.build()
+			.parse(connectorLibrary);
+		assertEquals(connectors, internedConnectors);
+
+		// Distinct instances of field names and textual values retained by the library
+		final int strings = countStrings(connectors.values());
+		final int internedStrings = countStrings(internedConnectors.values());
+		assertTrue(
+			internedStrings * 2 < strings,
+			() -> String.format("Interned strings: %d, parsed strings: %d", internedStrings, strings)
+		);
+	}
+
+	/**
+	 * Get the field names of the given object, in their order.
+	 *
+	 * @param node The object node.
+	 * @return The list of field names.
+	 */
+	private static List<String> fieldNames(final JsonNode node) {
+		final List<String> fieldNames = new ArrayList<>();
+		node.fieldNames().forEachRemaining(fieldNames::add);
+		return fieldNames;
+	}
+
+	/**
+	 * Count the distinct {@link String} and text node instances of the given trees.
+	 *
+	 * @param trees The trees.
+	 * @return The number of distinct instances.
+	 */
+	private static int countStrings(final Iterable<JsonNode> trees) {
+		final Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+		trees.forEach(tree -> collectStrings(tree, instances));
+		return instances.size();
+	}
+
+	/**
+	 * Collect the field names, the text nodes and their values of the given tree.
+	 *
+	 * @param node      The root of the tree.
+	 * @param instances The set of instances, compared by identity.
+	 */
+	private static void collectStrings(final JsonNode node, final Set<Object> instances) {
+		if (node.isTextual()) {
+			instances.add(node);
+			instances.add(node.textValue());
+		}
+		node.fieldNames().forEachRemaining(instances::add);
+		node.forEach(child -> collectStrings(child, instances));
+	}
+}
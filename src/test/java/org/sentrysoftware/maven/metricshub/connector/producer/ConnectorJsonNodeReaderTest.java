@@ -0,0 +1,44 @@
+package org.sentrysoftware.maven.metricshub.connector.producer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.sentrysoftware.maven.metricshub.connector.Constants;
+
+class ConnectorJsonNodeReaderTest {
+
+	@Test
+	void testGetVariableUsages() throws IOException {
+		final JsonNode connector = Constants.YAML_OBJECT_MAPPER.readTree(
+			"""
+			connector:
+			  displayName: Test
+			monitors:
+			  cpu:
+			    discovery:
+			      sources:
+			        source(1):
+			          query: SELECT * FROM ${var::table} WHERE host = '${var::host}'
+			          computes:
+			          - type: awk
+			            script: ${var::table}
+			"""
+		);
+
+		final Map<String, List<String>> variableUsages = new ConnectorJsonNodeReader(connector).getVariableUsages();
+
+		assertEquals(List.of("host", "table"), List.copyOf(variableUsages.keySet()));
+		assertEquals(List.of("monitors.cpu.discovery.sources.source(1).query"), variableUsages.get("host"));
+		assertEquals(
+			List.of(
+				"monitors.cpu.discovery.sources.source(1).query",
+				"monitors.cpu.discovery.sources.source(1).computes[0].script"
+			),
+			variableUsages.get("table")
+		);
+	}
+}
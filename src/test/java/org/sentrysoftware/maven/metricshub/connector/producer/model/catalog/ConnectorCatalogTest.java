@@ -0,0 +1,75 @@
+package org.sentrysoftware.maven.metricshub.connector.producer.model.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static org.sentrysoftware.maven.metricshub.connector.producer.model.catalog.ConnectorCatalog.summarize;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.sentrysoftware.maven.metricshub.connector.Constants;
+
+class ConnectorCatalogTest {
+
+	@Test
+	void testOf() throws IOException {
+		final List<ConnectorSummary> summaries = new ArrayList<>();
+		summaries.add(
+			summarize(
+				"Beta",
+				Constants.YAML_OBJECT_MAPPER.readTree(
+					"""
+					connector:
+					  displayName: beta
+					  platforms: Any platform
+					  detection:
+					    appliesTo: [ linux ]
+					    tags: [ hardware, enterprise ]
+					    supersedes: [ Alpha ]
+					"""
+				),
+				true
+			)
+		);
+		summaries.add(
+			summarize(
+				"Alpha",
+				Constants.YAML_OBJECT_MAPPER.readTree(
+					"""
+					connector:
+					  displayName: Alpha
+					  platforms: Any platform
+					  detection:
+					    appliesTo: [ windows ]
+					    tags: [ hardware, system, community ]
+					"""
+				),
+				false
+			)
+		);
+
+		final ConnectorCatalog catalog = ConnectorCatalog.of(summaries);
+
+		final ConnectorSummary alpha = catalog.getSummary("Alpha");
+		assertEquals("alpha", alpha.getSortKey());
+		assertEquals(Set.of("Any platform"), alpha.getPlatforms());
+		assertEquals(List.of("Microsoft Windows"), alpha.getOsDisplayNames());
+		assertEquals(List.of("hardware", "system", "community"), alpha.getTags());
+		assertFalse(alpha.isEnterprise());
+		assertTrue(catalog.getSummary("Beta").isEnterprise());
+
+		assertEquals(
+			List.of("Alpha", "Beta"),
+			catalog.getSummariesInDisplayOrder().stream().map(ConnectorSummary::getConnectorId).toList()
+		);
+		assertEquals(Set.of("community", "enterprise", "hardware", "system"), catalog.getTags().keySet());
+		assertEquals(List.of(alpha, catalog.getSummary("Beta")), catalog.getTags().get("hardware"));
+		assertEquals(List.of("Beta"), catalog.getSupersedingConnectorIds("Alpha"));
+		assertEquals(List.of(), catalog.getSupersedingConnectorIds("Beta"));
+		assertEquals(2, catalog.getPlatforms().get("Any platform").size());
+	}
+}